@@ -9,6 +9,7 @@ package org.dspace.app.checker;
 
 import java.io.FileNotFoundException;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -78,6 +79,12 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>number of bitstreams checked concurrently</dd>
+     * <dt>-r [bytes]</dt>
+     * <dd>maximum number of bytes read per second</dd>
+     * <dt>-s</dt>
+     * <dd>verify the checksums recorded by the asset stores instead of reading the bitstreams</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -99,6 +106,11 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of bitstreams checked concurrently");
+        options.addOption("r", "max-rate", true, "Maximum number of bytes read per second");
+        options.addOption("s", "stored-checksums", false,
+                          "Verify the checksums recorded by the asset stores instead of reading the bitstreams, "
+                              + "when they are trustworthy");
 
         Option option;
 
@@ -204,10 +216,29 @@ public final class ChecksumChecker {
                 checker.setReportVerbose(true);
             }
 
+            if (line.hasOption('t')) {
+                checker.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            }
+            if (line.hasOption('r')) {
+                checker.setMaxBytesPerSecond(Long.parseLong(line.getOptionValue('r')));
+            }
+            if (line.hasOption('s')) {
+                checker.setVerifyStoredChecksums(true);
+            }
+
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
             checker.process();
+
+            double seconds = Math.max(Duration.between(processStart, Instant.now()).toMillis(), 1) / 1000.0;
+            double megabytes = checker.getCheckedBytes() / (1024.0 * 1024.0);
+            System.out.println(String.format("Checked %d bitstreams (%.1f MB) in %.1f seconds: %.2f MB/s",
+                                             checker.getCheckedCount(), megabytes, seconds, megabytes / seconds));
+            if (checker.isVerifyStoredChecksums()) {
+                System.out.println("Verified " + checker.getStoredChecksumCount()
+                                       + " bitstreams with the checksums recorded by their asset store");
+            }
             context.complete();
             context = null;
         } finally {
@@ -236,6 +267,10 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nCheck all bitstreams once with 4 threads, reading at most 50MB per second: "
+                               + "ChecksumChecker -l -t 4 -r 52428800");
+        System.out.println("\nCheck all bitstreams once, using the checksums recorded by the asset stores "
+                               + "(e.g. S3) when possible: ChecksumChecker -l -s");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.mediafilter.factory.MediaFilterServiceFactory;
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * The consumer to fill the queue of items whose derivatives must be (re)generated by "filter-media -Q". An archived
+ * item is queued when a bitstream is added to, or modified in, its ORIGINAL bundle, and when it is installed (the
+ * bitstreams of submitted items are added before they are archived). The derivatives created by the filters are
+ * stored in other bundles, so they don't queue the item again.
+ */
+public class MediaFilterQueueConsumer implements Consumer {
+
+    private MediaFilterQueueService mediaFilterQueueService;
+
+    private final Set<UUID> itemsToQueue = new LinkedHashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        mediaFilterQueueService = MediaFilterServiceFactory.getInstance().getMediaFilterQueueService();
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        DSpaceObject subject = event.getSubject(context);
+        if (subject == null) {
+            // deleted since the event was fired
+            return;
+        }
+
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+                if (event.getEventType() == Event.INSTALL) {
+                    addItem((Item) subject);
+                }
+                break;
+            case Constants.BUNDLE:
+                if (event.getEventType() == Event.ADD && event.getObjectType() == Constants.BITSTREAM) {
+                    addItems((Bundle) subject);
+                }
+                break;
+            case Constants.BITSTREAM:
+                if (event.getEventType() == Event.MODIFY) {
+                    for (Bundle bundle : ((Bitstream) subject).getBundles()) {
+                        addItems(bundle);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        try {
+            for (UUID itemId : itemsToQueue) {
+                mediaFilterQueueService.enqueue(context, itemId);
+            }
+        } finally {
+            itemsToQueue.clear();
+        }
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+    }
+
+    private void addItems(Bundle bundle) {
+        if (StringUtils.equals(bundle.getName(), Constants.CONTENT_BUNDLE_NAME)) {
+            for (Item item : bundle.getItems()) {
+                addItem(item);
+            }
+        }
+    }
+
+    private void addItem(Item item) {
+        // items are filtered once archived
+        if (item.isArchived()) {
+            itemsToQueue.add(item.getID());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record of the queue of items whose derivatives must be (re)generated. Records are written by
+ * the {@link MediaFilterQueueConsumer} in the same transaction as the change of the original bitstreams which
+ * triggered them, and are processed by "filter-media -Q".
+ */
+@Entity
+@Table(name = "mediafilter_queue")
+public class MediaFilterQueueEntry implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mediafilter_queue_id_seq")
+    @SequenceGenerator(name = "mediafilter_queue_id_seq", sequenceName = "mediafilter_queue_id_seq",
+                       allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The UUID of the queued item. This is not a reference, as the item may be deleted before it is processed.
+     */
+    @Column(name = "item_id", nullable = false)
+    private UUID itemId;
+
+    @Column(name = "queue_date", nullable = false)
+    private Instant queueDate;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link org.dspace.app.mediafilter.service.MediaFilterQueueService#enqueue(org.dspace.core.Context, UUID)}
+     */
+    protected MediaFilterQueueEntry() {
+    }
+
+    protected MediaFilterQueueEntry(UUID itemId) {
+        this.itemId = itemId;
+        this.queueDate = Instant.now();
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public UUID getItemId() {
+        return itemId;
+    }
+
+    public Instant getQueueDate() {
+        return queueDate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        MediaFilterQueueEntry other = (MediaFilterQueueEntry) obj;
+        return Objects.equals(id, other.id);
+    }
+}
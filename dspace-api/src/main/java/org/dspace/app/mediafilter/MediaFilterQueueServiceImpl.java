@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.app.mediafilter.dao.MediaFilterQueueEntryDAO;
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
+import org.dspace.core.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link MediaFilterQueueService}.
+ */
+public class MediaFilterQueueServiceImpl implements MediaFilterQueueService {
+
+    @Autowired
+    protected MediaFilterQueueEntryDAO mediaFilterQueueEntryDAO;
+
+    protected MediaFilterQueueServiceImpl() {
+    }
+
+    @Override
+    public MediaFilterQueueEntry enqueue(Context context, UUID itemId) throws SQLException {
+        return mediaFilterQueueEntryDAO.create(context, new MediaFilterQueueEntry(itemId));
+    }
+
+    @Override
+    public List<MediaFilterQueueEntry> findOldest(Context context, int limit) throws SQLException {
+        return mediaFilterQueueEntryDAO.findOldest(context, limit);
+    }
+
+    @Override
+    public int delete(Context context, List<MediaFilterQueueEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        return mediaFilterQueueEntryDAO.deleteByIds(context, entries.stream()
+                                                                    .map(MediaFilterQueueEntry::getID)
+                                                                    .collect(Collectors.toList()));
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return mediaFilterQueueEntryDAO.countAll(context);
+    }
+}
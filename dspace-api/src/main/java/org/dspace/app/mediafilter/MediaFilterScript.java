@@ -40,7 +40,8 @@ import org.dspace.utils.DSpace;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; -m [max] limits processing to a
  * maximum number of items; -fd [fromdate] takes only items starting from this date,
- * filtering by last_modified in the item table.
+ * filtering by last_modified in the item table; -Q queue processes only the items
+ * queued since the last run, when their original bitstreams were added or modified.
  */
 public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfiguration> {
 
@@ -53,6 +54,12 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     //suffix (in dspace.cfg) for input formats supported by each filter
     private static final String INPUT_FORMATS_SUFFIX = "inputFormats";
 
+    //suffix (in dspace.cfg) for the number of threads running each filter
+    private static final String THREADS_SUFFIX = "threads";
+
+    //key (in dspace.cfg) for the number of items committed together when filtering with several threads
+    private static final String BATCH_SIZE_KEY = "filter.batch-size";
+
     private boolean help;
     private boolean isVerbose = false;
     private boolean isQuiet = false;
@@ -63,6 +70,9 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private boolean queue = false;
+    private int threads = 1;
+    private Map<String, Integer> filterThreads = new HashMap<>();
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -119,6 +129,20 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        if (commandLine.hasOption('Q')) {
+            if (identifier != null || fromDate != null) {
+                throw new ParseException("The queue option cannot be combined with an identifier or a from date");
+            }
+            queue = true;
+        }
+
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+        } else {
+            threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                           .getIntProperty(FILTER_PREFIX + "." + THREADS_SUFFIX, 1);
+        }
+
 
     }
 
@@ -134,6 +158,9 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
+        mediaFilterService.setBatchSize(DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                             .getIntProperty(BATCH_SIZE_KEY, 20));
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -189,6 +216,21 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
                                                       pluginName : ""),
                                       Arrays.asList(formats));
                 }
+
+                //Retrieve the number of threads running this filter, if it differs from the default
+                //For SelfNamedPlugins, format of key is:
+                //  filter.<class-name>.<plugin-name>.threads
+                //For other MediaFilters, format of key is:
+                //  filter.<class-name>.threads
+                int pluginThreads = DSpaceServicesFactory.getInstance().getConfigurationService().getIntProperty(
+                        FILTER_PREFIX + "." + filterClassName + (pluginName != null ? "." + pluginName : "") +
+                                "." + THREADS_SUFFIX, 0);
+                if (pluginThreads > 0) {
+                    filterThreads.put(filterClassName +
+                                              (pluginName != null ? MediaFilterService.FILTER_PLUGIN_SEPARATOR +
+                                                      pluginName : ""),
+                                      pluginThreads);
+                }
             } //end if filter!=null
         } //end for
 
@@ -211,6 +253,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         }
 
         mediaFilterService.setFilterFormats(filterFormats);
+        mediaFilterService.setFilterThreads(filterThreads);
         //store our filter list into an internal array
         mediaFilterService.setFilterClasses(filterList);
 
@@ -235,7 +278,9 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             c.turnOffAuthorisationSystem();
 
             // now apply the filters
-            if (identifier == null) {
+            if (queue) {
+                mediaFilterService.applyFiltersQueue(c);
+            } else if (identifier == null) {
                 mediaFilterService.applyFiltersAllItems(c);
             } else {
                 // restrict application scope to identifier
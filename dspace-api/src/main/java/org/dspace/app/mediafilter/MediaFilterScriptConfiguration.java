@@ -53,6 +53,12 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption(pluginOption);
 
         options.addOption("d", "fromdate", true, "Process only item from specified last modified date");
+        options.addOption("Q", "queue", false,
+                          "process only the items queued since the last run, when bitstreams were added to or " +
+                              "modified in their ORIGINAL bundle (requires the mediafilterqueue event consumer)");
+        options.addOption("t", "threads", true,
+                          "filter the bitstreams of several items concurrently, with this number of threads per " +
+                              "filter (unless configured otherwise for the filter)");
 
         Option skipOption = Option.builder("s")
                                   .longOpt("skip")
@@ -7,19 +7,36 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
@@ -43,6 +60,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.util.ThrowableUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,6 +93,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected ItemService itemService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
+    @Autowired(required = true)
+    protected MediaFilterQueueService mediaFilterQueueService;
 
     protected DSpaceRunnableHandler handler;
 
@@ -97,6 +119,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
 
+    protected int threads = 1; // default number of threads running each filter, filtering concurrently if more than 1
+    protected Map<String, Integer> filterThreads = new HashMap<>(); // number of threads by filter key
+    protected int batchSize = 1; // number of items committed together when filtering concurrently
+
+    // The threads running each filter, by filter key, while filtering concurrently
+    private Map<String, ExecutorService> workers = null;
+    // The items whose bitstreams are being filtered, in the order they were dispatched
+    private final Deque<PendingItem> pending = new ArrayDeque<>();
+    private int maxPending = 0;
+    private int uncommitted = 0;
+    // The items for which a filter failed, which stay in the queue
+    private final Set<UUID> failedItems = new HashSet<>();
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -115,6 +150,15 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
+        if (startWorkers()) {
+            try {
+                applyFiltersAllItems(context);
+                completePending(context);
+            } finally {
+                stopWorkers();
+            }
+            return;
+        }
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
@@ -129,13 +173,13 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             context,
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore()) {
                 applyFiltersItem(context, itemIterator.next());
             }
         } else {
             //otherwise, just find every item and process
             Iterator<Item> itemIterator = itemService.findAll(context);
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore()) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
@@ -144,6 +188,15 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
+        if (startWorkers()) {
+            try {
+                applyFiltersCommunity(context, community);
+                completePending(context);
+            } finally {
+                stopWorkers();
+            }
+            return;
+        }
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
         // collections are lazy attributes)
@@ -166,22 +219,108 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     @Override
     public void applyFiltersCollection(Context context, Collection collection)
         throws Exception {
+        if (startWorkers()) {
+            try {
+                applyFiltersCollection(context, collection);
+                completePending(context);
+            } finally {
+                stopWorkers();
+            }
+            return;
+        }
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
         collection = context.reloadEntity(collection);
         //only apply filters if collection not in skip-list
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && canProcessMore()) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
     }
 
+    @Override
+    public void applyFiltersQueue(Context context) throws Exception {
+        if (startWorkers()) {
+            try {
+                applyFiltersQueue(context);
+                completePending(context);
+            } finally {
+                stopWorkers();
+            }
+            return;
+        }
+        int queueBatchSize = configurationService.getIntProperty("filter.queue.batch-size", 100);
+        // the items which failed during this run, queued again for the next run
+        Set<UUID> requeued = new HashSet<>();
+        failedItems.clear();
+        while (canProcessMore()) {
+            List<MediaFilterQueueEntry> entries = mediaFilterQueueService.findOldest(context, queueBatchSize);
+            if (entries.isEmpty()) {
+                break;
+            }
+
+            // Coalesce all the records of the same item, keeping the order in which the items were first queued
+            Map<UUID, List<MediaFilterQueueEntry>> itemEntries = new LinkedHashMap<>();
+            for (MediaFilterQueueEntry entry : entries) {
+                itemEntries.computeIfAbsent(entry.getItemId(), itemId -> new ArrayList<>()).add(entry);
+            }
+
+            List<MediaFilterQueueEntry> processedEntries = new ArrayList<>();
+            List<UUID> processedItems = new ArrayList<>();
+            for (Map.Entry<UUID, List<MediaFilterQueueEntry>> queuedItem : itemEntries.entrySet()) {
+                if (!canProcessMore()) {
+                    break;
+                }
+                if (requeued.contains(queuedItem.getKey())) {
+                    continue;
+                }
+                Item item = itemService.find(context, queuedItem.getKey());
+                // like a full scan, skip the items which have been deleted or withdrawn since they were queued
+                if (item != null && item.isArchived() && !inSkipList(context, item)) {
+                    applyFiltersItem(context, item);
+                }
+                processedEntries.addAll(queuedItem.getValue());
+                processedItems.add(queuedItem.getKey());
+            }
+            if (processedItems.isEmpty()) {
+                // only the items which failed during this run are left
+                break;
+            }
+            if (workers != null) {
+                // only remove the records once the derivatives of their items are stored
+                completePending(context);
+            }
+            mediaFilterQueueService.delete(context, processedEntries);
+            // queue the items for which a filter failed again, behind the other items, to retry them on the next run
+            for (UUID itemId : processedItems) {
+                if (failedItems.remove(itemId)) {
+                    mediaFilterQueueService.enqueue(context, itemId);
+                    requeued.add(itemId);
+                }
+            }
+            context.commit();
+        }
+    }
+
     @Override
     public void applyFiltersItem(Context c, Item item) throws Exception {
+        if (startWorkers()) {
+            try {
+                applyFiltersItem(c, item);
+                completePending(c);
+            } finally {
+                stopWorkers();
+            }
+            return;
+        }
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
+            if (workers != null) {
+                dispatchItem(c, item);
+                return;
+            }
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
             currentItem = item;
@@ -222,24 +361,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         // iterate through filter classes. A single format may be actioned
         // by more than one filter
         for (FormatFilter filterClass : filterClasses) {
-            //List fmts = (List)filterFormats.get(filterClasses[i].getClass().getName());
-            String pluginName = null;
-
-            //if this filter class is a SelfNamedPlugin,
-            //its list of supported formats is different for
-            //differently named "plugin"
-            if (SelfNamedPlugin.class.isAssignableFrom(filterClass.getClass())) {
-                //get plugin instance name for this media filter
-                pluginName = ((SelfNamedPlugin) filterClass).getPluginInstanceName();
-            }
-
             //Get list of supported formats for the filter (and possibly named plugin)
-            //For SelfNamedPlugins, map key is:
-            //  <class-name><separator><plugin-name>
-            //For other MediaFilters, map key is just:
-            //  <class-name>
-            List<String> fmts = filterFormats.get(filterClass.getClass().getName() +
-                                                      (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
+            List<String> fmts = filterFormats.get(getFilterKey(filterClass));
 
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
@@ -250,6 +373,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                         filtered = true;
                     }
                 } catch (Exception e) {
+                    failedItems.add(myItem.getID());
                     // Printout helpful information to find the errored bitstream.
                     logError(formatBitstreamDetails(myItem.getHandle(), myBitstream));
                     logError(ThrowableUtils.formatCauseChain(e));
@@ -257,46 +381,8 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             } else if (filterClass instanceof SelfRegisterInputFormats) {
                 // Filter implements self registration, so check to see if it should be applied
                 // given the formats it claims to support
-                SelfRegisterInputFormats srif = (SelfRegisterInputFormats) filterClass;
-                boolean applyFilter = false;
-
-                // Check MIME type
-                String[] mimeTypes = srif.getInputMIMETypes();
-                if (mimeTypes != null) {
-                    for (String mimeType : mimeTypes) {
-                        if (mimeType.equalsIgnoreCase(myBitstream.getFormat(context).getMIMEType())) {
-                            applyFilter = true;
-                        }
-                    }
-                }
-
-                // Check description
-                if (!applyFilter) {
-                    String[] descriptions = srif.getInputDescriptions();
-                    if (descriptions != null) {
-                        for (String desc : descriptions) {
-                            if (desc.equalsIgnoreCase(myBitstream.getFormat(context).getShortDescription())) {
-                                applyFilter = true;
-                            }
-                        }
-                    }
-                }
-
-                // Check extensions
-                if (!applyFilter) {
-                    String[] extensions = srif.getInputExtensions();
-                    if (extensions != null) {
-                        for (String ext : extensions) {
-                            List<String> formatExtensions = myBitstream.getFormat(context).getExtensions();
-                            if (formatExtensions != null && formatExtensions.contains(ext)) {
-                                applyFilter = true;
-                            }
-                        }
-                    }
-                }
-
                 // Filter claims to handle this type of file, so attempt to apply it
-                if (applyFilter) {
+                if (isSelfRegisteredFormat(context, myBitstream, (SelfRegisterInputFormats) filterClass)) {
                     try {
                         // only update item if bitstream not skipped
                         if (processBitstream(context, myItem, myBitstream, filterClass)) {
@@ -305,6 +391,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             filtered = true;
                         }
                     } catch (Exception e) {
+                        failedItems.add(myItem.getID());
                         logError("ERROR filtering, skipping bitstream #"
                                                + myBitstream.getID() + " " + e);
                         e.printStackTrace();
@@ -315,6 +402,66 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return filtered;
     }
 
+    /**
+     * Get the key of a filter in the map of the formats it supports, and in the map of the number of threads
+     * running it. For SelfNamedPlugins, whose list of supported formats is different for differently named "plugin",
+     * the key is:
+     *   &lt;class-name&gt;&lt;separator&gt;&lt;plugin-name&gt;
+     * For other MediaFilters, the key is just:
+     *   &lt;class-name&gt;
+     *
+     * @param filterClass the filter
+     * @return the key of the filter
+     */
+    protected String getFilterKey(FormatFilter filterClass) {
+        String pluginName = null;
+        if (SelfNamedPlugin.class.isAssignableFrom(filterClass.getClass())) {
+            //get plugin instance name for this media filter
+            pluginName = ((SelfNamedPlugin) filterClass).getPluginInstanceName();
+        }
+        return filterClass.getClass().getName() + (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : "");
+    }
+
+    /**
+     * Check whether a self registering filter claims to handle the format of a bitstream
+     */
+    private boolean isSelfRegisteredFormat(Context context, Bitstream bitstream, SelfRegisterInputFormats srif)
+        throws SQLException {
+        BitstreamFormat format = bitstream.getFormat(context);
+
+        // Check MIME type
+        String[] mimeTypes = srif.getInputMIMETypes();
+        if (mimeTypes != null) {
+            for (String mimeType : mimeTypes) {
+                if (mimeType.equalsIgnoreCase(format.getMIMEType())) {
+                    return true;
+                }
+            }
+        }
+
+        // Check description
+        String[] descriptions = srif.getInputDescriptions();
+        if (descriptions != null) {
+            for (String desc : descriptions) {
+                if (desc.equalsIgnoreCase(format.getShortDescription())) {
+                    return true;
+                }
+            }
+        }
+
+        // Check extensions
+        String[] extensions = srif.getInputExtensions();
+        if (extensions != null) {
+            List<String> formatExtensions = format.getExtensions();
+            for (String ext : extensions) {
+                if (formatExtensions != null && formatExtensions.contains(ext)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
         throws Exception {
@@ -380,34 +527,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
-
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
-
+            createDerivativeBitstream(context, item, source, formatFilter, bundles, newName, destStream);
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
             logError(formatBitstreamDetails(item.getHandle(), source));
@@ -426,6 +546,281 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Store the result of a filter as a new bitstream of the item
+     *
+     * @param context      context
+     * @param item         item containing the source bitstream
+     * @param source       source bitstream
+     * @param formatFilter filter which produced the result
+     * @param bundles      the bundles of the item named after the bundle of the filter
+     * @param newName      the name of the new bitstream
+     * @param destStream   the result of the filter
+     */
+    private void createDerivativeBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+                                           List<Bundle> bundles, String newName, InputStream destStream)
+        throws Exception {
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
+
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+    }
+
+    /**
+     * @return true if more items may be processed without exceeding the maximum, counting the items being filtered
+     */
+    private boolean canProcessMore() {
+        return processed + pending.size() < max2Process;
+    }
+
+    /**
+     * Start the threads running the filters, if filtering concurrently and if they are not running yet
+     *
+     * @return true if the threads have been started, in which case they must be stopped by the caller
+     */
+    private boolean startWorkers() {
+        if (threads <= 1 || workers != null || filterClasses == null) {
+            return false;
+        }
+        workers = new HashMap<>();
+        int total = 0;
+        for (FormatFilter filterClass : filterClasses) {
+            // ImageMagick filters are bound by external processes, Tika by CPU and heap: each has its own pool
+            int poolSize = Math.max(filterThreads.getOrDefault(getFilterKey(filterClass), threads), 1);
+            workers.putIfAbsent(getFilterKey(filterClass), Executors.newFixedThreadPool(poolSize,
+                new ThreadFactoryBuilder().setNameFormat("media-filter-" + filterClass.getClass().getSimpleName()
+                                                             + "-%d").setDaemon(true).build()));
+            total += poolSize;
+        }
+        // keep all threads busy while the results of the oldest items are stored
+        maxPending = 2 * total;
+        uncommitted = 0;
+        return true;
+    }
+
+    /**
+     * Stop the threads running the filters, discarding the results which have not been stored
+     */
+    private void stopWorkers() {
+        for (ExecutorService pool : workers.values()) {
+            pool.shutdownNow();
+        }
+        workers = null;
+        for (PendingItem pendingItem : pending) {
+            for (PendingDerivative derivative : pendingItem.derivatives) {
+                derivative.discard();
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Dispatch the bitstreams of an item to the threads running the filters which apply to them. The filters are
+     * selected, and their pre-processing run, in the current thread, as they need the context.
+     */
+    private void dispatchItem(Context context, Item item) throws Exception {
+        // initialize the handle, which the filters may read from their threads
+        item.getHandle();
+        PendingItem pendingItem = new PendingItem(item);
+        for (Bundle bundle : itemService.getBundles(item, "ORIGINAL")) {
+            for (Bitstream source : bundle.getBitstreams()) {
+                for (FormatFilter formatFilter : filterClasses) {
+                    try {
+                        if (isApplicable(context, source, formatFilter)
+                            && isToProcess(context, item, source, formatFilter)) {
+                            Future<Path> result = workers.get(getFilterKey(formatFilter))
+                                                         .submit(() -> filter(context, item, source, formatFilter));
+                            pendingItem.derivatives.add(new PendingDerivative(source, formatFilter, result));
+                        }
+                    } catch (Exception e) {
+                        failedItems.add(item.getID());
+                        logError(formatBitstreamDetails(item.getHandle(), source));
+                        logError(ThrowableUtils.formatCauseChain(e));
+                    }
+                }
+            }
+        }
+        if (pendingItem.derivatives.isEmpty()) {
+            commitBatch(context, item);
+            return;
+        }
+        pending.add(pendingItem);
+        while (pending.size() >= maxPending) {
+            completeItem(context, pending.poll());
+        }
+    }
+
+    /**
+     * @return true if the filter handles the format of the bitstream
+     */
+    private boolean isApplicable(Context context, Bitstream source, FormatFilter formatFilter) throws SQLException {
+        List<String> fmts = filterFormats.get(getFilterKey(formatFilter));
+        if (fmts != null && fmts.contains(source.getFormat(context).getShortDescription())) {
+            return true;
+        }
+        return formatFilter instanceof SelfRegisterInputFormats
+            && isSelfRegisteredFormat(context, source, (SelfRegisterInputFormats) formatFilter);
+    }
+
+    /**
+     * Check whether a bitstream has to be filtered, like {@link #processBitstream} does before filtering it
+     *
+     * @return false if the pre-processing fails, or if the result already exists and is not overwritten
+     */
+    private boolean isToProcess(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+            return false;
+        }
+        if (!isForce && !findDerivativeBitstreams(item, source, formatFilter).isEmpty()) {
+            if (!isQuiet) {
+                logInfo("SKIPPED: bitstream " + source.getID() + " (item: " + item.getHandle() + ") because '"
+                            + formatFilter.getFilteredName(source.getName()) + "' already exists");
+            }
+            return false;
+        }
+        if (isVerbose) {
+            logInfo("PROCESSING: bitstream " + source.getID() + " (item: " + item.getHandle() + ")");
+        }
+        return true;
+    }
+
+    /**
+     * Filter a bitstream into a temporary file. This runs in the threads of the filter, without using the context:
+     * the source is read directly from the asset store.
+     *
+     * @return the temporary file, or null if filtering was unsuccessful
+     */
+    private Path filter(Context context, Item item, Bitstream source, FormatFilter formatFilter) throws Exception {
+        try (
+            InputStream srcStream = bitstreamStorageService.retrieve(context, source);
+            InputStream destStream = formatFilter.getDestinationStream(item, srcStream, isVerbose)
+        ) {
+            if (destStream == null) {
+                return null;
+            }
+            Path result = Files.createTempFile("mediafilter", ".tmp");
+            try {
+                Files.copy(destStream, result, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(result);
+                throw e;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Wait for the bitstreams of an item to be filtered, and store the results as new bitstreams of the item
+     */
+    private void completeItem(Context context, PendingItem pendingItem) throws Exception {
+        // the item may have been detached from the session by a commit
+        Item item = context.reloadEntity(pendingItem.item);
+        currentItem = item;
+        boolean filtered = false;
+        for (PendingDerivative derivative : pendingItem.derivatives) {
+            Bitstream source = context.reloadEntity(derivative.source);
+            FormatFilter formatFilter = derivative.formatFilter;
+            Path result = null;
+            try {
+                result = Uninterruptibles.getUninterruptibly(derivative.result);
+                if (result == null) {
+                    if (!isQuiet) {
+                        logInfo("SKIPPED: bitstream " + source.getID()
+                                    + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
+                    }
+                    continue;
+                }
+
+                String newName = formatFilter.getFilteredName(source.getName());
+                List<Bitstream> existingBitstreams = findDerivativeBitstreams(item, source, formatFilter);
+                logInfo("File: " + newName);
+                try (InputStream destStream = Files.newInputStream(result)) {
+                    createDerivativeBitstream(context, item, source, formatFilter,
+                                              itemService.getBundles(item, formatFilter.getBundleName()),
+                                              newName, destStream);
+                }
+                // we are overwriting, so remove old bitstream
+                for (Bitstream existingBitstream : existingBitstreams) {
+                    for (Bundle bundle : new ArrayList<>(existingBitstream.getBundles())) {
+                        if (StringUtils.equals(bundle.getName(), formatFilter.getBundleName())) {
+                            bundleService.removeBitstream(context, bundle, existingBitstream);
+                        }
+                    }
+                }
+                itemService.update(context, item); // Make sure new bitstream has a sequence number
+                filtered = true;
+                if (!isQuiet) {
+                    logInfo("FILTERED: bitstream " + source.getID()
+                                + " (item: " + item.getHandle() + ") and created '" + newName + "'");
+                }
+            } catch (ExecutionException e) {
+                failedItems.add(item.getID());
+                logError(formatBitstreamDetails(item.getHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(e.getCause()));
+            } catch (Exception e) {
+                failedItems.add(item.getID());
+                logError(formatBitstreamDetails(item.getHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(e));
+            } finally {
+                if (result != null) {
+                    Files.deleteIfExists(result);
+                }
+            }
+        }
+        if (filtered) {
+            // increment processed count
+            ++processed;
+        }
+        currentItem = null;
+        commitBatch(context, item);
+    }
+
+    /**
+     * Wait for all the dispatched items, and commit them
+     */
+    private void completePending(Context context) throws Exception {
+        while (!pending.isEmpty()) {
+            completeItem(context, pending.poll());
+        }
+        context.commit();
+        uncommitted = 0;
+    }
+
+    /**
+     * Clear an item from the context cache, and commit once enough items have been completed
+     */
+    private void commitBatch(Context context, Item item) throws SQLException {
+        context.uncacheEntity(item);
+        if (++uncommitted >= batchSize) {
+            context.commit();
+            uncommitted = 0;
+        }
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -508,6 +903,26 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
     }
 
+    /**
+     * Check whether the owning collection of an item, or one of the communities containing it, is in the skip list.
+     * The handle of the item itself is checked by {@link #applyFiltersItem(Context, Item)}.
+     */
+    private boolean inSkipList(Context context, Item item) throws SQLException {
+        Collection collection = item.getOwningCollection();
+        if (skipList == null || collection == null) {
+            return false;
+        }
+        if (inSkipList(collection.getHandle())) {
+            return true;
+        }
+        for (Community community : communityService.getAllParents(context, collection)) {
+            if (inSkipList(community.getHandle())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Describe a Bitstream in detail.  Format a single line of text with
      * information such as Bitstore index, backing file ID, size, checksum,
@@ -605,4 +1020,62 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    @Override
+    public void setFilterThreads(Map<String, Integer> filterThreads) {
+        this.filterThreads = filterThreads;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * A bitstream being filtered
+     */
+    private static class PendingDerivative {
+        private final Bitstream source;
+        private final FormatFilter formatFilter;
+        private final Future<Path> result;
+
+        PendingDerivative(Bitstream source, FormatFilter formatFilter, Future<Path> result) {
+            this.source = source;
+            this.formatFilter = formatFilter;
+            this.result = result;
+        }
+
+        /**
+         * Cancel the filtering, or delete its result if it is already done
+         */
+        void discard() {
+            if (!result.cancel(true) && !result.isCancelled()) {
+                try {
+                    Path path = result.get();
+                    if (path != null) {
+                        Files.deleteIfExists(path);
+                    }
+                } catch (Exception e) {
+                    // nothing to delete
+                }
+            }
+        }
+    }
+
+    /**
+     * An item whose bitstreams are being filtered
+     */
+    private static class PendingItem {
+        private final Item item;
+        private final List<PendingDerivative> derivatives = new ArrayList<>();
+
+        PendingItem(Item item) {
+            this.item = item;
+        }
+    }
 }
@@ -13,16 +13,33 @@ import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.util.IOUtils;
 import org.apache.tika.Tika;
+import org.apache.tika.config.TikaConfig;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.fork.ForkParser;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.apache.tika.sax.ContentHandlerDecorator;
 import org.dspace.content.Item;
@@ -39,6 +56,18 @@ public class TikaTextExtractionFilter
     extends MediaFilter {
     private final static Logger log = LogManager.getLogger();
 
+    // The threads parsing the documents whose text is streamed
+    private static final ExecutorService extractors = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat("text-extractor-%d").setDaemon(true).build());
+
+    // The pool of forked JVMs parsing the documents, shared by all instances of the filter
+    private static ForkParser forkParser = null;
+
+    // The configuration the forkParser was started with, to start it again when the configuration changes
+    private static List<Object> forkParserConfiguration = null;
+
+    private static boolean shutdownHookAdded = false;
+
     @Override
     public String getFilteredName(String oldFilename) {
         return oldFilename + ".txt";
@@ -63,8 +92,14 @@ public class TikaTextExtractionFilter
     public InputStream getDestinationStream(Item currentItem, InputStream source, boolean verbose)
         throws Exception {
         ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        boolean useStreaming = configurationService.getBooleanProperty("textextractor.use-streaming", false);
         boolean useTemporaryFile = configurationService.getBooleanProperty("textextractor.use-temp-file", false);
 
+        if (useStreaming) {
+            // Extract text out of source file while it is read from the returned InputStream
+            return extractUsingStreaming(currentItem, source, verbose);
+        }
+
         if (useTemporaryFile) {
             // Extract text out of source file using a temp file, returning results as InputStream
             return extractUsingTempFile(source, verbose);
@@ -76,7 +111,9 @@ public class TikaTextExtractionFilter
         int maxChars = configurationService.getIntProperty("textextractor.max-chars", 100_000);
         try {
             // Use Tika to extract text from input. Tika will automatically detect the file type.
-            Tika tika = new Tika();
+            Tika tika = useForkedParser(configurationService)
+                ? new Tika(TikaConfig.getDefaultConfig().getDetector(), getForkParser(configurationService))
+                : new Tika();
             tika.setMaxStringLength(maxChars); // Tell Tika the maximum number of characters to extract
             IOUtils.setByteArrayMaxOverride(
                     configurationService.getIntProperty("textextractor.max-array", 100_000_000));
@@ -170,16 +207,313 @@ public class TikaTextExtractionFilter
                 }
             });
 
-            AutoDetectParser parser = new AutoDetectParser();
             Metadata metadata = new Metadata();
             // parse our source InputStream using the above custom handler
-            parser.parse(source, handler, metadata);
+            getParser().parse(source, handler, metadata, new ParseContext());
         }
 
         // At this point, all extracted text is written to our temp file. So, return a FileInputStream for that file
         return new FileInputStream(tempExtractedTextFile);
     }
 
+    /**
+     * Extracts the text out of a given source InputStream in another thread, while the text is read from the returned
+     * InputStream (e.g. by the asset store storing the extracted text). Neither the source nor the extracted text are
+     * held in memory: the extraction waits while the reader is behind by more than the configured buffer size, so
+     * "textextractor.max-chars" is ignored and all text is extracted. The extraction is cancelled if it is not
+     * complete within the configured timeout, in which case reading the stream fails.
+     * @param currentItem item containing the source bitstream
+     * @param source source InputStream
+     * @param verbose verbose mode enabled/disabled
+     * @return InputStream of the extracted text, or null if the source doesn't contain any text
+     * @throws IOException if the extraction fails or times out before any text is extracted
+     */
+    private InputStream extractUsingStreaming(Item currentItem, InputStream source, boolean verbose)
+        throws IOException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        int bufferSize = configurationService.getIntProperty("textextractor.streaming.buffer-size", 1_048_576);
+        long timeout = configurationService.getLongProperty("textextractor.timeout", 0);
+        IOUtils.setByteArrayMaxOverride(configurationService.getIntProperty("textextractor.max-array", 100_000_000));
+
+        ExtractedTextInputStream extractedText = new ExtractedTextInputStream(bufferSize, timeout);
+        extractedText.start(out -> {
+            try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                // Like Tika().parseToString(), only extract text from the body of the file, but without any limit
+                getParser().parse(source, new BodyContentHandler(writer), new Metadata(), new ParseContext());
+            }
+        });
+        try {
+            if (!extractedText.hasText()) {
+                extractedText.close();
+                return null;
+            }
+        } catch (IOException e) {
+            log.error("Unable to extract text from bitstream in Item {}",
+                      currentItem != null ? currentItem.getID() : null, e);
+            throw e;
+        }
+        if (verbose) {
+            System.out.println("(Verbose mode) Extracted text is streamed to the new bitstream");
+        }
+        return extractedText;
+    }
+
+    /**
+     * Get the parser extracting the text. By default, documents are parsed in the current JVM. When
+     * "textextractor.use-forked-parser" is set, they are parsed by a pool of separate JVMs instead, so that a
+     * malformed document which hangs the parser, or exhausts its memory, only takes down the JVM parsing it.
+     * @return the parser
+     */
+    private Parser getParser() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        if (useForkedParser(configurationService)) {
+            return getForkParser(configurationService);
+        }
+        return new AutoDetectParser();
+    }
+
+    private boolean useForkedParser(ConfigurationService configurationService) {
+        return configurationService.getBooleanProperty("textextractor.use-forked-parser", false);
+    }
+
+    /**
+     * Get the pool of forked JVMs parsing the documents, starting it on first use. Each JVM parses one document at
+     * a time, the text being sent back to the current JVM as it is extracted. A JVM which crashes, or which doesn't
+     * complete a document within "textextractor.timeout", is killed and replaced by a new one on the next document.
+     * When the configuration of the pool changes, the pool is closed and a new one is started with it.
+     * @param configurationService the configuration of the pool
+     * @return the forked parser
+     */
+    static synchronized ForkParser getForkParser(ConfigurationService configurationService) {
+        // The number of documents parsed concurrently, further parses wait for a free JVM
+        int poolSize = configurationService.getIntProperty("textextractor.fork.pool-size", 4);
+        // The command starting a JVM, including its resource limits
+        String javaCommand = configurationService.getProperty("textextractor.fork.java-command", "java -Xmx512m");
+        // Without a timeout, a JVM is never killed for being slow, instead of after the 60 s of the ForkParser
+        long timeout = configurationService.getLongProperty("textextractor.timeout", 0);
+        // Restart the JVMs regularly, so that leaks of the parsers don't accumulate
+        int maxFilesPerJvm = configurationService.getIntProperty("textextractor.fork.max-files-per-jvm", -1);
+
+        List<Object> configuration = List.of(poolSize, javaCommand, timeout, maxFilesPerJvm);
+        if (forkParser != null && !configuration.equals(forkParserConfiguration)) {
+            closeForkParser();
+        }
+        if (forkParser == null) {
+            ForkParser parser = new ForkParser(TikaTextExtractionFilter.class.getClassLoader(),
+                                               new AutoDetectParser());
+            parser.setPoolSize(poolSize);
+            parser.setJavaCommand(Arrays.asList(StringUtils.split(javaCommand)));
+            parser.setServerParseTimeoutMillis(timeout > 0 ? TimeUnit.SECONDS.toMillis(timeout) : Long.MAX_VALUE);
+            parser.setMaxFilesProcessedPerServer(maxFilesPerJvm);
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(TikaTextExtractionFilter::closeForkParser));
+                shutdownHookAdded = true;
+            }
+            forkParser = parser;
+            forkParserConfiguration = configuration;
+        }
+        return forkParser;
+    }
+
+    /**
+     * Stop the pool of forked JVMs, if it was started. The JVMs still parsing a document are stopped once they are
+     * done with it. A new pool is started on the next use of the forked parser.
+     */
+    static synchronized void closeForkParser() {
+        if (forkParser != null) {
+            forkParser.close();
+            forkParser = null;
+            forkParserConfiguration = null;
+        }
+    }
+
+    /**
+     * An extraction writing the text of a document, run by {@link ExtractedTextInputStream}
+     */
+    @FunctionalInterface
+    private interface TextExtraction {
+        void extract(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Stream of the text extracted by another thread. The text is handed over in chunks through a bounded queue, so
+     * that at most the buffer size is held in memory: the extraction waits while the queue is full.
+     */
+    private static class ExtractedTextInputStream extends InputStream {
+
+        private static final int CHUNK_SIZE = 8192;
+
+        // Marks the end of the extraction, successful or not
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks;
+        private final long timeout;
+        private long deadline;
+        private Future<?> extraction;
+        private volatile Throwable failure;
+
+        private byte[] chunk = null;
+        private int position = 0;
+        private boolean ended = false;
+
+        /**
+         * @param bufferSize the maximum number of bytes of extracted text waiting to be read
+         * @param timeout    the maximum duration of the extraction, in seconds, 0 for no timeout
+         */
+        ExtractedTextInputStream(int bufferSize, long timeout) {
+            this.chunks = new ArrayBlockingQueue<>(Math.max(bufferSize / CHUNK_SIZE, 1) + 1);
+            this.timeout = timeout;
+        }
+
+        void start(TextExtraction textExtraction) {
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            extraction = extractors.submit(() -> {
+                try (ChunkOutputStream out = new ChunkOutputStream()) {
+                    textExtraction.extract(out);
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    try {
+                        chunks.put(END);
+                    } catch (InterruptedException e) {
+                        // cancelled, nobody is reading anymore
+                    }
+                }
+            });
+        }
+
+        /**
+         * Wait for the first text, or the end of the extraction
+         *
+         * @return true if some text has been extracted
+         * @throws IOException if the extraction failed or timed out
+         */
+        boolean hasText() throws IOException {
+            return fill();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        /**
+         * Cancel the extraction if it is not complete yet
+         */
+        @Override
+        public void close() {
+            if (!ended) {
+                ended = true;
+                extraction.cancel(true);
+                chunks.clear();
+            }
+        }
+
+        /**
+         * Make sure that the current chunk has unread text, waiting for the next chunk if needed
+         *
+         * @return false at the end of the text
+         */
+        private boolean fill() throws IOException {
+            while (chunk == null || position == chunk.length) {
+                if (ended) {
+                    return false;
+                }
+                byte[] next = null;
+                try {
+                    if (timeout <= 0) {
+                        next = chunks.take();
+                    } else if (deadline - System.nanoTime() > 0) {
+                        next = chunks.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new InterruptedIOException("Interrupted while waiting for the extracted text");
+                }
+                if (next == null) {
+                    close();
+                    throw new IOException("Text extraction did not complete within " + timeout + " seconds");
+                }
+                if (next == END) {
+                    ended = true;
+                    if (failure != null) {
+                        throw new IOException("Text extraction failed", failure);
+                    }
+                    return false;
+                }
+                chunk = next;
+                position = 0;
+            }
+            return true;
+        }
+
+        /**
+         * Groups the extracted text into chunks, waiting while the queue is full
+         */
+        private class ChunkOutputStream extends OutputStream {
+            private final byte[] buffer = new byte[CHUNK_SIZE];
+            private int count = 0;
+
+            @Override
+            public void write(int b) throws IOException {
+                buffer[count++] = (byte) b;
+                if (count == CHUNK_SIZE) {
+                    putChunk();
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    int n = Math.min(len, CHUNK_SIZE - count);
+                    System.arraycopy(b, off, buffer, count, n);
+                    count += n;
+                    off += n;
+                    len -= n;
+                    if (count == CHUNK_SIZE) {
+                        putChunk();
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                putChunk();
+            }
+
+            private void putChunk() throws IOException {
+                if (count == 0) {
+                    return;
+                }
+                try {
+                    chunks.put(Arrays.copyOf(buffer, count));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Text extraction cancelled");
+                }
+                count = 0;
+            }
+        }
+    }
+
 
 
 
@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.dspace.app.mediafilter.MediaFilterQueueEntry;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the MediaFilterQueueEntry object. The
+ * implementation of this class is responsible for all database calls for the
+ * MediaFilterQueueEntry object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface MediaFilterQueueEntryDAO extends GenericDAO<MediaFilterQueueEntry> {
+
+    /**
+     * Get the oldest records of the queue, in the order in which they were queued.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of records to return
+     * @return              the oldest queue records
+     * @throws SQLException if an SQL error occurs
+     */
+    List<MediaFilterQueueEntry> findOldest(Context context, int limit) throws SQLException;
+
+    /**
+     * Delete the queue records with the given identifiers.
+     *
+     * @param  context      DSpace context object
+     * @param  ids          the identifiers of the records to delete
+     * @return              the number of deleted records
+     * @throws SQLException if an SQL error occurs
+     */
+    int deleteByIds(Context context, List<Integer> ids) throws SQLException;
+
+    /**
+     * Count all the records of the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of queued records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+}
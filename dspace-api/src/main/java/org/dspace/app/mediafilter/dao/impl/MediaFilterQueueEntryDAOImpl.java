@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter.dao.impl;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.dspace.app.mediafilter.MediaFilterQueueEntry;
+import org.dspace.app.mediafilter.dao.MediaFilterQueueEntryDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Implementation of {@link MediaFilterQueueEntryDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class MediaFilterQueueEntryDAOImpl extends AbstractHibernateDAO<MediaFilterQueueEntry>
+    implements MediaFilterQueueEntryDAO {
+
+    protected MediaFilterQueueEntryDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<MediaFilterQueueEntry> findOldest(Context context, int limit) throws SQLException {
+        Query query = createQuery(context, "FROM MediaFilterQueueEntry ORDER BY id");
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteByIds(Context context, List<Integer> ids) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM MediaFilterQueueEntry WHERE id IN (:ids)");
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(*) FROM MediaFilterQueueEntry");
+        return (long) query.getSingleResult();
+    }
+}
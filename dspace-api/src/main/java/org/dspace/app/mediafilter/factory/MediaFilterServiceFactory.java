@@ -7,6 +7,7 @@
  */
 package org.dspace.app.mediafilter.factory;
 
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -20,6 +21,8 @@ public abstract class MediaFilterServiceFactory {
 
     public abstract MediaFilterService getMediaFilterService();
 
+    public abstract MediaFilterQueueService getMediaFilterQueueService();
+
     public static MediaFilterServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("mediaFilterServiceFactory", MediaFilterServiceFactory.class);
@@ -7,6 +7,7 @@
  */
 package org.dspace.app.mediafilter.factory;
 
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -20,9 +21,16 @@ public class MediaFilterServiceFactoryImpl extends MediaFilterServiceFactory {
 
     @Autowired(required = true)
     private MediaFilterService mediaFilterService;
+    @Autowired(required = true)
+    private MediaFilterQueueService mediaFilterQueueService;
 
     @Override
     public MediaFilterService getMediaFilterService() {
         return mediaFilterService;
     }
+
+    @Override
+    public MediaFilterQueueService getMediaFilterQueueService() {
+        return mediaFilterQueueService;
+    }
 }
@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.app.mediafilter.MediaFilterQueueEntry;
+import org.dspace.core.Context;
+
+/**
+ * Service interface class for the queue of items whose derivatives must be (re)generated. The queue is filled by the
+ * {@link org.dspace.app.mediafilter.MediaFilterQueueConsumer} when bitstreams are added to, or modified in, the
+ * ORIGINAL bundle of archived items, so that "filter-media -Q" only visits these items instead of the whole
+ * repository.
+ */
+public interface MediaFilterQueueService {
+
+    /**
+     * Add an item to the queue. The record is stored as part of the current transaction of the given context.
+     *
+     * @param context       DSpace context object
+     * @param itemId        the UUID of the item
+     * @return              the created queue record
+     * @throws SQLException if database error
+     */
+    MediaFilterQueueEntry enqueue(Context context, UUID itemId) throws SQLException;
+
+    /**
+     * Get the oldest records of the queue, in the order in which they were queued. The same item may be queued
+     * several times.
+     *
+     * @param context       DSpace context object
+     * @param limit         the maximum number of queue records to return
+     * @return              the oldest queue records
+     * @throws SQLException if database error
+     */
+    List<MediaFilterQueueEntry> findOldest(Context context, int limit) throws SQLException;
+
+    /**
+     * Remove processed records from the queue. The caller is responsible for committing the context.
+     *
+     * @param context       DSpace context object
+     * @param entries       the queue records to remove
+     * @return              the number of removed queue records
+     * @throws SQLException if database error
+     */
+    int delete(Context context, List<MediaFilterQueueEntry> entries) throws SQLException;
+
+    /**
+     * Count the records waiting in the queue.
+     *
+     * @param context       DSpace context object
+     * @return              the number of queued records
+     * @throws SQLException if database error
+     */
+    long countPending(Context context) throws SQLException;
+}
@@ -47,6 +47,17 @@ public interface MediaFilterService {
 
     public void applyFiltersItem(Context c, Item item) throws Exception;
 
+    /**
+     * Apply the filters to the items queued by the
+     * {@link org.dspace.app.mediafilter.MediaFilterQueueConsumer}, instead of visiting
+     * every item of the repository. The queue records are removed once their items
+     * have been processed, so that an interrupted run resumes with the remaining items.
+     *
+     * @param context context
+     * @throws Exception if error
+     */
+    public void applyFiltersQueue(Context context) throws Exception;
+
 
     /**
      * Iterate through the item's bitstreams in the ORIGINAL bundle, applying
@@ -152,4 +163,28 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the default number of threads running each filter. With more than one thread, the bitstreams of several
+     * items are filtered concurrently, while the results are stored, in the order of the items, by the thread
+     * applying the filters.
+     *
+     * @param threads the number of threads, 1 to filter the bitstreams one after the other
+     */
+    public void setThreads(int threads);
+
+    /**
+     * Set the number of threads running some filters, overriding the default number of threads
+     *
+     * @param filterThreads the number of threads, by filter class name (and plugin name, separated by
+     *                      {@link #FILTER_PLUGIN_SEPARATOR}, for self named plugins)
+     */
+    public void setFilterThreads(Map<String, Integer> filterThreads);
+
+    /**
+     * Set the number of items committed together when filtering with several threads
+     *
+     * @param batchSize the number of items
+     */
+    public void setBatchSize(int batchSize);
 }
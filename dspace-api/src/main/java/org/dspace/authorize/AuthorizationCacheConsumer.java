@@ -0,0 +1,173 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * This consumer is used to evict the decisions taken for modified objects from the
+ * {@link AuthorizationDecisionCache}. Changes to items, bundles and bitstreams (including changes to their resource
+ * policies, which are reported as a modification of the object) only evict the decisions for the objects involved.
+ * As the ADMIN permission is inherited, changes to a collection or community evict the decisions for its whole
+ * subtree, except for the addition or removal of a child, which only evicts the decisions for both objects (and for
+ * the subtree of the child). Changes to the site clear the whole cache. Changes to groups and EPersons evict no
+ * decision, as the groups of the user are part of the cache key: they only evict the cached groups of the users.
+ */
+public class AuthorizationCacheConsumer implements Consumer {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationCacheConsumer.class);
+
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
+    // When true all entries will be cleared from cache.
+    private boolean clearAll = false;
+
+    // Collects modified objects for individual removal from cache.
+    private final Set<UUID> toEvict = new HashSet<>();
+
+    // Collects modified collections and communities for the removal of their subtree from cache.
+    private final Set<UUID> subtreesToEvict = new HashSet<>();
+
+    // When true the groups of all users will be cleared from cache.
+    private boolean clearGroups = false;
+
+    // Collects EPersons whose memberships changed for the removal of their groups from cache.
+    private final Set<UUID> groupsToEvict = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        authorizationDecisionCache = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (authorizationDecisionCache == null || !authorizationDecisionCache.isEnabled()) {
+            return;
+        }
+        int st = event.getSubjectType();
+        if (st == Constants.GROUP) {
+            if (event.getObjectType() == Constants.EPERSON) {
+                groupsToEvict.add(event.getObjectID());
+            } else {
+                // a subgroup was added or removed, or the group was deleted
+                clearGroups = true;
+            }
+            return;
+        }
+        if (st == Constants.EPERSON) {
+            groupsToEvict.add(event.getSubjectID());
+            return;
+        }
+        if (clearAll) {
+            return;
+        }
+        if (st == Constants.SITE) {
+            clearAll = true;
+            return;
+        }
+        if (st == Constants.COLLECTION || st == Constants.COMMUNITY) {
+            if (event.getEventType() != Event.ADD && event.getEventType() != Event.REMOVE) {
+                subtreesToEvict.add(event.getSubjectID());
+                return;
+            }
+            // e.g. an item is installed in or mapped to the collection: the other children are not concerned
+            toEvict.add(event.getSubjectID());
+            int ot = event.getObjectType();
+            if (ot == Constants.COLLECTION || ot == Constants.COMMUNITY) {
+                subtreesToEvict.add(event.getObjectID());
+            } else if (event.getObjectID() != null) {
+                toEvict.add(event.getObjectID());
+            }
+            return;
+        }
+        if (!(st == Constants.ITEM || st == Constants.BUNDLE || st == Constants.BITSTREAM)) {
+            return;
+        }
+
+        toEvict.add(event.getSubjectID());
+        if (event.getObjectID() != null) {
+            toEvict.add(event.getObjectID());
+        }
+        // Bundles do not report changes to their policies, which are usually changed along with the ones of the item
+        if (st == Constants.ITEM) {
+            DSpaceObject subject = event.getSubject(ctx);
+            if (subject != null) {
+                for (Bundle bundle : ((Item) subject).getBundles()) {
+                    toEvict.add(bundle.getID());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        boolean clear = clearAll;
+        Set<UUID> ids = new HashSet<>(toEvict);
+        Set<UUID> roots = new HashSet<>(subtreesToEvict);
+        boolean clearMembers = clearGroups;
+        Set<UUID> members = new HashSet<>(groupsToEvict);
+        clearAll = false;
+        toEvict.clear();
+        subtreesToEvict.clear();
+        clearGroups = false;
+        groupsToEvict.clear();
+        if (!clear && ids.isEmpty() && roots.isEmpty() && !clearMembers && members.isEmpty()) {
+            return;
+        }
+        evict(clear, ids, roots);
+        evictGroups(clearMembers, members);
+        // The consumers run before the changes are committed, so that other contexts may still take (and cache)
+        // decisions based on the old policies in the meantime: evict again once the new policies are visible.
+        ctx.runAfterCommit(() -> {
+            evict(clear, ids, roots);
+            evictGroups(clearMembers, members);
+        });
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+
+    private void evictGroups(boolean clear, Set<UUID> epersonIds) {
+        if (clear) {
+            authorizationDecisionCache.clearGroups();
+        } else {
+            for (UUID id : epersonIds) {
+                authorizationDecisionCache.evictGroups(id);
+            }
+        }
+    }
+
+    private void evict(boolean clear, Set<UUID> ids, Set<UUID> roots) {
+        if (clear) {
+            log.debug("Clearing the authorization decision cache");
+            authorizationDecisionCache.clear();
+        } else {
+            for (UUID id : ids) {
+                authorizationDecisionCache.evict(id);
+            }
+            for (UUID root : roots) {
+                authorizationDecisionCache.evictSubtree(root);
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM wide cache of the decisions taken by {@link AuthorizeServiceImpl}, shared by all contexts (and so all
+ * requests). Unlike the cache held by the {@link Context}, which only lives for a single read-only context, the
+ * decisions kept here are reused until the object they were taken for is changed, or until they expire.
+ * <p>
+ * Decisions are grouped per object, and keyed by the action, whether inheritance was used and a hash of all the
+ * groups the user is a member of (including the special groups of the context), so that the users with the same
+ * groups share their decisions. A membership change gives the user another key, so it evicts nothing. The decisions
+ * which may depend on the user itself (e.g. through a policy for that EPerson) are cached under a key which also
+ * includes the user. The hash of the groups of each user is cached too, until the memberships of the user change, so
+ * that they are not resolved for each decision. The ancestors of each object are kept along with its decisions, so
+ * that a change to a collection or community only evicts the decisions of its subtree, see
+ * {@link AuthorizationCacheConsumer}.
+ * <p>
+ * As changes to resource policies are only visible to the consumer when the object they are attached to fires an
+ * event, the cache is disabled by default and only consulted for contexts without uncommitted events. Changes made
+ * by other processes (e.g. command line scripts) are only picked up once the cached decisions expire.
+ * <p>
+ * Configuration:
+ * <ul>
+ * <li>authorize.cache.enabled: whether to use the cache (default false)</li>
+ * <li>authorize.cache.max-objects: the maximum number of objects to keep decisions for (default 10000)</li>
+ * <li>authorize.cache.expire-seconds: how long a decision may be reused (default 600)</li>
+ * </ul>
+ */
+public class AuthorizationDecisionCache {
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected GroupService groupService;
+
+    private volatile Cache<UUID, Decisions> cache;
+
+    // The hash of the groups of each user (and special groups), see getKey
+    private volatile Cache<String, String> groupHashes;
+
+    // Incremented on every invalidation, so that decisions computed before it are not stored afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @return true if the cache is enabled in the configuration
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorize.cache.enabled", false);
+    }
+
+    /**
+     * Build the key to cache a decision under for the given context, shared by all the users who are members of the
+     * same groups. Returns null when the decision must not be cached, i.e. when the cache is disabled or when the
+     * context has uncommitted changes which have not been dispatched to the {@link AuthorizationCacheConsumer} yet.
+     *
+     * @param context        DSpace context
+     * @param action         the action being checked
+     * @param eperson        the user the action is checked for, null for anonymous
+     * @param useInheritance whether the ADMIN permission on parent objects was taken into account
+     * @return the key, or null
+     * @throws SQLException if database error while resolving the groups of the user
+     */
+    public String getKey(Context context, int action, EPerson eperson, boolean useInheritance) throws SQLException {
+        if (!isEnabled() || context.hasEvents()) {
+            return null;
+        }
+        // the special groups are only part of the groups of the current user, see GroupService.allMemberGroupsSet
+        String user = eperson != null ? eperson.getID().toString() : "anonymous";
+        if (context.getCurrentUser() == null || context.getCurrentUser().equals(eperson)) {
+            user += context.getSpecialGroupUuids().stream()
+                           .map(UUID::toString)
+                           .sorted()
+                           .collect(Collectors.joining(",", ":", ""));
+        }
+        String groupHash = getGroupHashes().getIfPresent(user);
+        if (groupHash == null) {
+            String groups = groupService.allMemberGroupsSet(context, eperson).stream()
+                                        .map(group -> group.getID().toString())
+                                        .sorted()
+                                        .collect(Collectors.joining(","));
+            groupHash = DigestUtils.sha256Hex(groups);
+            getGroupHashes().put(user, groupHash);
+        }
+        return action + ":" + useInheritance + ":" + groupHash;
+    }
+
+    /**
+     * Build the key to cache a decision which may depend on the user itself, and not only on its groups
+     *
+     * @param key     the key returned by {@link #getKey}
+     * @param eperson the user the action is checked for, null for anonymous
+     * @return the key for that user, or null if the key is null or the user is anonymous
+     */
+    public String getUserKey(String key, EPerson eperson) {
+        return key != null && eperson != null ? key + ":" + eperson.getID() : null;
+    }
+
+    /**
+     * @return the current generation, to be passed on to {@link #put} once the decision has been taken
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Look up a cached decision, first under the key of the groups of the user, then under the key of the user
+     *
+     * @param objectId the object the decision was taken for
+     * @param key      the key returned by {@link #getKey}
+     * @param userKey  the key returned by {@link #getUserKey}, may be null
+     * @return the decision, or null if none is cached
+     */
+    public Boolean get(UUID objectId, String key, String userKey) {
+        Decisions decisions = getCache().getIfPresent(objectId);
+        Boolean decision = null;
+        if (decisions != null) {
+            decision = decisions.decisions.get(key);
+            if (decision == null && userKey != null) {
+                decision = decisions.decisions.get(userKey);
+            }
+        }
+        if (decision != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return decision;
+    }
+
+    /**
+     * Look up a cached decision for the given context, without taking it when none is cached. Unlike
+     * {@link #get}, a missing decision is not counted as a miss, as the caller is expected to take the decision
+     * through the {@link org.dspace.authorize.service.AuthorizeService}, which looks it up again.
+     *
+     * @param context        DSpace context
+     * @param objectId       the object the decision was taken for
+     * @param action         the action being checked
+     * @param eperson        the user the action is checked for, null for anonymous
+     * @param useInheritance whether the ADMIN permission on parent objects was taken into account
+     * @return the decision, or null if none is cached or if the decision must not be cached
+     * @throws SQLException if database error while resolving the groups of the user
+     */
+    public Boolean getIfPresent(Context context, UUID objectId, int action, EPerson eperson, boolean useInheritance)
+        throws SQLException {
+        String key = getKey(context, action, eperson, useInheritance);
+        if (key == null) {
+            return null;
+        }
+        Decisions decisions = getCache().getIfPresent(objectId);
+        if (decisions == null) {
+            return null;
+        }
+        Boolean decision = decisions.decisions.get(key);
+        String userKey = getUserKey(key, eperson);
+        if (decision == null && userKey != null) {
+            decision = decisions.decisions.get(userKey);
+        }
+        if (decision != null) {
+            hits.increment();
+        }
+        return decision;
+    }
+
+    /**
+     * Cache a decision, unless the cache has been invalidated since the given generation was read
+     *
+     * @param objectId   the object the decision was taken for
+     * @param ancestors  the (possibly indirect) parents of the object, whose changes evict the decision
+     * @param key        the key returned by {@link #getKey} or by {@link #getUserKey}
+     * @param decision   the decision
+     * @param generation the value of {@link #getGeneration()} before the decision was taken
+     */
+    public void put(UUID objectId, Set<UUID> ancestors, String key, boolean decision, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        getCache().asMap().computeIfAbsent(objectId, id -> new Decisions(ancestors)).decisions.put(key, decision);
+    }
+
+    /**
+     * Remove all decisions taken for the given object
+     *
+     * @param objectId the object
+     */
+    public void evict(UUID objectId) {
+        generation.incrementAndGet();
+        getCache().invalidate(objectId);
+    }
+
+    /**
+     * Remove all decisions taken for the given object and for the objects below it, e.g. after the policies of a
+     * collection changed, as they may be inherited
+     *
+     * @param objectId the object at the root of the subtree
+     */
+    public void evictSubtree(UUID objectId) {
+        generation.incrementAndGet();
+        getCache().invalidate(objectId);
+        getCache().asMap().entrySet().removeIf(entry -> entry.getValue().ancestors.contains(objectId));
+    }
+
+    /**
+     * Forget the groups of a user, after its memberships changed
+     *
+     * @param epersonId the user
+     */
+    public void evictGroups(UUID epersonId) {
+        String user = epersonId.toString();
+        getGroupHashes().asMap().keySet().removeIf(key -> key.equals(user) || key.startsWith(user + ":"));
+    }
+
+    /**
+     * Forget the groups of all users, e.g. after a group was added to or removed from another group
+     */
+    public void clearGroups() {
+        getGroupHashes().invalidateAll();
+    }
+
+    /**
+     * Remove all cached decisions
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        getCache().invalidateAll();
+    }
+
+    /**
+     * @return the number of lookups which returned a decision
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which did not return a decision
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the (approximate) number of objects decisions are cached for
+     */
+    public long getSize() {
+        return getCache().size();
+    }
+
+    private Cache<UUID, Decisions> getCache() {
+        if (cache == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    cache = CacheBuilder.newBuilder()
+                        .maximumSize(configurationService.getLongProperty("authorize.cache.max-objects", 10000))
+                        .expireAfterWrite(configurationService.getLongProperty("authorize.cache.expire-seconds", 600),
+                                          TimeUnit.SECONDS)
+                        .build();
+                }
+            }
+        }
+        return cache;
+    }
+
+    private Cache<String, String> getGroupHashes() {
+        if (groupHashes == null) {
+            synchronized (this) {
+                if (groupHashes == null) {
+                    groupHashes = CacheBuilder.newBuilder()
+                        .maximumSize(configurationService.getLongProperty("authorize.cache.max-objects", 10000))
+                        .expireAfterWrite(configurationService.getLongProperty("authorize.cache.expire-seconds", 600),
+                                          TimeUnit.SECONDS)
+                        .build();
+                }
+            }
+        }
+        return groupHashes;
+    }
+
+    /**
+     * The decisions taken for an object, along with its ancestors
+     */
+    private static class Decisions {
+        private final Set<UUID> ancestors;
+        private final ConcurrentMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+        Decisions(Set<UUID> ancestors) {
+            this.ancestors = ancestors;
+        }
+    }
+}
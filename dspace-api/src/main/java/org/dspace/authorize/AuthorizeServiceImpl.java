@@ -14,7 +14,9 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -72,6 +74,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
+    protected AuthorizationDecisionCache authorizationDecisionCache;
+    @Autowired(required = true)
     protected ContentServiceFactory serviceFactory;
     @Autowired(required = true)
     protected GroupService groupService;
@@ -262,6 +266,18 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
+        // If the decision was taken before by any context and is still valid
+        long sharedCacheGeneration = authorizationDecisionCache.getGeneration();
+        String sharedCacheKey = authorizationDecisionCache.getKey(c, action, e, useInheritance);
+        String userCacheKey = authorizationDecisionCache.getUserKey(sharedCacheKey, e);
+        if (sharedCacheKey != null) {
+            Boolean sharedResult = authorizationDecisionCache.get(o.getID(), sharedCacheKey, userCacheKey);
+            if (sharedResult != null) {
+                c.cacheAuthorizedAction(o, action, e, sharedResult, null);
+                return sharedResult;
+            }
+        }
+
         // In case the dso is an bundle or bitstream we must ignore custom
         // policies if it does not belong to at least one installed item (see
         // DS-2614).
@@ -290,6 +306,11 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
+        boolean authorized = false;
+        // decisions depending on the start or end date of a policy can't be shared, as they may change at any time
+        boolean timeDependent = false;
+        // decisions depending on the user itself, and not only on its groups, can't be shared with the other members
+        boolean userDependent = false;
         for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
 
             if (ignoreCustomPolicies
@@ -302,11 +323,20 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                 continue;
             }
 
+            if (rp.getStartDate() != null || rp.getEndDate() != null) {
+                timeDependent = true;
+            }
+            if (rp.getEPerson() != null) {
+                userDependent = true;
+            }
+
             // check policies for date validity
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
+                    userDependent = true;
                     c.cacheAuthorizedAction(o, action, e, true, rp);
-                    return true; // match
+                    authorized = true; // match
+                    break;
                 }
 
                 if ((rp.getGroup() != null)
@@ -314,7 +344,9 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     // group was set, and eperson is a member
                     // of that group
                     c.cacheAuthorizedAction(o, action, e, true, rp);
-                    return true;
+                    userDependent = false;
+                    authorized = true;
+                    break;
                 }
             }
 
@@ -325,19 +357,48 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
-        if (e != null) {
+        if (!authorized && e != null) {
             // if user is an Admin on this object
             DSpaceObject adminObject = useInheritance ? serviceFactory.getDSpaceObjectService(o)
                                                                       .getAdminObject(c, o, action) : null;
+            // the ADMIN policies of the parent objects may be given to the user itself
+            userDependent |= adminObject != null;
 
             if (isAdmin(c, e, adminObject)) {
                 c.cacheAuthorizedAction(o, action, e, true, null);
-                return true;
+                authorized = true;
             }
         }
-        // default authorization is denial
-        c.cacheAuthorizedAction(o, action, e, false, null);
-        return false;
+        if (!authorized) {
+            // default authorization is denial
+            c.cacheAuthorizedAction(o, action, e, false, null);
+        }
+
+        // Whether custom policies are ignored depends on the workflow state of the item, which is not tracked by the
+        // shared cache
+        if (sharedCacheKey != null && !ignoreCustomPolicies && !timeDependent) {
+            authorizationDecisionCache.put(o.getID(), getAncestorIds(c, o),
+                                           userDependent && e != null ? userCacheKey : sharedCacheKey,
+                                           authorized, sharedCacheGeneration);
+        }
+        return authorized;
+    }
+
+    /**
+     * Get the IDs of the parents of an object, up to the site, along which the ADMIN permission is inherited
+     *
+     * @param c DSpace context
+     * @param o the object
+     * @return the IDs of the (possibly indirect) parents of the object
+     * @throws SQLException if database error
+     */
+    protected Set<UUID> getAncestorIds(Context c, DSpaceObject o) throws SQLException {
+        Set<UUID> ancestors = new HashSet<>();
+        DSpaceObject parent = serviceFactory.getDSpaceObjectService(o).getParentObject(c, o);
+        while (parent != null && ancestors.add(parent.getID())) {
+            parent = serviceFactory.getDSpaceObjectService(parent).getParentObject(c, parent);
+        }
+        return ancestors;
     }
 
     // check whether any bundle belongs to any item that passed submission
@@ -8,11 +8,23 @@
 package org.dspace.checker;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
@@ -20,6 +32,8 @@ import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -30,6 +44,15 @@ import org.dspace.storage.bitstore.service.BitstreamStorageService;
  * against the last calculated checksum for that bitstream.
  * </p>
  *
+ * <p>
+ * Bitstreams can be checked by several threads: the bitstreams are still
+ * dispatched, and their results recorded, by the calling thread (which owns
+ * the context), but their content is read and digested concurrently. The
+ * results are then committed in batches. The number of bytes read per second
+ * can be limited, so that checking does not starve the other users of the
+ * asset store.
+ * </p>
+ *
  * @author Jim Downing
  * @author Grace Carpenter
  * @author Nathan Sarr
@@ -78,6 +101,43 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of bitstreams checked concurrently
+     */
+    private int threads = 1;
+
+    /**
+     * Number of results recorded between two commits, when checking concurrently
+     */
+    private int batchSize = 100;
+
+    /**
+     * Limits the number of bytes read per second
+     */
+    private ThroughputLimiter limiter = new ThroughputLimiter(0);
+
+    /**
+     * Number of bitstreams and bytes whose checksum was computed
+     */
+    private final AtomicLong checkedCount = new AtomicLong();
+    private final AtomicLong checkedBytes = new AtomicLong();
+
+    /**
+     * Compare the expected checksums with the checksums recorded by the asset
+     * stores when they have trustworthy ones, instead of reading the content
+     */
+    private boolean verifyStoredChecksums = false;
+
+    /**
+     * Share of the bitstreams which are read anyway when verifying stored checksums
+     */
+    private double fullReadRatio = 0.01;
+
+    /**
+     * Number of bitstreams verified with the checksum recorded by their asset store
+     */
+    private final AtomicLong storedChecksumCount = new AtomicLong();
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -89,6 +149,15 @@ public final class CheckerCommand {
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
         this.context = context;
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        threads = configurationService.getIntProperty("checker.threads", threads);
+        batchSize = configurationService.getIntProperty("checker.batch-size", batchSize);
+        limiter = new ThroughputLimiter(configurationService.getLongProperty("checker.max-bytes-per-second", 0));
+        verifyStoredChecksums = configurationService.getBooleanProperty("checker.stored-checksums.enabled",
+                                                                        verifyStoredChecksums);
+        fullReadRatio = configurationService.getPropertyAsType("checker.stored-checksums.full-read-ratio",
+                                                               fullReadRatio);
     }
 
     /**
@@ -120,22 +189,148 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processConcurrently();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
             LOG.debug("Processing bitstream id = " + bitstream.getID());
             MostRecentChecksum info = checkBitstream(bitstream);
-
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
-            }
+            collect(info);
 
             context.uncacheEntity(bitstream);
             bitstream = dispatcher.next();
         }
     }
 
+    /**
+     * Check the dispatched bitstreams with several threads. Up to twice as
+     * many bitstreams as threads are read ahead of the results being
+     * recorded, and the results are committed every {@link #getBatchSize()}
+     * bitstreams.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processConcurrently() throws SQLException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+            .setNameFormat("checksum-checker-%d").setDaemon(true).build());
+        Deque<PendingCheck> pending = new ArrayDeque<>();
+        int uncommitted = 0;
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null) {
+                if (isPending(pending, bitstream)) {
+                    // dispatched again before its previous check completed (e.g. when looping)
+                    completeCheck(pending.poll());
+                    continue;
+                }
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                    // mark the bitstream as being checked, so that the dispatcher does not select it again
+                    info.setProcessStartDate(Instant.now());
+                    Bitstream toCheck = info.getBitstream();
+                    pending.add(new PendingCheck(info, executor.submit(() -> computeChecksum(toCheck))));
+                } else {
+                    collect(checkBitstream(bitstream));
+                    context.uncacheEntity(bitstream);
+                }
+
+                while (pending.size() >= threads * 2) {
+                    completeCheck(pending.poll());
+                }
+                if (++uncommitted >= batchSize) {
+                    while (!pending.isEmpty()) {
+                        completeCheck(pending.poll());
+                    }
+                    context.commit();
+                    uncommitted = 0;
+                }
+                bitstream = dispatcher.next();
+            }
+            while (!pending.isEmpty()) {
+                completeCheck(pending.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isPending(Deque<PendingCheck> pending, Bitstream bitstream) {
+        for (PendingCheck check : pending) {
+            if (check.info.getBitstream().getID().equals(bitstream.getID())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wait for the checksum of a bitstream to be computed, then record it
+     */
+    private void completeCheck(PendingCheck check) throws SQLException {
+        Map<String, Object> checksumMap = null;
+        IOException error = null;
+        try {
+            checksumMap = Uninterruptibles.getUninterruptibly(check.checksum);
+        } catch (ExecutionException e) {
+            error = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+        recordChecksum(check.info, checksumMap, error);
+        collect(check.info);
+        context.uncacheEntity(check.info.getBitstream());
+    }
+
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+    }
+
+    /**
+     * Compute the checksum of a bitstream, once the maximum throughput allows
+     * reading it. This does not use the context, and can be called by any
+     * thread.
+     * <p>
+     * When verifying stored checksums, the checksum recorded by the asset
+     * store is returned instead, unless the store has no trustworthy checksum
+     * for the bitstream or the bitstream is sampled to be read anyway.
+     *
+     * @param bitstream the bitstream
+     * @return the checksum and checksum algorithm of the bitstream, or an empty map if it was not found
+     * @throws IOException if the bitstream could not be read
+     */
+    protected Map<String, Object> computeChecksum(Bitstream bitstream) throws IOException {
+        if (verifyStoredChecksums && ThreadLocalRandom.current().nextDouble() >= fullReadRatio) {
+            Map<String, Object> storedChecksum = bitstreamStorageService.getStoredChecksum(context, bitstream);
+            if (storedChecksum != null && (storedChecksum.isEmpty() || StringUtils.equalsIgnoreCase(
+                bitstream.getChecksumAlgorithm(), (String) storedChecksum.get("checksum_algorithm")))) {
+                if (!storedChecksum.isEmpty()) {
+                    checkedCount.incrementAndGet();
+                    storedChecksumCount.incrementAndGet();
+                }
+                return storedChecksum;
+            }
+        }
+
+        try {
+            limiter.acquire(bitstream.getSizeBytes());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to read bitstream " + bitstream.getID());
+        }
+        Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, bitstream);
+        if (MapUtils.isNotEmpty(checksumMap)) {
+            checkedCount.incrementAndGet();
+            checkedBytes.addAndGet(bitstream.getSizeBytes());
+        }
+        return checksumMap;
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -244,9 +439,35 @@ public final class CheckerCommand {
     protected void processBitstream(MostRecentChecksum info) throws SQLException {
         info.setProcessStartDate(Instant.now());
 
+        Map<String, Object> checksumMap = null;
+        IOException error = null;
+        try {
+            checksumMap = computeChecksum(info.getBitstream());
+        } catch (IOException e) {
+            error = e;
+        }
+        recordChecksum(info, checksumMap, error);
+    }
+
+    /**
+     * Compare the computed checksum of a bitstream with the expected one, and
+     * record the result.
+     *
+     * @param info        BitstreamInfo to handle
+     * @param checksumMap the computed checksum and checksum algorithm, empty if the bitstream was not found
+     * @param error       the error which prevented computing the checksum, or null
+     * @throws SQLException if database error
+     */
+    protected void recordChecksum(MostRecentChecksum info, Map<String, Object> checksumMap, IOException error)
+        throws SQLException {
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
-            if (MapUtils.isNotEmpty(checksumMap)) {
+            if (error != null) {
+                // bitstream located, but file missing from asset store
+                info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
+                info.setToBeProcessed(false);
+                LOG.error("Error retrieving bitstream ID " + info.getBitstream().getID()
+                              + " from " + "asset store.", error);
+            } else if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
                 if (checksumMap.containsKey("checksum")) {
                     info.setCurrentChecksum(checksumMap.get("checksum").toString());
@@ -265,12 +486,6 @@ public final class CheckerCommand {
                 info.setToBeProcessed(false);
             }
 
-        } catch (IOException e) {
-            // bitstream located, but file missing from asset store
-            info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
-            info.setToBeProcessed(false);
-            LOG.error("Error retrieving bitstream ID " + info.getBitstream().getID()
-                          + " from " + "asset store.", e);
         } catch (SQLException e) {
             // ??this code only executes if an SQL
             // exception occurs in *DSpace* code, probably
@@ -362,4 +577,143 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the number of bitstreams checked concurrently.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of bitstreams checked concurrently.
+     *
+     * @param threads the number of threads, 1 to check the bitstreams one at a time
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Get the number of results recorded between two commits, when checking
+     * concurrently.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the number of results recorded between two commits, when checking
+     * concurrently.
+     *
+     * @param batchSize the batch size
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the maximum number of bytes read per second.
+     *
+     * @return the maximum throughput, 0 if not limited
+     */
+    public long getMaxBytesPerSecond() {
+        return limiter.getBytesPerSecond();
+    }
+
+    /**
+     * Set the maximum number of bytes read per second.
+     *
+     * @param maxBytesPerSecond the maximum throughput, 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        limiter = new ThroughputLimiter(maxBytesPerSecond);
+    }
+
+    /**
+     * Get the number of bitstreams whose checksum was computed by this run.
+     *
+     * @return the number of bitstreams
+     */
+    public long getCheckedCount() {
+        return checkedCount.get();
+    }
+
+    /**
+     * Get the number of bytes read to compute checksums by this run.
+     *
+     * @return the number of bytes
+     */
+    public long getCheckedBytes() {
+        return checkedBytes.get();
+    }
+
+    /**
+     * Determine if the checksums recorded by the asset stores are verified
+     * instead of reading the content of the bitstreams.
+     *
+     * @return true if stored checksums are verified
+     */
+    public boolean isVerifyStoredChecksums() {
+        return verifyStoredChecksums;
+    }
+
+    /**
+     * Set whether the checksums recorded by the asset stores are verified
+     * instead of reading the content of the bitstreams. Bitstreams whose store
+     * has no trustworthy checksum are still read.
+     *
+     * @param verifyStoredChecksums true to verify stored checksums
+     */
+    public void setVerifyStoredChecksums(boolean verifyStoredChecksums) {
+        this.verifyStoredChecksums = verifyStoredChecksums;
+    }
+
+    /**
+     * Get the share of the bitstreams which are read anyway when verifying
+     * stored checksums.
+     *
+     * @return a ratio between 0 and 1
+     */
+    public double getFullReadRatio() {
+        return fullReadRatio;
+    }
+
+    /**
+     * Set the share of the bitstreams which are read anyway when verifying
+     * stored checksums, so that the stored checksums themselves are verified
+     * from time to time.
+     *
+     * @param fullReadRatio a ratio between 0 (never) and 1 (always)
+     */
+    public void setFullReadRatio(double fullReadRatio) {
+        this.fullReadRatio = fullReadRatio;
+    }
+
+    /**
+     * Get the number of bitstreams verified by this run with the checksum
+     * recorded by their asset store, without reading them.
+     *
+     * @return the number of bitstreams
+     */
+    public long getStoredChecksumCount() {
+        return storedChecksumCount.get();
+    }
+
+    /**
+     * A bitstream whose checksum is being computed
+     */
+    private static class PendingCheck {
+        private final MostRecentChecksum info;
+        private final Future<Map<String, Object>> checksum;
+
+        PendingCheck(MostRecentChecksum info, Future<Map<String, Object>> checksum) {
+            this.info = info;
+            this.checksum = checksum;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the average number of bytes read per second by several threads. Each thread reserves the time needed to
+ * read its bytes at the maximum rate, after the reservations of the other threads, and waits until its reservation
+ * starts.
+ */
+public class ThroughputLimiter {
+
+    private final long bytesPerSecond;
+
+    // the time at which the bytes reserved so far have been read at the maximum rate
+    private long nextFreeNanos;
+
+    /**
+     * @param bytesPerSecond the maximum number of bytes read per second, or 0 for no limit
+     */
+    public ThroughputLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * Wait until the given number of bytes can be read without exceeding the maximum rate
+     *
+     * @param bytes the number of bytes about to be read
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (bytes * (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return the maximum number of bytes read per second, or 0 for no limit
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+}
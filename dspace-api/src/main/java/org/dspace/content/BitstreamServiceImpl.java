@@ -307,6 +307,14 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamStorageService.retrieve(context, bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieve(context, bitstream, offset, length);
+    }
+
     @Override
     public boolean isRegisteredBitstream(Bitstream bitstream) {
         return bitstreamStorageService.isRegisteredBitstream(bitstream.getInternalId());
@@ -343,6 +351,11 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDeletedBitstreams(context, limit, offset);
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        return bitstreamDAO.findDeletedBitstreams(context, after, limit);
+    }
+
     @Override
     public void expunge(Context context, Bitstream bitstream) throws SQLException, AuthorizeException {
         authorizeService.authorizeAction(context, bitstream, Constants.DELETE);
@@ -448,6 +461,12 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findByStoreNumber(context, storeNumber);
     }
 
+    @Override
+    public List<Bitstream> findByStoreNumber(Context context, Integer storeNumber, UUID after, int limit)
+        throws SQLException {
+        return bitstreamDAO.findByStoreNumber(context, storeNumber, after, limit);
+    }
+
     @Override
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException {
         return bitstreamDAO.countByStoreNumber(context, storeNumber);
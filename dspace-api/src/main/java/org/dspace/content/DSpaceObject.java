@@ -58,6 +58,10 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @OrderBy("metadataField, place")
     private List<MetadataValue> metadata = new ArrayList<>();
 
+    // Index of the metadata values by field, built on first lookup
+    @Transient
+    private transient MetadataValueIndex metadataIndex = null;
+
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "dso")
     // OrderBy is here to ensure that the oldest handle is retrieved first.
     // Multiple handles are assigned to the latest version of an item.
@@ -176,6 +180,20 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        metadataIndex = null;
+    }
+
+    /**
+     * Get the index of the metadata values of this object by field, (re)building it if the metadata values have
+     * been modified since it was last built.
+     *
+     * @return the index
+     */
+    protected MetadataValueIndex getMetadataIndex() {
+        if (metadataIndex == null || !metadataIndex.isIndexOf(getMetadata())) {
+            metadataIndex = new MetadataValueIndex(getMetadata());
+        }
+        return metadataIndex;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -205,6 +223,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        metadataIndex = null;
     }
 
     public boolean isModified() {
@@ -113,6 +113,9 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private List<MetadataValue> cachedMetadata = new ArrayList<>();
 
+    @Transient
+    private transient MetadataValueIndex cachedMetadataIndex = null;
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.content.service.ItemService#create(Context, WorkspaceItem)}
@@ -398,6 +401,17 @@ public class Item extends DSpaceObject implements DSpaceObjectLegacySupport {
 
     protected void setCachedMetadata(List<MetadataValue> cachedMetadata) {
         this.cachedMetadata = cachedMetadata;
+        cachedMetadataIndex = null;
         modifiedMetadataCache = false;
     }
+
+    /**
+     * @return the index by field of the cached metadata values, including the virtual ones
+     */
+    protected MetadataValueIndex getCachedMetadataIndex() {
+        if (cachedMetadataIndex == null || !cachedMetadataIndex.isIndexOf(cachedMetadata)) {
+            cachedMetadataIndex = new MetadataValueIndex(cachedMetadata);
+        }
+        return cachedMetadataIndex;
+    }
 }
@@ -49,6 +49,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataSchemaService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.content.virtual.VirtualMetadataCache;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.contentreport.QueryPredicate;
 import org.dspace.core.Constants;
@@ -154,6 +155,9 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
     @Autowired(required = true)
     private RelationshipMetadataService relationshipMetadataService;
 
+    @Autowired(required = true)
+    private VirtualMetadataCache virtualMetadataCache;
+
     @Autowired(required = true)
     private EntityTypeService entityTypeService;
 
@@ -356,6 +360,17 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound)
+        throws SQLException {
+        return itemDAO.findAllRegularItems(context, lowerBound, upperBound);
+    }
+
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findByIds(context, ids);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -647,6 +662,7 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
             + item.getID()));
 
         super.update(context, item);
+        virtualMetadataCache.markUncommittedChanges(context);
 
         // Set sequence IDs for bitstreams in Item. To guarantee uniqueness,
         // sequence IDs are assigned in sequential order (starting with 1)
@@ -1784,8 +1800,9 @@ prevent the generation of resource policy entry values with null dspace_object a
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
         // Build up list of matching values based on the cache
+        List<MetadataValue> candidates = item.getCachedMetadataIndex().getCandidates(schema, element, qualifier);
         List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
+        for (MetadataValue dcv : candidates != null ? candidates : item.getCachedMetadata()) {
             if (match(schema, element, qualifier, lang, dcv)) {
                 values.add(dcv);
             }
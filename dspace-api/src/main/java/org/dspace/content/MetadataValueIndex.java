@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of a list of metadata values by schema, element and qualifier, so that looking up the values of a field
+ * does not require to scan all the values of an object. The values of each field are kept in the order of the
+ * indexed list.
+ * <p>
+ * An index is only valid for the list it was built from, as long as that list is not modified, see
+ * {@link #isIndexOf(List)}.
+ */
+class MetadataValueIndex {
+
+    private final List<MetadataValue> source;
+    private final int size;
+
+    // values by schema.element.qualifier, with an empty qualifier for unqualified fields
+    private final Map<String, List<MetadataValue>> byField = new HashMap<>();
+    // values by schema.element, for all qualifiers
+    private final Map<String, List<MetadataValue>> byElement = new HashMap<>();
+    // false if some values have no schema, which match any schema name, so that all values have to be checked
+    private boolean usable = true;
+
+    MetadataValueIndex(List<MetadataValue> values) {
+        this.source = values;
+        this.size = values.size();
+        for (MetadataValue value : values) {
+            MetadataField field = value.getMetadataField();
+            if (field.getMetadataSchema() == null) {
+                usable = false;
+                byElement.clear();
+                byField.clear();
+                return;
+            }
+            String elementKey = field.getMetadataSchema().getName() + "." + field.getElement();
+            byElement.computeIfAbsent(elementKey, k -> new ArrayList<>()).add(value);
+            byField.computeIfAbsent(getFieldKey(elementKey, field.getQualifier()), k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    /**
+     * @param values a list of metadata values
+     * @return true if this index was built from the given list, and its size did not change since
+     */
+    boolean isIndexOf(List<MetadataValue> values) {
+        return values == source && values.size() == size;
+    }
+
+    /**
+     * Get the values which can match the given field. The language (and, for values which would have been changed
+     * since the index was built, the field) still has to be checked by the caller.
+     *
+     * @param schema    the schema name, or <code>Item.ANY</code>
+     * @param element   the element, or <code>Item.ANY</code>
+     * @param qualifier the qualifier, <code>Item.ANY</code>, or null or empty for unqualified values
+     * @return the candidate values in the order of the indexed list, or null if the index can not be used for
+     * wildcard schemas or elements, or for values without a schema, and all values have to be checked
+     */
+    List<MetadataValue> getCandidates(String schema, String element, String qualifier) {
+        if (!usable || Item.ANY.equals(schema) || Item.ANY.equals(element)) {
+            return null;
+        }
+        String elementKey = schema + "." + element;
+        List<MetadataValue> candidates;
+        if (Item.ANY.equals(qualifier)) {
+            candidates = byElement.get(elementKey);
+        } else {
+            candidates = byField.get(getFieldKey(elementKey, qualifier));
+        }
+        return candidates != null ? candidates : Collections.emptyList();
+    }
+
+    private String getFieldKey(String elementKey, String qualifier) {
+        return elementKey + "." + StringUtils.defaultString(qualifier);
+    }
+}
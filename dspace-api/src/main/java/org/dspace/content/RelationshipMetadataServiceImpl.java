@@ -12,10 +12,13 @@ import static org.dspace.content.RelationshipType.Tilted.RIGHT;
 
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -25,6 +28,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataFieldService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.content.virtual.VirtualMetadataCache;
 import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
@@ -53,11 +57,26 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
     @Autowired(required = true)
     protected MetadataFieldService metadataFieldService;
 
+    @Autowired(required = true)
+    protected VirtualMetadataCache virtualMetadataCache;
+
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
         Context context = new Context();
         List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
+        // Values computed in a transaction with uncommitted changes may depend on them, don't share them
+        boolean useCache = virtualMetadataCache.isEnabled() && !item.isMetadataModified()
+            && !virtualMetadataCache.hasUncommittedChanges();
+        long cacheGeneration = virtualMetadataCache.getGeneration();
+        Set<UUID> relatedItems = new HashSet<>();
         try {
+            if (useCache) {
+                List<RelationshipMetadataValue> cachedValues =
+                    virtualMetadataCache.get(context, item, enableVirtualMetadata);
+                if (cachedValues != null) {
+                    return cachedValues;
+                }
+            }
             EntityType entityType = itemService.getEntityType(context, item);
             if (entityType != null) {
                 // NOTE: The following code will add metadata fields of type relation.*.latestForDiscovery
@@ -78,9 +97,16 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
                     fullMetadataValueList
                         .addAll(findRelationshipMetadataValueForItemRelationship(context, item, entityType.getLabel(),
                                 relationship, enableVirtualMetadata));
+                    relatedItems.add(relationship.getLeftItem().getID());
+                    relatedItems.add(relationship.getRightItem().getID());
                 }
+                relatedItems.remove(item.getID());
 
             }
+            if (useCache) {
+                virtualMetadataCache.put(item, enableVirtualMetadata, fullMetadataValueList, relatedItems,
+                                         cacheGeneration);
+            }
         } catch (SQLException e) {
             log.error("Lookup for Relationships for item with uuid: " + item.getID() + " caused DSpace to crash", e);
         }
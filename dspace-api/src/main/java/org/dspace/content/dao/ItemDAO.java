@@ -48,6 +48,27 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID falls within the given range.
+     * The comparison is done by the database, so the bounds follow the database ordering of UUIDs.
+     * @param context the DSpace context.
+     * @param lowerBound the inclusive lower bound of the UUID range, or null for no lower bound.
+     * @param upperBound the exclusive upper bound of the UUID range, or null for no upper bound.
+     * @return iterator over all regular items within the range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound) throws SQLException;
+
+    /**
+     * Find the items with the given UUIDs in a single query, fetching their metadata along with them.
+     * UUIDs for which no item exists are ignored.
+     * @param context the DSpace context.
+     * @param ids the UUIDs of the items to find.
+     * @return the items found, in no particular order.
+     * @throws SQLException if database error.
+     */
+    List<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -59,6 +59,16 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
 
     }
 
+    @Override
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException {
+        Query query = createQuery(context, "select b from Bitstream b where b.deleted = true"
+            + (after != null ? " and b.id > :after" : "") + " order by b.id");
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        return list(query, limit, 0);
+    }
+
     @Override
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -153,6 +163,18 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
     }
 
+    @Override
+    public List<Bitstream> findByStoreNumber(Context context, Integer storeNumber, UUID after, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "select b from Bitstream b where b.storeNumber = :storeNumber"
+            + (after != null ? " and b.id > :after" : "") + " order by b.id");
+        query.setParameter("storeNumber", storeNumber);
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        return list(query, limit, 0);
+    }
+
     @Override
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException {
 
@@ -166,6 +166,22 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Retrieve a range of the contents of the bitstream, without reading the bytes before it when the asset store
+     * supports it
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return a stream from which the range can be read.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Determine if this bitstream is registered (available elsewhere on
      * filesystem than in assetstore). More about registered items:
@@ -185,6 +201,18 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
      */
     public List<Bitstream> findDeletedBitstreams(Context context, int limit, int offset) throws SQLException;
 
+    /**
+     * Retrieve a page of the bitstreams with the deleted flag set to true, in the order of their UUIDs. Unlike
+     * offset based pages, the pages do not shift when the bitstreams of the previous pages are expunged.
+     *
+     * @param context the dspace context
+     * @param after   the UUID after which the page starts, or null for the first page
+     * @param limit   the maximum number of bitstreams to return
+     * @return the "deleted" bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findDeletedBitstreams(Context context, UUID after, int limit) throws SQLException;
+
 
     /**
      * Remove a bitstream that has been set to "deleted" from the database
@@ -216,6 +244,19 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public Iterator<Bitstream> findByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Find a page of the bitstreams of an asset store, in the order of their UUIDs
+     *
+     * @param context     DSpace context object
+     * @param storeNumber the number of the asset store
+     * @param after       the UUID after which the page starts, or null for the first page
+     * @param limit       the maximum number of bitstreams to return
+     * @return the bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findByStoreNumber(Context context, Integer storeNumber, UUID after, int limit)
+        throws SQLException;
+
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
     int countTotal(Context context) throws SQLException;
@@ -140,6 +140,27 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID falls within the given range,
+     * as ordered by the database. Used to split the items over several workers.
+     * @param context the DSpace context.
+     * @param lowerBound the inclusive lower bound of the UUID range, or null for no lower bound.
+     * @param upperBound the exclusive upper bound of the UUID range, or null for no upper bound.
+     * @return iterator over all regular items within the range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound) throws SQLException;
+
+    /**
+     * Find the items with the given UUIDs using a single database query, rather than one query per item.
+     * The metadata of the items is loaded by the same query.
+     * @param context the DSpace context.
+     * @param ids the UUIDs of the items to find.
+     * @return the items found, in no particular order. UUIDs which do not match an item are ignored.
+     * @throws SQLException if database error.
+     */
+    List<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
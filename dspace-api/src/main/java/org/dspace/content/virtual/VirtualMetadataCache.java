@@ -0,0 +1,307 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
+import org.dspace.content.RelationshipMetadataValue;
+import org.dspace.content.service.MetadataFieldService;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM wide cache of the relationship metadata values computed by
+ * {@link org.dspace.content.RelationshipMetadataServiceImpl#getRelationshipMetadata(Item, boolean)}. The values are
+ * kept as plain data, and new {@link RelationshipMetadataValue} objects are built from them for every lookup, so that
+ * no database entity is shared between contexts.
+ * <p>
+ * For each item, the cache also records the related items its values were computed from. When an item is modified
+ * (see {@link VirtualMetadataCacheConsumer}), the values of the item itself and of all the items which depend on
+ * it, directly or through other cached items, are evicted.
+ * <p>
+ * Values are neither read from nor stored in the cache by a thread whose transaction has modified items which are not
+ * committed yet (see {@link #markUncommittedChanges(Context)}), as they could depend on these changes, which may
+ * still be rolled back.
+ * <p>
+ * Configuration:
+ * <ul>
+ * <li>relationship.virtual-metadata.cache.enabled: whether to use the cache (default false)</li>
+ * <li>relationship.virtual-metadata.cache.max-items: the maximum number of items to cache values for (default
+ * 10000)</li>
+ * <li>relationship.virtual-metadata.cache.expire-seconds: how long values may be reused (default 3600)</li>
+ * </ul>
+ */
+public class VirtualMetadataCache {
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected MetadataFieldService metadataFieldService;
+
+    private volatile Cache<Key, Entry> cache;
+
+    // the cached values which were computed from the metadata or relationships of each item
+    private final ConcurrentMap<UUID, Set<Key>> dependents = new ConcurrentHashMap<>();
+
+    // Incremented on every eviction, so that values computed before it are not stored afterwards
+    private final AtomicLong generation = new AtomicLong();
+
+    // the contexts of the current thread which have modified items in their current transaction
+    private final ThreadLocal<Set<Context>> uncommittedContexts =
+        ThreadLocal.withInitial(() -> Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>())));
+
+    /**
+     * @return true if the cache is enabled in the configuration
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("relationship.virtual-metadata.cache.enabled", false);
+    }
+
+    /**
+     * @return the current generation, to be passed on to {@link #put} once the values have been computed
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Record that the current transaction of a context has modified items, so that the current thread neither uses
+     * nor caches values until the transaction has been committed or rolled back
+     *
+     * @param context the DSpace context which modified items
+     */
+    public void markUncommittedChanges(Context context) {
+        if (!isEnabled()) {
+            return;
+        }
+        Set<Context> contexts = uncommittedContexts.get();
+        if (contexts.add(context)) {
+            context.runAfterTransaction(() -> contexts.remove(context));
+        }
+    }
+
+    /**
+     * @return true if a transaction of the current thread has modified items which are not committed yet
+     */
+    public boolean hasUncommittedChanges() {
+        return !uncommittedContexts.get().isEmpty();
+    }
+
+    /**
+     * Get the cached relationship metadata values of an item
+     *
+     * @param context               DSpace context, used to look up the metadata fields
+     * @param item                  the item
+     * @param enableVirtualMetadata whether the values include the configured virtual metadata
+     * @return new metadata values, or null if none are cached
+     * @throws SQLException if database error
+     */
+    public List<RelationshipMetadataValue> get(Context context, Item item, boolean enableVirtualMetadata)
+        throws SQLException {
+        Entry entry = getCache().getIfPresent(new Key(item.getID(), enableVirtualMetadata));
+        if (entry == null) {
+            return null;
+        }
+        List<RelationshipMetadataValue> values = new LinkedList<>();
+        for (CachedValue cachedValue : entry.values) {
+            MetadataField metadataField = metadataFieldService.find(context, cachedValue.metadataFieldId);
+            if (metadataField == null) {
+                // the registry changed, compute the values again
+                evict(item.getID());
+                return null;
+            }
+            values.add(cachedValue.toMetadataValue(metadataField, item));
+        }
+        return values;
+    }
+
+    /**
+     * Cache the relationship metadata values of an item, unless any item was evicted since the given generation
+     * was read
+     *
+     * @param item                  the item
+     * @param enableVirtualMetadata whether the values include the configured virtual metadata
+     * @param values                the values
+     * @param relatedItems          the UUIDs of the items the values were computed from
+     * @param generation            the value of {@link #getGeneration()} before the values were computed
+     */
+    public void put(Item item, boolean enableVirtualMetadata, List<RelationshipMetadataValue> values,
+                    Set<UUID> relatedItems, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        Key key = new Key(item.getID(), enableVirtualMetadata);
+        for (UUID relatedItem : relatedItems) {
+            dependents.computeIfAbsent(relatedItem, id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        List<CachedValue> cachedValues = values.stream().map(CachedValue::new).collect(Collectors.toList());
+        getCache().put(key, new Entry(cachedValues, relatedItems));
+    }
+
+    /**
+     * Evict the values of an item, and of all the items depending on it
+     *
+     * @param itemId the UUID of the modified item
+     */
+    public void evict(UUID itemId) {
+        generation.incrementAndGet();
+        Set<UUID> visited = new HashSet<>();
+        Deque<UUID> toEvict = new ArrayDeque<>();
+        toEvict.add(itemId);
+        while (!toEvict.isEmpty()) {
+            UUID id = toEvict.poll();
+            if (!visited.add(id)) {
+                continue;
+            }
+            getCache().invalidate(new Key(id, true));
+            getCache().invalidate(new Key(id, false));
+            for (Key dependent : dependents.getOrDefault(id, Collections.emptySet())) {
+                toEvict.add(dependent.itemId);
+            }
+        }
+    }
+
+    /**
+     * Remove all cached values
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        getCache().invalidateAll();
+        dependents.clear();
+    }
+
+    private void onRemoval(RemovalNotification<Key, Entry> notification) {
+        Key key = notification.getKey();
+        Entry entry = notification.getValue();
+        // when replaced, the dependencies of the new entry have already been registered and must be kept
+        if (key == null || entry == null || notification.getCause() == RemovalCause.REPLACED) {
+            return;
+        }
+        for (UUID relatedItem : entry.relatedItems) {
+            dependents.computeIfPresent(relatedItem, (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private Cache<Key, Entry> getCache() {
+        if (cache == null) {
+            synchronized (this) {
+                if (cache == null) {
+                    cache = CacheBuilder.newBuilder()
+                        .maximumSize(configurationService
+                                         .getLongProperty("relationship.virtual-metadata.cache.max-items", 10000))
+                        .expireAfterWrite(configurationService
+                                              .getLongProperty("relationship.virtual-metadata.cache.expire-seconds",
+                                                               3600), TimeUnit.SECONDS)
+                        .removalListener(this::onRemoval)
+                        .build();
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static class Key {
+        private final UUID itemId;
+        private final boolean enableVirtualMetadata;
+
+        Key(UUID itemId, boolean enableVirtualMetadata) {
+            this.itemId = itemId;
+            this.enableVirtualMetadata = enableVirtualMetadata;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return itemId.equals(other.itemId) && enableVirtualMetadata == other.enableVirtualMetadata;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(itemId, enableVirtualMetadata);
+        }
+    }
+
+    private static class Entry {
+        private final List<CachedValue> values;
+        private final Set<UUID> relatedItems;
+
+        Entry(List<CachedValue> values, Set<UUID> relatedItems) {
+            this.values = values;
+            this.relatedItems = relatedItems;
+        }
+    }
+
+    /**
+     * The state of a {@link RelationshipMetadataValue}, without any reference to database entities
+     */
+    private static class CachedValue {
+        private final int metadataFieldId;
+        private final String value;
+        private final String language;
+        private final String authority;
+        private final int confidence;
+        private final int place;
+        private final boolean useForPlace;
+        private final boolean linkedToItem;
+
+        CachedValue(RelationshipMetadataValue metadataValue) {
+            this.metadataFieldId = metadataValue.getMetadataField().getID();
+            this.value = metadataValue.getValue();
+            this.language = metadataValue.getLanguage();
+            this.authority = metadataValue.getAuthority();
+            this.confidence = metadataValue.getConfidence();
+            this.place = metadataValue.getPlace();
+            this.useForPlace = metadataValue.isUseForPlace();
+            this.linkedToItem = metadataValue.getDSpaceObject() != null;
+        }
+
+        RelationshipMetadataValue toMetadataValue(MetadataField metadataField, Item item) {
+            RelationshipMetadataValue metadataValue = new RelationshipMetadataValue();
+            metadataValue.setMetadataField(metadataField);
+            metadataValue.setValue(value);
+            metadataValue.setLanguage(language);
+            metadataValue.setAuthority(authority);
+            metadataValue.setConfidence(confidence);
+            metadataValue.setPlace(place);
+            metadataValue.setUseForPlace(useForPlace);
+            if (linkedToItem) {
+                metadataValue.setDSpaceObject(item);
+            }
+            return metadataValue;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.virtual;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * This consumer is used to evict modified items, and the items whose relationship metadata depends on them, from
+ * the {@link VirtualMetadataCache}. Changes to relationships are reported as metadata modifications of the items on
+ * both sides. The items are evicted again once the changes have been committed, as values may have been computed from
+ * the former state by other threads in the meantime.
+ */
+public class VirtualMetadataCacheConsumer implements Consumer {
+
+    private VirtualMetadataCache virtualMetadataCache;
+
+    // Collects modified items for removal from cache.
+    private final Set<UUID> toEvict = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        virtualMetadataCache = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(VirtualMetadataCache.class.getName(), VirtualMetadataCache.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (event.getSubjectType() == Constants.ITEM && virtualMetadataCache != null
+            && virtualMetadataCache.isEnabled()) {
+            toEvict.add(event.getSubjectID());
+            virtualMetadataCache.markUncommittedChanges(ctx);
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (toEvict.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = new HashSet<>(toEvict);
+        toEvict.clear();
+        evict(ids);
+        ctx.runAfterCommit(() -> evict(ids));
+    }
+
+    private void evict(Set<UUID> ids) {
+        for (UUID id : ids) {
+            virtualMetadataCache.evict(id);
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
@@ -109,6 +109,16 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Actions to run once the current transaction has been committed
+     */
+    private List<Runnable> afterCommitActions = null;
+
+    /**
+     * Actions to run once the current transaction has been committed or rolled back
+     */
+    private List<Runnable> afterTransactionActions = null;
+
     /**
      * Event dispatcher name
      */
@@ -447,6 +457,60 @@ public class Context implements AutoCloseable {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
                 reloadContextBoundEntities();
+                runAfterCommitActions();
+                runAfterTransactionActions();
+            }
+        }
+    }
+
+    /**
+     * Register an action to be run once the current transaction has been committed, e.g. by an event consumer
+     * which must evict a cache again after the changes it was notified of have become visible to other contexts.
+     * The action is discarded if the transaction is rolled back or the context is aborted.
+     *
+     * @param action the action to run after the commit
+     */
+    public void runAfterCommit(Runnable action) {
+        if (afterCommitActions == null) {
+            afterCommitActions = new ArrayList<>();
+        }
+        afterCommitActions.add(action);
+    }
+
+    /**
+     * Register an action to be run once the current transaction has ended, whether it has been committed or rolled
+     * back, or the context has been aborted, e.g. to forget that the transaction has uncommitted changes.
+     *
+     * @param action the action to run after the transaction
+     */
+    public void runAfterTransaction(Runnable action) {
+        if (afterTransactionActions == null) {
+            afterTransactionActions = new ArrayList<>();
+        }
+        afterTransactionActions.add(action);
+    }
+
+    private void runAfterCommitActions() {
+        List<Runnable> actions = afterCommitActions;
+        afterCommitActions = null;
+        runActions(actions);
+    }
+
+    private void runAfterTransactionActions() {
+        List<Runnable> actions = afterTransactionActions;
+        afterTransactionActions = null;
+        runActions(actions);
+    }
+
+    private void runActions(List<Runnable> actions) {
+        if (actions == null) {
+            return;
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Error running an action after the transaction", e);
             }
         }
     }
@@ -570,6 +634,8 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            afterCommitActions = null;
+            runAfterTransactionActions();
         }
     }
 
@@ -608,6 +674,8 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            afterCommitActions = null;
+            runAfterTransactionActions();
         }
     }
 
@@ -18,6 +18,7 @@ import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
 import org.dspace.curate.AbstractCurationTask;
+import org.dspace.curate.Concurrent;
 import org.dspace.curate.Curator;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -30,17 +31,14 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  * This link checker can be enhanced by extending this class, and overriding the
  * getURLs and checkURL methods.
  *
+ * The checker keeps no state between items, so that it may check the links of
+ * several items at the same time.
+ *
  * @author Stuart Lewis
  */
-
+@Concurrent
 public class BasicLinkChecker extends AbstractCurationTask {
 
-    // The status of the link checking of this item
-    private int status = Curator.CURATE_UNSET;
-
-    // The results of link checking this item
-    private List<String> results = null;
-
     // The log4j logger for this class
     private static Logger log = org.apache.logging.log4j.LogManager.getLogger(BasicLinkChecker.class);
 
@@ -61,7 +59,7 @@ public class BasicLinkChecker extends AbstractCurationTask {
         StringBuilder results = new StringBuilder();
 
         // Unless this is  an item, we'll skip this item
-        status = Curator.CURATE_SKIP;
+        int status = Curator.CURATE_SKIP;
         if (dso instanceof Item) {
             Item item = (Item) dso;
 
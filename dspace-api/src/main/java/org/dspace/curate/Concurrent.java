@@ -0,0 +1,26 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation type for CurationTasks. A task is concurrent if a single
+ * instance may perform on several objects at the same time, i.e. it keeps no
+ * per-object state in its fields. The Curator may then distribute the items of
+ * a collection among several threads (see {@link Curator#setThreads(int)}).
+ *
+ * The annotation is not inherited: a subclass must declare it again once it
+ * has been checked to be thread-safe as well.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Concurrent {
+}
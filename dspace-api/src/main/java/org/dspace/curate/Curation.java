@@ -36,6 +36,7 @@ import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
 /**
@@ -55,6 +56,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
     private String id;
     private String queue;
     private String scope;
+    private int threads;
     private String reporter;
     private Map<String, String> parameters;
     private boolean verbose;
@@ -199,6 +201,7 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
             Curator.TxScope txScope = Curator.TxScope.valueOf(this.scope.toUpperCase());
             curator.setTransactionScope(txScope);
         }
+        curator.setThreads(this.threads);
 
         curator.addParameters(parameters);
         // we are operating in batch mode, if anyone cares.
@@ -317,6 +320,24 @@ public class Curation extends DSpaceRunnable<CurationScriptConfiguration> {
                     "'open' recognized");
             }
         }
+
+        // threads
+        this.threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                            .getIntProperty("curate.threads", 1);
+        if (this.commandLine.hasOption('n')) {
+            try {
+                this.threads = Integer.parseInt(this.commandLine.getOptionValue('n'));
+            } catch (NumberFormatException e) {
+                this.threads = 0;
+            }
+            if (this.threads < 1) {
+                this.handler.logError("Bad number of threads '" + this.commandLine.getOptionValue('n')
+                        + "': a positive integer is expected");
+                throw new IllegalArgumentException(
+                    "Bad number of threads '" + this.commandLine.getOptionValue('n')
+                        + "': a positive integer is expected");
+            }
+        }
     }
 
     /**
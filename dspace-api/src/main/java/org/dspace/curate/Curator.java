@@ -16,7 +16,16 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
@@ -30,6 +39,9 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
@@ -90,8 +102,10 @@ public class Curator {
     protected Invoked iMode = null;
     protected TaskResolver resolver = new TaskResolver();
     protected TxScope txScope = TxScope.OPEN;
+    protected int threads = 1;
     protected CommunityService communityService;
     protected ItemService itemService;
+    protected EPersonService ePersonService;
     protected HandleService handleService;
     protected DSpaceRunnableHandler handler;
 
@@ -111,6 +125,7 @@ public class Curator {
     public Curator() {
         communityService = ContentServiceFactory.getInstance().getCommunityService();
         itemService = ContentServiceFactory.getInstance().getItemService();
+        ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
         handleService = HandleServiceFactory.getInstance().getHandleService();
         resolver = new TaskResolver();
     }
@@ -228,6 +243,23 @@ public class Curator {
         return this;
     }
 
+    /**
+     * Sets the number of threads among which the items of a collection are
+     * distributed. Only tasks annotated as {@link Concurrent} are run this
+     * way, every other task performs on one item after the other. Each thread
+     * curates its items in its own Context, committed after every item, so a
+     * scope of 'curation' cannot be honoured and the items are then curated
+     * serially as well. The default is a single thread.
+     *
+     * @param threads number of threads, a value lower than 2 disables the
+     *                concurrent performance
+     * @return return self (Curator instance) with the number of threads set
+     */
+    public Curator setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
     /**
      * Performs all configured tasks upon object identified by id. If
      * the object can be resolved as a handle, the DSO will be the
@@ -350,7 +382,7 @@ public class Curator {
      *
      * @param message the message to output to the reporting stream.
      */
-    public void report(String message) {
+    public synchronized void report(String message) {
         if (null == reporter) {
             logWarning("report called with no Reporter set:  {}", message);
             return;
@@ -514,6 +546,9 @@ public class Curator {
             }
             Context context = curationContext();
             Iterator<Item> iter = itemService.findByCollection(context, coll);
+            if (threads > 1 && tr.task.isConcurrent() && !txScope.equals(TxScope.CURATION)) {
+                return doItems(tr, context, iter);
+            }
             while (iter.hasNext()) {
                 Item item = iter.next();
                 boolean shouldContinue = tr.run(item);
@@ -528,6 +563,128 @@ public class Curator {
         return true;
     }
 
+    /**
+     * Run a {@link Concurrent} task for the given items in a pool of threads.
+     * The items are fed to the threads by the calling one, which keeps
+     * iterating in the curation Context. Each thread curates the items in its
+     * own Context, acting on behalf of the same user, and commits it after
+     * every item.
+     *
+     * @param tr      TaskRunner
+     * @param context the curation Context
+     * @param items   the items to curate
+     * @return true if successful, false otherwise
+     * @throws IOException if IO error
+     */
+    protected boolean doItems(TaskRunner tr, Context context, Iterator<Item> items) throws IOException {
+        BlockingQueue<UUID> itemIds = new ArrayBlockingQueue<>(threads * 10);
+        AtomicBoolean fed = new AtomicBoolean(false);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+            new ThreadFactoryBuilder().setNameFormat("curation-" + tr.task.getName() + "-%d").build());
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        curateItems(tr, context, itemIds, fed, stopped);
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                        stopped.set(true);
+                    }
+                });
+            }
+            while (items.hasNext() && !stopped.get()) {
+                Item item = items.next();
+                UUID itemId = item.getID();
+                context.uncacheEntity(item);
+                while (!stopped.get() && !itemIds.offer(itemId, 1, TimeUnit.SECONDS)) {
+                    // wait for a thread to take an item
+                }
+            }
+        } catch (SQLException sqlE) {
+            stopped.set(true);
+            throw new IOException(sqlE.getMessage(), sqlE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped.set(true);
+        } finally {
+            fed.set(true);
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.debug("Waiting for the curation of the remaining items");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+        if (failure.get() != null) {
+            Exception e = failure.get();
+            throw (e instanceof IOException) ? (IOException) e : new IOException(e.getMessage(), e);
+        }
+        return !stopped.get();
+    }
+
+    /**
+     * Curate the items taken from the queue, until it has been drained or the
+     * curation has been stopped, in a Context of the current thread.
+     *
+     * @param tr      TaskRunner
+     * @param context the curation Context, to copy the user from
+     * @param itemIds the queue of items
+     * @param fed     set once all the items have been queued
+     * @param stopped set to stop the curation, set by this method when the task
+     *                asks to suspend
+     * @throws Exception if the items could not be curated
+     */
+    protected void curateItems(TaskRunner tr, Context context, BlockingQueue<UUID> itemIds,
+                               AtomicBoolean fed, AtomicBoolean stopped) throws Exception {
+        Context itemContext = new Context(context.getCurrentMode());
+        try {
+            EPerson currentUser = context.getCurrentUser();
+            if (currentUser != null) {
+                itemContext.setCurrentUser(ePersonService.find(itemContext, currentUser.getID()));
+            }
+            for (UUID groupId : context.getSpecialGroupUuids()) {
+                itemContext.setSpecialGroup(groupId);
+            }
+            if (context.ignoreAuthorization()) {
+                itemContext.turnOffAuthorisationSystem();
+            }
+            curationCtx.set(itemContext);
+            while (!stopped.get()) {
+                UUID itemId = itemIds.poll(1, TimeUnit.SECONDS);
+                if (itemId == null) {
+                    if (fed.get() && itemIds.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                Item item = itemService.find(itemContext, itemId);
+                if (item == null) {
+                    // deleted since it has been queued
+                    continue;
+                }
+                boolean shouldContinue = tr.run(item);
+                if (!itemContext.isReadOnly()) {
+                    itemContext.commit();
+                }
+                itemContext.uncacheEntity(item);
+                if (!shouldContinue) {
+                    stopped.set(true);
+                }
+            }
+            itemContext.complete();
+        } finally {
+            curationCtx.remove();
+            if (itemContext.isValid()) {
+                itemContext.abort();
+            }
+        }
+    }
+
     /**
      * Record a 'visit' to a DSpace object and enforce any policies set
      * on this curator.
@@ -546,8 +703,10 @@ public class Curator {
 
     protected class TaskRunner {
         ResolvedTask task = null;
-        int statusCode = CURATE_UNSET;
-        String result = null;
+        volatile int statusCode = CURATE_UNSET;
+        volatile String result = null;
+        // result set by the task on the current thread, see doItems
+        final ThreadLocal<String> threadResult = new ThreadLocal<>();
 
         public TaskRunner(ResolvedTask task) {
             this.task = task;
@@ -558,11 +717,12 @@ public class Curator {
                 if (dso == null) {
                     throw new IOException("DSpaceObject is null");
                 }
-                statusCode = task.perform(dso);
+                int code = task.perform(dso);
+                statusCode = code;
                 String id = (dso.getHandle() != null) ? dso.getHandle() : "workflow item: " + dso.getID();
-                logInfo(logMessage(id));
+                logInfo(logMessage(id, code));
                 visit(dso);
-                return !suspend(statusCode);
+                return !suspend(code);
             } catch (IOException ioe) {
                 //log error & pass exception upwards
                 System.out.println("Error executing curation task '" + task.getName() + "'; " + ioe);
@@ -575,10 +735,11 @@ public class Curator {
                 if (c == null || id == null) {
                     throw new IOException("Context or identifier is null");
                 }
-                statusCode = task.perform(c, id);
-                logInfo(logMessage(id));
+                int code = task.perform(c, id);
+                statusCode = code;
+                logInfo(logMessage(id, code));
                 visit(null);
-                return !suspend(statusCode);
+                return !suspend(code);
             } catch (IOException ioe) {
                 //log error & pass exception upwards
                 System.out.println("Error executing curation task '" + task.getName() + "'; " + ioe);
@@ -588,6 +749,7 @@ public class Curator {
 
         public void setResult(String result) {
             this.result = result;
+            threadResult.set(result);
         }
 
         protected boolean suspend(int code) {
@@ -605,16 +767,18 @@ public class Curator {
         /**
          * Builds a useful log message for a curation task.
          *
-         * @param id ID of DSpace Object
+         * @param id   ID of DSpace Object
+         * @param code status code of the performance
          * @return log message text
          */
-        protected String logMessage(String id) {
+        protected String logMessage(String id, int code) {
+            String taskResult = threadResult.get();
             StringBuilder mb = new StringBuilder();
             mb.append("Curation task: ").append(task.getName()).
                 append(" performed on: ").append(id).
-                  append(" with status: ").append(statusCode);
-            if (result != null) {
-                mb.append(". Result: '").append(result).append("'");
+                  append(" with status: ").append(code);
+            if (taskResult != null) {
+                mb.append(". Result: '").append(taskResult).append("'");
             }
             return mb.toString();
         }
@@ -628,7 +792,9 @@ public class Curator {
             if (handler == null) {
                 log.info(message);
             } else {
-                handler.logInfo(message);
+                synchronized (handler) {
+                    handler.logInfo(message);
+                }
             }
         }
 
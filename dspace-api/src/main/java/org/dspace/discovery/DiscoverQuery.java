@@ -72,6 +72,12 @@ public class DiscoverQuery {
 
     private String discoveryConfigurationName;
 
+    /**
+     * Whether items may be returned as projections of their stored solr fields instead of being loaded from the
+     * database
+     **/
+    private boolean indexProjection = false;
+
     public DiscoverQuery() {
         //Initialize all our lists
         this.filterQueries = new ArrayList<>();
@@ -335,6 +341,21 @@ public class DiscoverQuery {
         this.spellCheck = spellCheck;
     }
 
+    public boolean isIndexProjection() {
+        return indexProjection;
+    }
+
+    /**
+     * Allow the items in the result to be built from the fields stored in the search core, rather than loaded
+     * from the database (see {@link org.dspace.discovery.indexobject.IndexableItemProjection}). Only documents
+     * which may be stale are still resolved using the database.
+     *
+     * @param indexProjection whether to return projections of the items in the result
+     */
+    public void setIndexProjection(boolean indexProjection) {
+        this.indexProjection = indexProjection;
+    }
+
     public void addYearRangeFacet(DiscoverySearchFilterFacet facet, FacetYearRange facetYearRange) {
         if (facetYearRange.isValid()) {
 
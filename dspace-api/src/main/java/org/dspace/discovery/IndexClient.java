@@ -7,7 +7,9 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.BATCH_SIZE_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
+import static org.dspace.discovery.IndexClientOptions.WORKERS_OPTION;
 
 import java.io.IOException;
 import java.sql.SQLException;
@@ -45,6 +47,8 @@ import org.dspace.utils.DSpace;
  */
 public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguration> {
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
     private Context context;
     private IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
             .getServiceByName(IndexingService.class.getName(), IndexingService.class);
@@ -69,6 +73,19 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        int workers = 0;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        try {
+            if (commandLine.hasOption(WORKERS_OPTION)) {
+                workers = Integer.parseInt(commandLine.getOptionValue(WORKERS_OPTION));
+            }
+            if (commandLine.hasOption(BATCH_SIZE_OPTION)) {
+                batchSize = Integer.parseInt(commandLine.getOptionValue(BATCH_SIZE_OPTION));
+            }
+        } catch (NumberFormatException e) {
+            handler.handleException("The number of workers and the batch size must be numeric", e);
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -103,7 +120,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (workers > 0) {
+                    updateIndex(true, null, workers, batchSize);
+                } else {
+                    indexer.createIndex(context);
+                }
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -115,6 +136,15 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case SPELLCHECK:
                 checkRebuildSpellCheck(commandLine, indexer);
                 break;
+            case PROCESSQUEUE:
+                handler.logInfo("Processing the indexing queue");
+                IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                    .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+                context.setMode(Context.Mode.READ_WRITE);
+                final int processed = indexQueueService.flush(context);
+                context.complete();
+                handler.logInfo("Processed " + processed + " queued change" + (processed != 1 ? "s" : ""));
+                break;
             case INDEX:
                 handler.logInfo("Indexing " + commandLine.getOptionValue('i') + " force " + commandLine.hasOption("f"));
                 final long startTimeMillis = Instant.now().toEpochMilli();
@@ -127,7 +157,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case UPDATE:
             case UPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, false, type);
+                if (workers > 0) {
+                    updateIndex(false, type, workers, batchSize);
+                } else {
+                    indexer.updateIndex(context, false, type);
+                }
                 if (indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -135,7 +169,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case FORCEUPDATE:
             case FORCEUPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, true, type);
+                if (workers > 0) {
+                    updateIndex(true, type, workers, batchSize);
+                } else {
+                    indexer.updateIndex(context, true, type);
+                }
                 if (indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -254,6 +292,23 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         return count;
     }
 
+    /**
+     * Update the index using the given number of concurrent workers and report how long it took.
+     *
+     * @param force     whether or not to force the reindexing
+     * @param type      the type of indexable objects to update, or null for all types
+     * @param workers   the number of concurrent workers
+     * @param batchSize the number of documents sent to the index per request
+     * @throws SearchServiceException if a partition could not be indexed
+     */
+    private void updateIndex(boolean force, String type, int workers, int batchSize) throws SearchServiceException {
+        handler.logInfo("Using " + workers + " workers with a batch size of " + batchSize);
+        final long startTimeMillis = Instant.now().toEpochMilli();
+        indexer.updateIndex(context, force, type, workers, batchSize);
+        final long seconds = (Instant.now().toEpochMilli() - startTimeMillis) / 1000;
+        handler.logInfo("Updated index in " + seconds + " seconds");
+    }
+
     /**
      * Check the command line options and rebuild the spell check if active.
      *
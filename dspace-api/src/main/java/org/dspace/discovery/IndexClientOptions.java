@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 
@@ -32,9 +33,12 @@ public enum IndexClientOptions {
     FORCEUPDATE,
     UPDATEANDSPELLCHECK,
     FORCEUPDATEANDSPELLCHECK,
+    PROCESSQUEUE,
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String WORKERS_OPTION = "w";
+    public static final String BATCH_SIZE_OPTION = "batch-size";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -63,6 +67,8 @@ public enum IndexClientOptions {
             return IndexClientOptions.SPELLCHECK;
         } else if (commandLine.hasOption("i")) {
             return IndexClientOptions.INDEX;
+        } else if (commandLine.hasOption("q")) {
+            return IndexClientOptions.PROCESSQUEUE;
         } else {
             if (commandLine.hasOption("f") && commandLine.hasOption("s")) {
                 return IndexClientOptions.FORCEUPDATEANDSPELLCHECK;
@@ -95,6 +101,15 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if up-to-date");
+        options.addOption("q", "queue", false,
+                          "process all pending changes of the asynchronous indexing queue");
+        options.addOption(WORKERS_OPTION, "workers", true,
+                          "number of concurrent workers used when (re)building or updating the index, each one"
+                              + " indexing its own range of objects");
+        options.addOption(Option.builder().longOpt(BATCH_SIZE_OPTION).hasArg()
+                                .desc("number of documents sent to the index per request when using workers"
+                                          + " (defaults to 100)")
+                                .build());
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
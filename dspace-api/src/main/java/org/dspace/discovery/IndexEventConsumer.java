@@ -50,6 +50,10 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                               .getServiceByName(IndexQueueService.class.getName(),
+                                                                                 IndexQueueService.class);
+
     @Override
     public void initialize() throws Exception {
 
@@ -210,6 +214,11 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (indexQueueService.isAsynchronous()) {
+            enqueue(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
@@ -248,6 +257,32 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Write the sets of objects to update and delete to the asynchronous indexing queue, as part of the
+     * transaction which is being committed.
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        try {
+            for (String uid : uniqueIdsToDelete) {
+                indexQueueService.enqueue(ctx, uid, IndexQueueEntry.Action.DELETE);
+            }
+            for (IndexableObject iu : objectsToUpdate) {
+                if (iu.getUniqueIndexID() != null) {
+                    indexQueueService.enqueue(ctx, iu.getUniqueIndexID(), IndexQueueEntry.Action.INDEX);
+                }
+            }
+            for (IndexableObject iu : createdItemsToUpdate) {
+                if (iu.getUniqueIndexID() != null) {
+                    indexQueueService.enqueue(ctx, iu.getUniqueIndexID(), IndexQueueEntry.Action.INDEX_PREDB);
+                }
+            }
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
@@ -0,0 +1,115 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record of the asynchronous Discovery indexing queue (outbox). Records are written by the
+ * {@link IndexEventConsumer} in the same transaction as the change which triggered them, and are processed in
+ * batches by the {@link IndexQueueService}.
+ */
+@Entity
+@Table(name = "index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    /**
+     * The operation to be performed on the index for a queued object.
+     */
+    public enum Action {
+        /**
+         * (Re)index the object, or remove it from the index when it no longer exists.
+         */
+        INDEX,
+        /**
+         * (Re)index the object with a "preDB" status (only applicable to Items).
+         */
+        INDEX_PREDB,
+        /**
+         * Remove the object from the index.
+         */
+        DELETE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "index_queue_id_seq")
+    @SequenceGenerator(name = "index_queue_id_seq", sequenceName = "index_queue_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The unique index ID ({type}-{identifier}) of the object.
+     */
+    @Column(name = "unique_id", nullable = false)
+    private String uniqueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private Action action;
+
+    @Column(name = "queue_date", nullable = false)
+    private Instant queueDate;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link IndexQueueService#enqueue(org.dspace.core.Context, String, Action)}
+     */
+    protected IndexQueueEntry() {
+    }
+
+    protected IndexQueueEntry(String uniqueId, Action action) {
+        this.uniqueId = uniqueId;
+        this.action = action;
+        this.queueDate = Instant.now();
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Instant getQueueDate() {
+        return queueDate;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IndexQueueEntry other = (IndexQueueEntry) obj;
+        return Objects.equals(id, other.id);
+    }
+}
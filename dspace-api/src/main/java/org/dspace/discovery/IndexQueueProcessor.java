@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Scheduled task processing the asynchronous Discovery indexing queue, see {@link IndexQueueService}.
+ * Nothing is done when asynchronous indexing is disabled.
+ */
+public class IndexQueueProcessor {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueProcessor.class);
+
+    /**
+     * Default constructor
+     */
+    private IndexQueueProcessor() {
+    }
+
+    /**
+     * Process all pending records of the indexing queue using a new Context.
+     *
+     * @return the number of processed queue records
+     * @throws SQLException if database error
+     * @throws SearchServiceException if the index could not be committed
+     */
+    public static int processQueue() throws SQLException, SearchServiceException {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        if (!indexQueueService.isAsynchronous()) {
+            return 0;
+        }
+        Context context = new Context(Context.Mode.READ_WRITE);
+        context.turnOffAuthorisationSystem();
+        try {
+            int processed = indexQueueService.flush(context);
+            if (processed > 0) {
+                log.info("Processed {} index queue records", processed);
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+            return processed;
+        } catch (SQLException | SearchServiceException | RuntimeException e) {
+            context.abort();
+            log.error("Failed to process the index queue", e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+
+/**
+ * Service interface class for the asynchronous Discovery indexing queue. When asynchronous indexing is enabled
+ * (see the "discovery.index.async" configuration property) the {@link IndexEventConsumer} doesn't index the objects
+ * touched by a transaction itself, but writes them to a database backed queue as part of that same transaction.
+ * The queue is processed in batches in the background, coalescing repeated updates of the same object.
+ */
+public interface IndexQueueService {
+
+    /**
+     * @return true if the index should be updated asynchronously through the queue
+     */
+    boolean isAsynchronous();
+
+    /**
+     * Add an object to the queue. The record is stored as part of the current transaction of the given context.
+     *
+     * @param context       DSpace context object
+     * @param uniqueIndexId the unique index ID of the object
+     * @param action        the operation to be performed on the index
+     * @return              the created queue record
+     * @throws SQLException if database error
+     */
+    IndexQueueEntry enqueue(Context context, String uniqueIndexId, IndexQueueEntry.Action action)
+        throws SQLException;
+
+    /**
+     * Process a single batch of the oldest queue records. All records of the batch which refer to the same object
+     * are coalesced into a single update of that object. The processed records are removed from the queue, the
+     * caller is responsible for committing the context. The operations which failed, e.g. because the search core
+     * is unavailable, are queued again behind the other records so that they are retried by a later run.
+     *
+     * @param context       DSpace context object
+     * @param limit         the maximum number of queue records to process
+     * @return              the number of queue records which were processed successfully
+     * @throws SQLException if database error
+     * @throws SearchServiceException if the index could not be committed
+     */
+    int processQueue(Context context, int limit) throws SQLException, SearchServiceException;
+
+    /**
+     * Process the queue until it is empty, committing the given context after each batch. This can be used to
+     * force pending changes into the index, e.g. in tests or before reading back what was just written.
+     *
+     * @param context       DSpace context object, must not be read-only
+     * @return              the number of processed queue records
+     * @throws SQLException if database error
+     * @throws SearchServiceException if the index could not be committed
+     */
+    int flush(Context context) throws SQLException, SearchServiceException;
+
+    /**
+     * Count the records waiting in the queue.
+     *
+     * @param context       DSpace context object
+     * @return              the number of queued records
+     * @throws SQLException if database error
+     */
+    long countPending(Context context) throws SQLException;
+}
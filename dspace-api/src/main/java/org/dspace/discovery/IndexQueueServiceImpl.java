@@ -0,0 +1,215 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry.Action;
+import org.dspace.discovery.dao.IndexQueueEntryDAO;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.ItemIndexFactoryImpl;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueServiceImpl.class);
+
+    @Autowired
+    protected IndexQueueEntryDAO indexQueueEntryDAO;
+    @Autowired
+    protected IndexingService indexingService;
+    @Autowired
+    protected IndexObjectFactoryFactory indexObjectFactoryFactory;
+    @Autowired
+    protected ConfigurationService configurationService;
+    @Autowired
+    protected SolrSearchCore solrSearchCore;
+
+    protected IndexQueueServiceImpl() {
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return configurationService.getBooleanProperty("discovery.index.async", false);
+    }
+
+    @Override
+    public IndexQueueEntry enqueue(Context context, String uniqueIndexId, Action action) throws SQLException {
+        return indexQueueEntryDAO.create(context, new IndexQueueEntry(uniqueIndexId, action));
+    }
+
+    @Override
+    public int processQueue(Context context, int limit) throws SQLException, SearchServiceException {
+        // Claim the oldest records, and the other records of the same objects, which are all coalesced. The
+        // records claimed by a concurrent process (e.g. another node, or the command line) are skipped.
+        List<IndexQueueEntry> entries = indexQueueEntryDAO.findOldest(context, limit);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Set<IndexQueueEntry> claimed = new LinkedHashSet<>(entries);
+        claimed.addAll(indexQueueEntryDAO.findByUniqueIds(context, entries.stream()
+                                                                          .map(IndexQueueEntry::getUniqueId)
+                                                                          .collect(Collectors.toSet())));
+        entries = new ArrayList<>(claimed);
+
+        // Coalesce all the records of the same object, keeping the order in which the objects were first queued
+        Map<String, Set<Action>> actions = new LinkedHashMap<>();
+        for (IndexQueueEntry entry : entries) {
+            actions.computeIfAbsent(entry.getUniqueId(), uniqueId -> EnumSet.noneOf(Action.class))
+                   .add(entry.getAction());
+        }
+
+        // Same order of operations as the synchronous IndexEventConsumer: remove, update, then pre-db updates
+        Map<String, Set<Action>> failed = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<Action>> objectActions : actions.entrySet()) {
+            if (objectActions.getValue().contains(Action.DELETE) && !unIndex(objectActions.getKey())) {
+                failed.computeIfAbsent(objectActions.getKey(), uniqueId -> EnumSet.noneOf(Action.class))
+                      .add(Action.DELETE);
+            }
+        }
+        for (Map.Entry<String, Set<Action>> objectActions : actions.entrySet()) {
+            if (objectActions.getValue().contains(Action.INDEX) && !index(context, objectActions.getKey(), false)) {
+                failed.computeIfAbsent(objectActions.getKey(), uniqueId -> EnumSet.noneOf(Action.class))
+                      .add(Action.INDEX);
+            }
+        }
+        for (Map.Entry<String, Set<Action>> objectActions : actions.entrySet()) {
+            if (objectActions.getValue().contains(Action.INDEX_PREDB)
+                && !index(context, objectActions.getKey(), true)) {
+                failed.computeIfAbsent(objectActions.getKey(), uniqueId -> EnumSet.noneOf(Action.class))
+                      .add(Action.INDEX_PREDB);
+            }
+        }
+        indexingService.commit();
+
+        indexQueueEntryDAO.deleteByIds(context, entries.stream()
+                                                       .map(IndexQueueEntry::getID)
+                                                       .collect(Collectors.toList()));
+        // Queue the failed operations again, behind the other records, so that they are retried by a later run
+        for (Map.Entry<String, Set<Action>> objectActions : failed.entrySet()) {
+            for (Action action : objectActions.getValue()) {
+                enqueue(context, objectActions.getKey(), action);
+            }
+        }
+        long failedRecords = entries.stream()
+                                    .filter(entry -> failed.getOrDefault(entry.getUniqueId(), Set.of())
+                                                           .contains(entry.getAction()))
+                                    .count();
+        if (!failed.isEmpty()) {
+            log.warn("{} objects could not be updated in the index and have been queued again", failed.size());
+        }
+        log.debug("Processed {} index queue records for {} objects", entries.size(), actions.size());
+        return entries.size() - (int) failedRecords;
+    }
+
+    @Override
+    public int flush(Context context) throws SQLException, SearchServiceException {
+        int batchSize = configurationService.getIntProperty("discovery.index.queue.batch-size", 500);
+        int processed = 0;
+        int batch;
+        do {
+            batch = processQueue(context, batchSize);
+            context.commit();
+            processed += batch;
+        } while (batch > 0);
+        return processed;
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return indexQueueEntryDAO.countAll(context);
+    }
+
+    /**
+     * Remove an object from the index. The index factory is used directly, unlike the IndexingService which only
+     * logs the errors, so that the failures can be retried.
+     *
+     * @param uniqueIndexId the unique index ID of the object
+     * @return false if the object could not be removed from the index
+     */
+    private boolean unIndex(String uniqueIndexId) {
+        try {
+            IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueIndexId);
+            if (indexFactory == null) {
+                log.warn("No index factory found for queued object: " + uniqueIndexId);
+                return true;
+            }
+            indexFactory.delete(uniqueIndexId);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed while UN-indexing object: " + uniqueIndexId, e);
+            return false;
+        }
+    }
+
+    /**
+     * (Re)index an object, or remove it from the index if it no longer exists. The complete document is built by
+     * the index factory and written here, unlike the IndexingService and the index factories which only log the
+     * errors, so that the failures can be retried.
+     *
+     * @param context       DSpace context object
+     * @param uniqueIndexId the unique index ID of the object
+     * @param preDb         whether the object must be indexed with a "preDB" status
+     * @return false if the object could not be written to the index
+     */
+    @SuppressWarnings("unchecked")
+    private boolean index(Context context, String uniqueIndexId, boolean preDb) {
+        try {
+            IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueIndexId);
+            if (indexFactory == null) {
+                log.warn("No index factory found for queued object: " + uniqueIndexId);
+                return true;
+            }
+            // The unique identifier of an IndexableObject will always be {type}-{identifier}
+            Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context,
+                StringUtils.substringAfter(uniqueIndexId, "-"));
+            if (indexableObject.isPresent()) {
+                SolrInputDocument document = indexFactory.buildCompleteDocument(context, indexableObject.get());
+                if (preDb && indexableObject.get() instanceof IndexableItem) {
+                    // like ItemIndexFactoryImpl.buildNewDocument
+                    document.setField(ItemIndexFactoryImpl.STATUS_FIELD, ItemIndexFactoryImpl.STATUS_FIELD_PREDB);
+                }
+                SolrClient solr = solrSearchCore.getSolr();
+                if (solr == null) {
+                    log.error("The search core is unavailable, object not indexed: " + uniqueIndexId);
+                    return false;
+                }
+                solr.add(document);
+                context.uncacheEntity(indexableObject.get().getIndexedObject());
+            } else {
+                // The object was deleted after it was queued
+                indexFactory.delete(uniqueIndexId);
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Failed while indexing object: " + uniqueIndexId, e);
+            return false;
+        }
+    }
+}
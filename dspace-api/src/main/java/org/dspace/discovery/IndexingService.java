@@ -66,6 +66,21 @@ public interface IndexingService {
 
     void updateIndex(Context context, boolean force, String type);
 
+    /**
+     * Update the index using several concurrent workers. The objects of every indexable type are split up into
+     * partitions (items by UUID range), each of which is indexed by a worker using its own read-only Context.
+     * Documents are sent to the search core in batches and committed once at the end. If a partition could not be
+     * indexed, the final commit is skipped and an exception is thrown, so that the run fails.
+     * @param context   The DSpace Context, only used to resolve what needs to be indexed
+     * @param force     Force update even if not stale
+     * @param type      The type of indexable objects to update, or null for all types
+     * @param workers   The number of concurrent workers
+     * @param batchSize The number of documents sent to the search core per request
+     * @throws SearchServiceException if a partition could not be indexed
+     */
+    void updateIndex(Context context, boolean force, String type, int workers, int batchSize)
+        throws SearchServiceException;
+
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
     void deleteIndex();
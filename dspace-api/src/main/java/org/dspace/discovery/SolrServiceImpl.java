@@ -26,6 +26,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
@@ -70,6 +75,7 @@ import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
@@ -107,6 +113,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     // facet by indexing "each word to end of value' partial value
     public static final String SOLR_FIELD_SUFFIX_FACET_PREFIXES = "_prefix";
 
+    // Number of UUID ranges assigned to each worker of a parallel reindex, more ranges spread the load more evenly
+    private static final int PARTITIONS_PER_WORKER = 4;
+
     @Autowired
     protected ContentServiceFactory contentServiceFactory;
     @Autowired
@@ -342,10 +351,28 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
-                    while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
+                    if (force) {
+                        while (indexableObjects.hasNext()) {
+                            final IndexableObject indexableObject = indexableObjects.next();
+                            indexContent(context, indexableObject, true);
+                            context.uncacheEntity(indexableObject.getIndexedObject());
+                        }
+                    } else {
+                        // Check the staleness of a whole page of objects with a single Solr request
+                        final int pageSize = getStalenessCheckBatchSize();
+                        final List<IndexableObject> page = new ArrayList<>(pageSize);
+                        while (indexableObjects.hasNext()) {
+                            page.add(indexableObjects.next());
+                            if (page.size() >= pageSize || !indexableObjects.hasNext()) {
+                                for (IndexableObject indexableObject : findObjectsRequiringIndexing(page)) {
+                                    indexContent(context, indexableObject, true);
+                                }
+                                for (IndexableObject indexableObject : page) {
+                                    context.uncacheEntity(indexableObject.getIndexedObject());
+                                }
+                                page.clear();
+                            }
+                        }
                     }
                 }
             }
@@ -353,11 +380,170 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 solrSearchCore.getSolr().commit();
             }
 
-        } catch (IOException | SQLException | SolrServerException e) {
+        } catch (IOException | SQLException | SolrServerException | SearchServiceException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, String type, int workers, int batchSize)
+        throws SearchServiceException {
+        try {
+            if (solrSearchCore.getSolr() == null) {
+                return;
+            }
+            final int poolSize = Math.max(1, workers);
+            final int documentsPerBatch = Math.max(1, batchSize);
+            List<IndexPartitionWorker> partitions = new ArrayList<>();
+            for (IndexFactory indexableObjectService : indexObjectServiceFactory.getIndexFactories()) {
+                if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                    if (indexableObjectService instanceof ItemIndexFactory) {
+                        List<UUID> bounds = getPartitionBounds(poolSize * PARTITIONS_PER_WORKER);
+                        for (int i = 0; i < bounds.size(); i++) {
+                            UUID upperBound = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+                            partitions.add(new IndexPartitionWorker(indexableObjectService, bounds.get(i),
+                                                                    upperBound, force, documentsPerBatch));
+                        }
+                    } else {
+                        partitions.add(new IndexPartitionWorker(indexableObjectService, null, null, force,
+                                                                documentsPerBatch));
+                    }
+                }
+            }
+
+            log.info("Indexing {} partitions using {} workers", partitions.size(), poolSize);
+            long indexed = 0;
+            int failed = 0;
+            ExecutorService executorService = Executors.newFixedThreadPool(poolSize);
+            try {
+                for (Future<Long> result : executorService.invokeAll(partitions)) {
+                    try {
+                        indexed += result.get();
+                    } catch (ExecutionException e) {
+                        log.error("A partition of the index could not be updated", e.getCause());
+                        failed++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SearchServiceException("Interrupted while updating the index, it has not been committed",
+                                                 e);
+            } finally {
+                executorService.shutdownNow();
+            }
+            if (failed > 0) {
+                // don't publish an incomplete index
+                throw new SearchServiceException(failed + " of " + partitions.size()
+                                                     + " partitions could not be indexed, the index has not been"
+                                                     + " committed");
+            }
+
+            solrSearchCore.getSolr().commit();
+            log.info("Indexed {} objects", indexed);
+        } catch (IOException | SolrServerException e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Split the UUID space up into the given number of equally sized ranges. The returned list holds the inclusive
+     * lower bound of every range, the first one being null (no lower bound). Bounds only differ in their most
+     * significant bits, which are compared as unsigned bytes by the database.
+     *
+     * @param partitions the number of ranges
+     * @return the lower bound of every range
+     */
+    protected List<UUID> getPartitionBounds(int partitions) {
+        List<UUID> bounds = new ArrayList<>(partitions);
+        bounds.add(null);
+        long step = Long.divideUnsigned(-1L, partitions) + 1;
+        for (int i = 1; i < partitions; i++) {
+            bounds.add(new UUID(step * i, 0L));
+        }
+        return bounds;
+    }
+
+    /**
+     * {@link Callable} indexing one partition of an indexable object type using its own read-only Context. Returns
+     * the number of objects sent to the search core.
+     */
+    protected class IndexPartitionWorker implements Callable<Long> {
+
+        private final IndexFactory indexableObjectService;
+        private final UUID lowerBound;
+        private final UUID upperBound;
+        private final boolean force;
+        private final int batchSize;
+
+        IndexPartitionWorker(IndexFactory indexableObjectService, UUID lowerBound, UUID upperBound,
+                             boolean force, int batchSize) {
+            this.indexableObjectService = indexableObjectService;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.force = force;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Long call() throws Exception {
+            long indexed = 0;
+            Context context = new Context(Context.Mode.READ_ONLY);
+            context.turnOffAuthorisationSystem();
+            try {
+                final Iterator<? extends IndexableObject> indexableObjects;
+                if (indexableObjectService instanceof ItemIndexFactory itemIndexFactory) {
+                    indexableObjects = itemIndexFactory.findAll(context, lowerBound, upperBound);
+                } else {
+                    indexableObjects = indexableObjectService.findAll(context);
+                }
+                final int pageSize = force ? batchSize : getStalenessCheckBatchSize();
+                List<IndexableObject> page = new ArrayList<>(pageSize);
+                List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+                while (indexableObjects.hasNext()) {
+                    page.add(indexableObjects.next());
+                    if (page.size() >= pageSize || !indexableObjects.hasNext()) {
+                        indexed += indexPage(context, page, batch);
+                    }
+                }
+                indexed += flush(batch);
+                log.info("Indexed {} {} objects in range {} - {}", indexed, indexableObjectService.getType(),
+                         lowerBound, upperBound);
+            } finally {
+                context.abort();
+            }
+            return indexed;
+        }
+
+        private int indexPage(Context context, List<IndexableObject> page, List<SolrInputDocument> batch)
+                throws IOException, SQLException, SolrServerException, SearchServiceException {
+            int indexed = 0;
+            for (IndexableObject indexableObject : force ? page : findObjectsRequiringIndexing(page)) {
+                try {
+                    batch.add(indexableObjectService.buildCompleteDocument(context, indexableObject));
+                } catch (IOException | SQLException e) {
+                    log.error("Could not index {}", indexableObject.getUniqueIndexID(), e);
+                }
+                if (batch.size() >= batchSize) {
+                    indexed += flush(batch);
+                }
+            }
+            for (IndexableObject indexableObject : page) {
+                context.uncacheEntity(indexableObject.getIndexedObject());
+            }
+            page.clear();
+            return indexed;
+        }
+
+        private int flush(List<SolrInputDocument> batch) throws IOException, SolrServerException {
+            int size = batch.size();
+            if (size > 0) {
+                solrSearchCore.getSolr().add(batch);
+                batch.clear();
+            }
+            return size;
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -570,21 +756,76 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
             inIndex = true;
 
-            Object value = doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD);
+            Instant lastIndexed = toInstant(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+            if (lastIndexed != null && lastIndexed.isBefore(lastModified)) {
+                reindexItem = true;
+            }
+        }
+
+        return reindexItem || !inIndex;
+    }
+
+    /**
+     * Bulk variant of {@link #requiresIndexing(String, Instant)}: retrieves the last indexed date of all the given
+     * objects with a single Solr request and compares them with their last modified date in memory.
+     *
+     * @param indexableObjects the objects to check, typically a page of a few thousand objects
+     * @return the objects which are not in the index yet or which were modified after they were last indexed
+     * @throws SearchServiceException if something went wrong with querying the solr server
+     */
+    protected List<IndexableObject> findObjectsRequiringIndexing(List<IndexableObject> indexableObjects)
+        throws SearchServiceException {
+        if (indexableObjects.isEmpty() || solrSearchCore.getSolr() == null) {
+            return Collections.emptyList();
+        }
+
+        // Use the terms query parser, it isn't subject to the boolean clause limit of a regular OR query
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery("{!terms f=" + SearchUtils.RESOURCE_UNIQUE_ID + "}" + indexableObjects.stream()
+            .map(IndexableObject::getUniqueIndexID)
+            .collect(joining(",")));
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.LAST_INDEXED_FIELD);
+        query.setRows(indexableObjects.size());
 
-            // If it's a java.util.Date, convert to an Instant
-            if (value instanceof java.util.Date) {
-                value = ((java.util.Date) value).toInstant();
+        Map<String, Instant> lastIndexedDates = new HashMap<>();
+        try {
+            QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+            for (SolrDocument doc : rsp.getResults()) {
+                lastIndexedDates.put((String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID),
+                                     toInstant(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD)));
             }
+        } catch (SolrServerException | IOException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
 
-            if (value instanceof Instant lastIndexed) {
-                if (lastIndexed.isBefore(lastModified)) {
-                    reindexItem = true;
+        List<IndexableObject> requiringIndexing = new ArrayList<>();
+        for (IndexableObject indexableObject : indexableObjects) {
+            Instant lastModified = indexableObject.getLastModified();
+            if (lastModified == null || !lastIndexedDates.containsKey(indexableObject.getUniqueIndexID())) {
+                requiringIndexing.add(indexableObject);
+            } else {
+                Instant lastIndexed = lastIndexedDates.get(indexableObject.getUniqueIndexID());
+                if (lastIndexed != null && lastIndexed.isBefore(lastModified)) {
+                    requiringIndexing.add(indexableObject);
                 }
             }
         }
+        return requiringIndexing;
+    }
 
-        return reindexItem || !inIndex;
+    /**
+     * @return the number of objects whose staleness is checked with a single Solr request
+     */
+    protected int getStalenessCheckBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index.staleness-check.batch-size", 1000));
+    }
+
+    private Instant toInstant(Object value) {
+        // If it's a java.util.Date, convert to an Instant
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).toInstant();
+        }
+        return value instanceof Instant ? (Instant) value : null;
     }
 
     @Override
@@ -795,6 +1036,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
         solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
         solrQuery.addField(STATUS_FIELD);
+        if (discoveryQuery.isIndexProjection()) {
+            for (String fieldName : getItemIndexFactory().getProjectionFields()) {
+                solrQuery.addField(fieldName);
+            }
+        }
 
         if (discoveryQuery.isSpellCheck()) {
             solrQuery.setParam(SpellingParams.SPELLCHECK_Q, query);
@@ -934,8 +1180,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
 
                 List<String> searchFields = query.getSearchFields();
+                Map<String, IndexableObject> indexableObjects = query.isIndexProjection()
+                    ? findIndexableObjectProjections(context, solrQueryResponse.getResults())
+                    : findIndexableObjects(context, solrQueryResponse.getResults());
                 for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                    IndexableObject indexableObject = indexableObjects.get(getUniqueIndexID(doc));
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1153,6 +1402,95 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the indexable objects for all the given solr documents, using a single lookup per object type rather
+     * than one per document.
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD fields MUST be present
+     * @return the indexable objects found, keyed by the unique index ID of the document they belong to (see
+     *         {@link #getUniqueIndexID(SolrDocument)}). Documents for which no object exists have no entry.
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected Map<String, IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+        }
+
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : idsByType.entrySet()) {
+            final IndexFactory indexableObjectService = indexObjectServiceFactory.
+                    getIndexFactoryByType(entry.getKey());
+            List<IndexableObject> found = indexableObjectService.findIndexableObjects(context, entry.getValue());
+            for (IndexableObject indexableObject : found) {
+                indexableObjects.put(indexableObject.getUniqueIndexID(), indexableObject);
+            }
+        }
+
+        for (SolrDocument doc : docs) {
+            if (!indexableObjects.containsKey(getUniqueIndexID(doc))) {
+                log.warn("Not able to retrieve object RESOURCE_ID:" + doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD)
+                             + " - RESOURCE_TYPE_ID:" + doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD));
+            }
+        }
+        return indexableObjects;
+    }
+
+    /**
+     * Like {@link #findIndexableObjects(Context, List)}, but items are built from their stored fields where possible
+     * (see {@link ItemIndexFactory#buildProjection(Context, SolrDocument)}). Only the remaining documents, e.g.
+     * those which were indexed before their object was committed, are looked up in the database.
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, including the fields from {@link ItemIndexFactory#getProjectionFields()}
+     * @return the indexable objects found, keyed by the unique index ID of the document they belong to
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected Map<String, IndexableObject> findIndexableObjectProjections(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        ItemIndexFactory itemIndexFactory = getItemIndexFactory();
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        List<SolrDocument> unprojectedDocs = new ArrayList<>();
+        for (SolrDocument doc : docs) {
+            IndexableObject projection = null;
+            if (IndexableItem.TYPE.equals(doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD))) {
+                projection = itemIndexFactory.buildProjection(context, doc);
+            }
+            if (projection != null) {
+                indexableObjects.put(getUniqueIndexID(doc), projection);
+            } else {
+                unprojectedDocs.add(doc);
+            }
+        }
+        indexableObjects.putAll(findIndexableObjects(context, unprojectedDocs));
+        return indexableObjects;
+    }
+
+    private ItemIndexFactory getItemIndexFactory() {
+        return (ItemIndexFactory) indexObjectServiceFactory.getIndexFactoryByType(IndexableItem.TYPE);
+    }
+
+    /**
+     * @param doc
+     *            the solr document, the RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD fields MUST be present
+     * @return the unique index ID of the object the document was created for, in the format used by
+     *         {@link IndexableObject#getUniqueIndexID()}
+     */
+    protected String getUniqueIndexID(SolrDocument doc) {
+        return doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) + "-"
+            + doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1182,11 +1520,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
             SolrDocumentList docs = rsp.getResults();
 
-            Iterator iter = docs.iterator();
+            Map<String, IndexableObject> indexableObjects = findIndexableObjects(context, docs);
             List<IndexableObject> result = new ArrayList<>();
-            while (iter.hasNext()) {
-                SolrDocument doc = (SolrDocument) iter.next();
-                IndexableObject o = findIndexableObject(context, doc);
+            for (SolrDocument doc : docs) {
+                IndexableObject o = indexableObjects.get(getUniqueIndexID(doc));
                 if (o != null) {
                     result.add(o);
                 }
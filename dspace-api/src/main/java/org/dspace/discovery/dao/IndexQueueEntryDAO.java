@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.IndexQueueEntry;
+
+/**
+ * Database Access Object interface class for the IndexQueueEntry object. The
+ * implementation of this class is responsible for all database calls for the
+ * IndexQueueEntry object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface IndexQueueEntryDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Get and lock the oldest records of the queue, in the order in which they were queued. The records locked by
+     * another transaction, i.e. claimed by another process of the queue, are skipped. The locks are held until the
+     * transaction of the context ends.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of records to return
+     * @return              the oldest queue records which are not claimed by another transaction
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException;
+
+    /**
+     * Get and lock all the records of the queue for the given objects, skipping the records locked by another
+     * transaction like {@link #findOldest(Context, int)}.
+     *
+     * @param  context      DSpace context object
+     * @param  uniqueIds    the unique index IDs of the objects
+     * @return              the queue records of these objects which are not claimed by another transaction
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findByUniqueIds(Context context, Collection<String> uniqueIds) throws SQLException;
+
+    /**
+     * Delete the queue records with the given identifiers.
+     *
+     * @param  context      DSpace context object
+     * @param  ids          the identifiers of the records to delete
+     * @return              the number of deleted records
+     * @throws SQLException if an SQL error occurs
+     */
+    int deleteByIds(Context context, List<Integer> ids) throws SQLException;
+
+    /**
+     * Count all the records of the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of queued records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+}
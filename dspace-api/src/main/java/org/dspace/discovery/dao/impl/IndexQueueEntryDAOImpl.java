@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao.impl;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry;
+import org.dspace.discovery.dao.IndexQueueEntryDAO;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
+
+/**
+ * Implementation of {@link IndexQueueEntryDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class IndexQueueEntryDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueEntryDAO {
+
+    protected IndexQueueEntryDAOImpl() {
+        super();
+    }
+
+    @Override
+    public List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException {
+        Query query = createQuery(context, "FROM IndexQueueEntry ORDER BY id");
+        query.setMaxResults(limit);
+        return claim(query).getResultList();
+    }
+
+    @Override
+    public List<IndexQueueEntry> findByUniqueIds(Context context, Collection<String> uniqueIds) throws SQLException {
+        Query query = createQuery(context, "FROM IndexQueueEntry WHERE uniqueId IN (:uniqueIds) ORDER BY id");
+        query.setParameter("uniqueIds", uniqueIds);
+        return claim(query).getResultList();
+    }
+
+    /**
+     * Lock the records selected by a query (SELECT ... FOR UPDATE SKIP LOCKED), so that concurrent processes of the
+     * queue never select the same records
+     */
+    private Query claim(Query query) {
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        query.setHint(AvailableHints.HINT_SPEC_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED);
+        return query;
+    }
+
+    @Override
+    public int deleteByIds(Context context, List<Integer> ids) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM IndexQueueEntry WHERE id IN (:ids)");
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(*) FROM IndexQueueEntry");
+        return (long) query.getSingleResult();
+    }
+}
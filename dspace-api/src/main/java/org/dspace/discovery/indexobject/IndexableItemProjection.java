@@ -0,0 +1,176 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+
+/**
+ * Item implementation for the IndexableObject which is built from the fields stored in the search core instead of
+ * from the database, see {@link org.dspace.discovery.indexobject.factory.ItemIndexFactory#buildProjection}.
+ * Only the metadata fields configured in "discovery.index.projection" are available. The item itself is only
+ * loaded from the database when {@link #getIndexedObject()} is called.
+ */
+public class IndexableItemProjection extends IndexableItem {
+
+    private final Context context;
+    private final UUID id;
+    private final String handle;
+    private final boolean archived;
+    private final boolean withdrawn;
+    private final boolean discoverable;
+    private final Instant lastModified;
+    private final String entityType;
+    private final List<MetadataValueProjection> metadata;
+
+    private boolean loaded = false;
+
+    public IndexableItemProjection(Context context, UUID id, String handle, boolean archived, boolean withdrawn,
+                                   boolean discoverable, Instant lastModified, String entityType,
+                                   List<MetadataValueProjection> metadata) {
+        super(null);
+        this.context = context;
+        this.id = id;
+        this.handle = handle;
+        this.archived = archived;
+        this.withdrawn = withdrawn;
+        this.discoverable = discoverable;
+        this.lastModified = lastModified;
+        this.entityType = entityType;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Load the item this projection was built for from the database. This should be avoided where possible, as
+     * not having to do so is the whole point of using a projection.
+     * @return the item, or null if it no longer exists
+     */
+    @Override
+    public Item getIndexedObject() {
+        if (!loaded) {
+            try {
+                super.setIndexedObject(ContentServiceFactory.getInstance().getItemService().find(context, id));
+            } catch (SQLException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            loaded = true;
+        }
+        return super.getIndexedObject();
+    }
+
+    @Override
+    public void setIndexedObject(Item item) {
+        super.setIndexedObject(item);
+        loaded = true;
+    }
+
+    @Override
+    public UUID getID() {
+        return id;
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawn;
+    }
+
+    public boolean isDiscoverable() {
+        return discoverable;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the projected metadata values, in the order in which they were indexed
+     */
+    public List<MetadataValueProjection> getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // Compare on the identifier, so that no database access is needed
+        if (!(obj instanceof IndexableObject)) {
+            return false;
+        }
+        return getUniqueIndexID().equals(((IndexableObject) obj).getUniqueIndexID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getUniqueIndexID().hashCode();
+    }
+
+    /**
+     * A metadata value as stored in the search core
+     */
+    public static class MetadataValueProjection {
+
+        private final String schema;
+        private final String element;
+        private final String qualifier;
+        private final String value;
+        private final String authority;
+        private final String language;
+
+        public MetadataValueProjection(String schema, String element, String qualifier, String value,
+                                       String authority, String language) {
+            this.schema = schema;
+            this.element = element;
+            this.qualifier = qualifier;
+            this.value = value;
+            this.authority = authority;
+            this.language = language;
+        }
+
+        public String getSchema() {
+            return schema;
+        }
+
+        public String getElement() {
+            return element;
+        }
+
+        public String getQualifier() {
+            return qualifier;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getAuthority() {
+            return authority;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -30,6 +31,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.authority.service.AuthorityValueService;
 import org.dspace.content.Collection;
@@ -84,6 +86,9 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     public static final String STORE_SEPARATOR = "\n|||\n";
     public static final String STATUS_FIELD = "database_status";
     public static final String STATUS_FIELD_PREDB = "predb";
+    public static final String STORED_FIELD_SUFFIX = "_stored";
+    public static final List<String> PROJECTION_FIELDS = List.of("*" + STORED_FIELD_SUFFIX, "handle", "archived",
+        "withdrawn", "discoverable", "lastModified", "search.entitytype");
 
 
     @Autowired
@@ -124,6 +129,22 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         };
     }
 
+    @Override
+    public Iterator<IndexableItem> findAll(Context context, UUID lowerBound, UUID upperBound) throws SQLException {
+        Iterator<Item> items = itemService.findAllRegularItems(context, lowerBound, upperBound);
+        return new Iterator<IndexableItem>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public IndexableItem next() {
+                return new IndexableItem(items.next());
+            }
+        };
+    }
+
     @Override
     public String getType() {
         return IndexableItem.TYPE;
@@ -543,7 +564,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                         }
                     }
                     doc.addField(
-                            field + "_stored",
+                            field + STORED_FIELD_SUFFIX,
                             value + STORE_SEPARATOR + preferedLabel
                                     + STORE_SEPARATOR
                                     + (variantsToStore.length() > VARIANTS_STORE_SEPARATOR
@@ -598,6 +619,14 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public SolrInputDocument buildCompleteDocument(Context context, IndexableItem indexableItem)
+            throws SQLException, IOException {
+        SolrInputDocument doc = buildDocument(context, indexableItem);
+        addFullText(doc, new FullTextContentStreams(context, indexableItem.getIndexedObject()));
+        return doc;
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -682,6 +711,73 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public List<IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            uuids.add(UUID.fromString(id));
+        }
+        List<IndexableItem> indexableItems = new ArrayList<>(ids.size());
+        for (Item item : itemService.findByIds(context, uuids)) {
+            indexableItems.add(new IndexableItem(item));
+        }
+        return indexableItems;
+    }
+
+    @Override
+    public List<String> getProjectionFields() {
+        return PROJECTION_FIELDS;
+    }
+
+    @Override
+    public IndexableItemProjection buildProjection(Context context, SolrDocument doc) {
+        Object lastModified = doc.getFirstValue("lastModified");
+        if (STATUS_FIELD_PREDB.equals(doc.getFirstValue(STATUS_FIELD)) || !(lastModified instanceof Date)) {
+            // The document was indexed before the item was committed, it may not represent the item (yet)
+            return null;
+        }
+
+        String entityType = (String) doc.getFirstValue("search.entitytype");
+        List<IndexableItemProjection.MetadataValueProjection> metadata = new ArrayList<>();
+        for (String fieldName : doc.getFieldNames()) {
+            if (!fieldName.endsWith(STORED_FIELD_SUFFIX)) {
+                continue;
+            }
+            // schema, element and optionally qualifier
+            String[] field = StringUtils.split(StringUtils.removeEnd(fieldName, STORED_FIELD_SUFFIX), '.');
+            for (Object storedValue : doc.getFieldValues(fieldName)) {
+                // value, preferred label, variants, authority, language. See addDiscoveryFields
+                String[] parts = StringUtils.splitByWholeSeparatorPreserveAllTokens((String) storedValue,
+                                                                                    STORE_SEPARATOR);
+                metadata.add(new IndexableItemProjection.MetadataValueProjection(
+                    field[0], field.length > 1 ? field[1] : null, field.length > 2 ? field[2] : null, parts[0],
+                    getStoredPart(parts, 3), getStoredPart(parts, 4)));
+                if (entityType == null && "dspace.entity.type".equals(StringUtils.join(field, '.'))) {
+                    entityType = parts[0];
+                }
+            }
+        }
+
+        return new IndexableItemProjection(context,
+                                           UUID.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD)),
+                                           (String) doc.getFirstValue("handle"),
+                                           Boolean.parseBoolean(String.valueOf(doc.getFirstValue("archived"))),
+                                           Boolean.parseBoolean(String.valueOf(doc.getFirstValue("withdrawn"))),
+                                           Boolean.parseBoolean(String.valueOf(doc.getFirstValue("discoverable"))),
+                                           ((Date) lastModified).toInstant(), entityType, metadata);
+    }
+
+    /**
+     * @return the part at the given index of a stored value split on {@link #STORE_SEPARATOR}, or null if it is
+     *         missing or was stored as "null"
+     */
+    private String getStoredPart(String[] parts, int index) {
+        if (parts.length <= index || StringUtils.isEmpty(parts[index]) || "null".equals(parts[index])) {
+            return null;
+        }
+        return parts[index];
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
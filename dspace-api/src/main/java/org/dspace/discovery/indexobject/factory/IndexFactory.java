@@ -54,6 +54,18 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     SolrInputDocument buildNewDocument(Context context, T indexableObject) throws SQLException, IOException;
 
+    /**
+     * Create the solr document exactly as it would be sent to the search core by
+     * {@link #writeDocument(Context, IndexableObject, SolrInputDocument)}, including any content which is only
+     * added at write time (e.g. the full text of an item). This allows documents to be written in batches.
+     * @param context           DSpace context object
+     * @param indexableObject   the indexableObject that we want to index
+     * @return                  the complete solr document
+     * @throws SQLException     If database error
+     * @throws IOException      If IO error
+     */
+    SolrInputDocument buildCompleteDocument(Context context, T indexableObject) throws SQLException, IOException;
+
     /**
      * Write the provided document to the solr core
      * @param context               DSpace context object
@@ -98,6 +110,17 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve the indexable objects for several identifiers at once, e.g. for all documents in a page of search
+     * results. Implementations should use as few database queries as possible.
+     * @param context       DSpace context object
+     * @param ids           The identifiers for which we want to retrieve our indexable objects
+     * @return              The indexable objects found, in no particular order. Identifiers for which no object
+     *                      exists are ignored.
+     * @throws SQLException If database error
+     */
+    List<T> findIndexableObjects(Context context, List<String> ids) throws SQLException;
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
@@ -9,13 +9,17 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 
 /**
  * Factory interface for indexing/retrieving items in the search core
@@ -38,4 +42,31 @@ public interface ItemIndexFactory extends DSpaceObjectIndexFactory<IndexableItem
                             List<DiscoveryConfiguration> discoveryConfigurations)
             throws SQLException, IOException;
 
+    /**
+     * Retrieve all items to be indexed whose UUID falls within the given range. This allows the item UUID space
+     * to be split up into partitions which can be indexed concurrently.
+     * @param context       DSpace context object
+     * @param lowerBound    The inclusive lower bound of the range, or null for no lower bound
+     * @param upperBound    The exclusive upper bound of the range, or null for no upper bound
+     * @return              An iterator containing the items within the range
+     * @throws SQLException If database error
+     */
+    Iterator<IndexableItem> findAll(Context context, UUID lowerBound, UUID upperBound) throws SQLException;
+
+    /**
+     * Return the solr fields which need to be retrieved for {@link #buildProjection(Context, SolrDocument)}
+     * @return              The names (or patterns) of the stored fields used by the projection
+     */
+    List<String> getProjectionFields();
+
+    /**
+     * Build an indexable item from the fields stored in the provided solr document, without loading the item from
+     * the database. Only the metadata fields configured in "discovery.index.projection" are included.
+     * @param context       DSpace context object
+     * @param doc           The solr document, containing at least the fields from {@link #getProjectionFields()}
+     * @return              The projection of the item, or null if the document can't be trusted to represent the
+     *                      item (e.g. because it was indexed before the item was committed to the database)
+     */
+    IndexableItemProjection buildProjection(Context context, SolrDocument doc);
+
 }
\ No newline at end of file
@@ -0,0 +1,374 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.dao.GroupDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM wide, in memory index of the transitive closure of the group hierarchy, i.e. the same information as the
+ * group2groupcache table. Every group known to the index gets a dense ordinal, and the ordinals of all the groups
+ * it is (directly or indirectly) a member of are kept in a {@link BitSet}, so that membership queries do not need
+ * any database access.
+ * <p>
+ * The index is loaded from the direct group memberships on first use, and then kept up to date by applying the
+ * changes reported by the {@link GroupClosureIndexConsumer}: only the groups below the changed membership are
+ * recomputed. As changes made by other processes (e.g. command line scripts) are not reported, the index is fully
+ * reloaded once it is older than the configured refresh interval.
+ * <p>
+ * The groups each EPerson is a direct member of are cached as well, so that a membership check does not need any
+ * database access either. They are evicted when the memberships of the EPerson change, and expire after the same
+ * refresh interval.
+ * <p>
+ * Configuration:
+ * <ul>
+ * <li>eperson.group.closure-index.enabled: whether to use the index (default false)</li>
+ * <li>eperson.group.closure-index.refresh-seconds: the maximum age of the index (default 600)</li>
+ * <li>eperson.group.closure-index.max-epersons: the maximum number of EPersons to cache the direct groups of
+ * (default 10000)</li>
+ * </ul>
+ */
+public class GroupClosureIndex {
+
+    private static final Logger log = LogManager.getLogger(GroupClosureIndex.class);
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    protected GroupDAO groupDAO;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> groupIds = new ArrayList<>();
+    // the direct parents of each group
+    private final List<BitSet> parents = new ArrayList<>();
+    // all the groups each group is a member of, directly or through other groups
+    private final List<BitSet> ancestors = new ArrayList<>();
+
+    // System time at which the index was loaded, 0 if it needs to be (re)loaded
+    private volatile long loadedAt = 0;
+
+    // the groups each EPerson is a direct member of
+    private volatile Cache<UUID, Set<UUID>> directGroups;
+
+    // Incremented on every eviction of direct groups, so that groups loaded before it are not stored afterwards
+    private final AtomicLong directGroupsGeneration = new AtomicLong();
+
+    /**
+     * @return true if the index is enabled in the configuration
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("eperson.group.closure-index.enabled", false);
+    }
+
+    /**
+     * Check whether a group is a member of another group, directly or through other groups
+     *
+     * @param context  DSpace context, used to load the index if needed
+     * @param ancestor the UUID of the (possibly indirect) parent group
+     * @param group    the UUID of the member group
+     * @return true if group is a member of ancestor
+     * @throws SQLException if database error while loading the index
+     */
+    public boolean isAncestor(Context context, UUID ancestor, UUID group) throws SQLException {
+        ensureLoaded(context);
+        lock.readLock().lock();
+        try {
+            Integer ancestorOrdinal = ordinals.get(ancestor);
+            Integer groupOrdinal = ordinals.get(group);
+            return ancestorOrdinal != null && groupOrdinal != null
+                && ancestors.get(groupOrdinal).get(ancestorOrdinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get all the groups the given groups are members of, directly or through other groups
+     *
+     * @param context DSpace context, used to load the index if needed
+     * @param groups  the UUIDs of the member groups
+     * @return the UUIDs of the parent groups, not including the given groups unless they are members of each other
+     * @throws SQLException if database error while loading the index
+     */
+    public Set<UUID> getAncestors(Context context, Collection<UUID> groups) throws SQLException {
+        ensureLoaded(context);
+        lock.readLock().lock();
+        try {
+            BitSet result = new BitSet();
+            for (UUID group : groups) {
+                Integer ordinal = ordinals.get(group);
+                if (ordinal != null) {
+                    result.or(ancestors.get(ordinal));
+                }
+            }
+            Set<UUID> ancestorIds = new HashSet<>();
+            result.stream().forEach(ordinal -> ancestorIds.add(groupIds.get(ordinal)));
+            return ancestorIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the groups an EPerson is a direct member of
+     *
+     * @param context DSpace context, used to load the groups if they are not cached
+     * @param ePerson the EPerson
+     * @return the UUIDs of the groups
+     * @throws SQLException if database error while loading the groups
+     */
+    public Set<UUID> getDirectGroups(Context context, EPerson ePerson) throws SQLException {
+        Set<UUID> groups = getDirectGroupsCache().getIfPresent(ePerson.getID());
+        if (groups == null) {
+            long generation = directGroupsGeneration.get();
+            groups = groupDAO.findByEPerson(context, ePerson).stream()
+                             .map(Group::getID)
+                             .collect(Collectors.toUnmodifiableSet());
+            if (directGroupsGeneration.get() == generation) {
+                getDirectGroupsCache().put(ePerson.getID(), groups);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Forget the direct groups of an EPerson, after its memberships changed
+     *
+     * @param ePerson the UUID of the EPerson
+     */
+    public void evictDirectGroups(UUID ePerson) {
+        directGroupsGeneration.incrementAndGet();
+        getDirectGroupsCache().invalidate(ePerson);
+    }
+
+    /**
+     * Forget the direct groups of all EPersons, e.g. after a group was deleted
+     */
+    public void evictAllDirectGroups() {
+        directGroupsGeneration.incrementAndGet();
+        getDirectGroupsCache().invalidateAll();
+    }
+
+    /**
+     * Record that a group has been added to another group
+     *
+     * @param parent the UUID of the parent group
+     * @param child  the UUID of the member group
+     */
+    public void addMember(UUID parent, UUID child) {
+        lock.writeLock().lock();
+        try {
+            if (loadedAt == 0) {
+                return;
+            }
+            int parentOrdinal = getOrCreateOrdinal(parent);
+            int childOrdinal = getOrCreateOrdinal(child);
+            parents.get(childOrdinal).set(parentOrdinal);
+
+            BitSet added = (BitSet) ancestors.get(parentOrdinal).clone();
+            added.set(parentOrdinal);
+            for (int ordinal : getSubtree(childOrdinal)) {
+                ancestors.get(ordinal).or(added);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record that a group has been removed from another group
+     *
+     * @param parent the UUID of the parent group
+     * @param child  the UUID of the member group
+     */
+    public void removeMember(UUID parent, UUID child) {
+        lock.writeLock().lock();
+        try {
+            Integer parentOrdinal = ordinals.get(parent);
+            Integer childOrdinal = ordinals.get(child);
+            if (loadedAt == 0 || parentOrdinal == null || childOrdinal == null) {
+                return;
+            }
+            parents.get(childOrdinal).clear(parentOrdinal);
+            recompute(getSubtree(childOrdinal));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record that a group has been deleted, along with all its memberships
+     *
+     * @param group the UUID of the deleted group
+     */
+    public void removeGroup(UUID group) {
+        lock.writeLock().lock();
+        try {
+            Integer groupOrdinal = ordinals.get(group);
+            if (loadedAt == 0 || groupOrdinal == null) {
+                return;
+            }
+            List<Integer> subtree = getSubtree(groupOrdinal);
+            parents.get(groupOrdinal).clear();
+            for (BitSet groupParents : parents) {
+                groupParents.clear(groupOrdinal);
+            }
+            recompute(subtree);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Force the index to be reloaded on next use
+     */
+    public void invalidate() {
+        loadedAt = 0;
+        evictAllDirectGroups();
+    }
+
+    private Cache<UUID, Set<UUID>> getDirectGroupsCache() {
+        if (directGroups == null) {
+            synchronized (this) {
+                if (directGroups == null) {
+                    directGroups = CacheBuilder.newBuilder()
+                        .maximumSize(configurationService.getLongProperty("eperson.group.closure-index.max-epersons",
+                                                                          10000))
+                        .expireAfterWrite(configurationService.getLongProperty(
+                            "eperson.group.closure-index.refresh-seconds", 600), TimeUnit.SECONDS)
+                        .build();
+                }
+            }
+        }
+        return directGroups;
+    }
+
+    private void ensureLoaded(Context context) throws SQLException {
+        long maxAge = configurationService.getLongProperty("eperson.group.closure-index.refresh-seconds", 600) * 1000;
+        if (loadedAt != 0 && System.currentTimeMillis() - loadedAt < maxAge) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loadedAt != 0 && System.currentTimeMillis() - loadedAt < maxAge) {
+                return;
+            }
+            load(context);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load(Context context) throws SQLException {
+        long start = System.currentTimeMillis();
+        ordinals.clear();
+        groupIds.clear();
+        parents.clear();
+        ancestors.clear();
+
+        for (Pair<UUID, UUID> membership : groupDAO.getGroup2GroupResults(context, false)) {
+            int parentOrdinal = getOrCreateOrdinal(membership.getLeft());
+            int childOrdinal = getOrCreateOrdinal(membership.getRight());
+            parents.get(childOrdinal).set(parentOrdinal);
+        }
+        List<Integer> all = new ArrayList<>(groupIds.size());
+        for (int ordinal = 0; ordinal < groupIds.size(); ordinal++) {
+            all.add(ordinal);
+        }
+        recompute(all);
+
+        loadedAt = System.currentTimeMillis();
+        log.info("Loaded the closure of {} groups in {} ms", groupIds.size(), loadedAt - start);
+    }
+
+    private int getOrCreateOrdinal(UUID group) {
+        Integer ordinal = ordinals.get(group);
+        if (ordinal == null) {
+            ordinal = groupIds.size();
+            ordinals.put(group, ordinal);
+            groupIds.add(group);
+            parents.add(new BitSet());
+            ancestors.add(new BitSet());
+        }
+        return ordinal;
+    }
+
+    /**
+     * @return the given group and all the groups which are a member of it, directly or indirectly
+     */
+    private List<Integer> getSubtree(int groupOrdinal) {
+        List<Integer> subtree = new ArrayList<>();
+        subtree.add(groupOrdinal);
+        for (int ordinal = 0; ordinal < ancestors.size(); ordinal++) {
+            if (ordinal != groupOrdinal && ancestors.get(ordinal).get(groupOrdinal)) {
+                subtree.add(ordinal);
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * Recompute the ancestors of the given groups from the direct parents. The ancestors of all other groups must
+     * be up to date, and are reused instead of walking up the hierarchy again.
+     */
+    private void recompute(List<Integer> stale) {
+        BitSet computed = new BitSet();
+        computed.set(0, groupIds.size());
+        for (int ordinal : stale) {
+            computed.clear(ordinal);
+        }
+        for (int ordinal : stale) {
+            BitSet result = new BitSet();
+            BitSet visited = new BitSet();
+            Deque<Integer> toVisit = new ArrayDeque<>();
+            parents.get(ordinal).stream().forEach(toVisit::push);
+            while (!toVisit.isEmpty()) {
+                int parent = toVisit.pop();
+                if (visited.get(parent)) {
+                    continue;
+                }
+                visited.set(parent);
+                result.set(parent);
+                if (computed.get(parent)) {
+                    result.or(ancestors.get(parent));
+                } else {
+                    parents.get(parent).stream().forEach(toVisit::push);
+                }
+            }
+            ancestors.set(ordinal, result);
+            computed.set(ordinal);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * This consumer applies the changes to the group hierarchy to the {@link GroupClosureIndex}, once they have been
+ * committed, and evicts the cached direct groups of the EPersons whose memberships changed. The changes of a
+ * transaction which is rolled back are never applied. The direct groups are evicted before and again after the
+ * database commit, so that groups loaded by a concurrent request in between are not kept.
+ */
+public class GroupClosureIndexConsumer implements Consumer {
+
+    private GroupClosureIndex groupClosureIndex;
+
+    // Collects the group events, which have to be applied in order
+    private final List<Event> groupEvents = new ArrayList<>();
+
+    // The EPersons whose direct groups have to be evicted
+    private final Set<UUID> ePersons = new HashSet<>();
+
+    // Whether the direct groups of all EPersons have to be evicted
+    private boolean evictAll = false;
+
+    @Override
+    public void initialize() throws Exception {
+        groupClosureIndex = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(GroupClosureIndex.class.getName(), GroupClosureIndex.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int et = event.getEventType();
+        if (event.getSubjectType() == Constants.EPERSON) {
+            if (et == Event.DELETE) {
+                ePersons.add(event.getSubjectID());
+            }
+            return;
+        }
+        if (event.getSubjectType() != Constants.GROUP) {
+            return;
+        }
+        if (et == Event.DELETE) {
+            groupEvents.add(event);
+            evictAll = true;
+        } else if (et == Event.ADD || et == Event.REMOVE) {
+            if (event.getObjectType() == Constants.GROUP) {
+                groupEvents.add(event);
+            } else if (event.getObjectType() == Constants.EPERSON) {
+                ePersons.add(event.getObjectID());
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (groupClosureIndex != null && (!groupEvents.isEmpty() || evictAll || !ePersons.isEmpty())) {
+            // The events are dispatched before the database commit: the index must not show changes which may
+            // still be rolled back, so they are only applied once committed, and dropped otherwise
+            List<Event> events = new ArrayList<>(groupEvents);
+            boolean all = evictAll;
+            Set<UUID> ids = new HashSet<>(ePersons);
+            evictDirectGroups(all, ids);
+            ctx.runAfterCommit(() -> {
+                applyGroupEvents(events);
+                evictDirectGroups(all, ids);
+            });
+        }
+        groupEvents.clear();
+        ePersons.clear();
+        evictAll = false;
+    }
+
+    private void applyGroupEvents(List<Event> events) {
+        for (Event event : events) {
+            switch (event.getEventType()) {
+                case Event.ADD:
+                    groupClosureIndex.addMember(event.getSubjectID(), event.getObjectID());
+                    break;
+                case Event.REMOVE:
+                    groupClosureIndex.removeMember(event.getSubjectID(), event.getObjectID());
+                    break;
+                default:
+                    groupClosureIndex.removeGroup(event.getSubjectID());
+            }
+        }
+    }
+
+    private void evictDirectGroups(boolean all, Set<UUID> ids) {
+        if (all) {
+            groupClosureIndex.evictAllDirectGroups();
+        } else {
+            ids.forEach(groupClosureIndex::evictDirectGroups);
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.SetUtils;
@@ -73,6 +74,9 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     @Autowired(required = true)
     protected Group2GroupCacheDAO group2GroupCacheDAO;
 
+    @Autowired(required = true)
+    protected GroupClosureIndex groupClosureIndex;
+
     @Autowired(required = true)
     protected CollectionService collectionService;
 
@@ -258,6 +262,9 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
     @Override
     public boolean isParentOf(Context context, Group parentGroup, Group childGroup) throws SQLException {
+        if (useClosureIndex(context)) {
+            return groupClosureIndex.isAncestor(context, parentGroup.getID(), childGroup.getID());
+        }
         return group2GroupCacheDAO.findByParentAndChild(context, parentGroup, childGroup) != null;
     }
 
@@ -366,10 +373,17 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // all the users are members of the anonymous group
         groups.add(findByName(context, Group.ANONYMOUS));
 
-        List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
-        // now we have all owning groups, also grab all parents of owning groups
-        for (Group2GroupCache group2GroupCache : groupCache) {
-            groups.add(group2GroupCache.getParent());
+        if (useClosureIndex(context)) {
+            Set<UUID> groupIds = groups.stream().map(Group::getID).collect(Collectors.toSet());
+            Set<UUID> parentIds = groupClosureIndex.getAncestors(context, groupIds);
+            parentIds.removeAll(groupIds);
+            groups.addAll(groupDAO.findByIds(context, parentIds));
+        } else {
+            List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
+            // now we have all owning groups, also grab all parents of owning groups
+            for (Group2GroupCache group2GroupCache : groupCache) {
+                groups.add(group2GroupCache.getParent());
+            }
         }
 
         context.cacheAllMemberGroupsSet(ePerson, groups);
@@ -658,7 +672,11 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            if (groupClosureIndex.isEnabled()) {
+                updateGroupCache(context, group);
+            } else {
+                rethinkGroupCache(context, true);
+            }
             group.clearGroupsChanged();
         }
 
@@ -669,9 +687,30 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
     protected boolean isEPersonInGroup(Context context, Group group, EPerson ePerson)
         throws SQLException {
+        if (useClosureIndex(context)) {
+            for (UUID directGroup : groupClosureIndex.getDirectGroups(context, ePerson)) {
+                if (directGroup.equals(group.getID())
+                    || groupClosureIndex.isAncestor(context, group.getID(), directGroup)) {
+                    return true;
+                }
+            }
+            return false;
+        }
         return groupDAO.findByIdAndMembership(context, group.getID(), ePerson) != null;
     }
 
+    /**
+     * Whether the group hierarchy can be looked up in the {@link GroupClosureIndex}. As the index only reflects
+     * committed changes, the group2groupcache table is used instead as long as the context has changes which have
+     * not been dispatched yet.
+     *
+     * @param context The relevant DSpace Context.
+     * @return true if the index can be used
+     */
+    protected boolean useClosureIndex(Context context) {
+        return groupClosureIndex.isEnabled() && !context.hasEvents();
+    }
+
 
     /**
      * Returns a set with pairs of parent and child group UUIDs, representing the new cache table rows.
@@ -742,6 +781,66 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
     }
 
+    /**
+     * Update the group cache AKA the group2groupcache table in the database for the groups affected by a change
+     * of the member groups or parent groups of a group, i.e. the group itself, its current and former parents
+     * and all of their ancestors. Unlike {@link #rethinkGroupCache(Context, boolean)}, the rows of unrelated groups
+     * are neither read nor recomputed.
+     *
+     * @param context The relevant DSpace Context.
+     * @param group   the group whose member groups or parent groups have changed
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context, Group group) throws SQLException {
+        Set<Group> affected = new HashSet<>();
+        affected.add(group);
+        // the former ancestors of the group, including any parent it has been removed from
+        for (Group2GroupCache row : group2GroupCacheDAO.findByChildren(context, List.of(group))) {
+            affected.add(row.getParent());
+        }
+        // the current parents of the group, including any parent it has been added to, and their ancestors
+        for (Group parent : group.getParentGroups()) {
+            affected.add(parent);
+            for (Group2GroupCache row : group2GroupCacheDAO.findByChildren(context, List.of(parent))) {
+                affected.add(row.getParent());
+            }
+        }
+
+        for (Group ancestor : affected) {
+            Set<UUID> oldDescendants = new HashSet<>();
+            for (Group2GroupCache row : group2GroupCacheDAO.findByParent(context, ancestor)) {
+                oldDescendants.add(row.getChild().getID());
+            }
+            Set<UUID> newDescendants = getDescendants(ancestor);
+
+            for (UUID child : SetUtils.difference(oldDescendants, newDescendants)) {
+                group2GroupCacheDAO.deleteFromCache(context, ancestor.getID(), child);
+            }
+            for (UUID child : SetUtils.difference(newDescendants, oldDescendants)) {
+                group2GroupCacheDAO.addToCache(context, ancestor.getID(), child);
+            }
+        }
+    }
+
+    /**
+     * Get all groups which are directly or indirectly members of a group, following the member groups as they are
+     * in the session, so that changes which have not been flushed yet are included.
+     *
+     * @param group the group
+     * @return the UUIDs of the descendants of the group, not including the group itself
+     */
+    private Set<UUID> getDescendants(Group group) {
+        Set<UUID> descendants = new HashSet<>();
+        List<Group> toVisit = new ArrayList<>(group.getMemberGroups());
+        while (!toVisit.isEmpty()) {
+            Group member = toVisit.remove(toVisit.size() - 1);
+            if (!member.equals(group) && descendants.add(member.getID())) {
+                toVisit.addAll(member.getMemberGroups());
+            }
+        }
+        return descendants;
+    }
+
     @Override
     public DSpaceObject getParentObject(Context context, Group group) throws SQLException {
         if (group == null) {
@@ -105,6 +105,7 @@ import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -117,7 +118,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -153,6 +154,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /** Buffer of usage events to be sent in the background, null if they are sent on the request thread. */
+    protected SolrStatisticsBuffer buffer;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -204,6 +208,40 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             log.error(ex);
         }
         locationService = service;
+
+        if (solr != null && configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            String spillFile = configurationService.getProperty("solr-statistics.buffer.spill-file");
+            buffer = new SolrStatisticsBuffer(solr,
+                configurationService.getIntProperty("solr-statistics.buffer.capacity", 10000),
+                configurationService.getIntProperty("solr-statistics.buffer.batch-size", 500),
+                configurationService.getLongProperty("solr-statistics.buffer.flush-interval", 1000),
+                StringUtils.isNotBlank(spillFile) ? Paths.get(spillFile) : null,
+                !configurationService.getBooleanProperty("solr-statistics.autoCommit", true),
+                this::addLocation);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (buffer != null) {
+            buffer.close();
+            buffer = null;
+        }
+    }
+
+    /**
+     * Send a usage event document to the statistics core, through the buffer if it is enabled, or else right away.
+     *
+     * @param doc the usage event document
+     * @throws SolrServerException if the document could not be sent
+     * @throws IOException         if the document could not be sent
+     */
+    protected void addDocument(SolrInputDocument doc) throws SolrServerException, IOException {
+        if (buffer != null) {
+            buffer.add(doc);
+            return;
+        }
+        solr.add(doc);
     }
 
     @Override
@@ -253,10 +291,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
+            addDocument(doc1);
+            // commits are executed automatically using the solr autocommit, or by the buffer
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
+            if (!useAutoCommit && buffer == null) {
                 solr.commit(false, false);
             }
 
@@ -299,10 +337,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
+            addDocument(doc1);
+            // commits are executed automatically using the solr autocommit, or by the buffer
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
+            if (!useAutoCommit && buffer == null) {
                 solr.commit(false, false);
             }
 
@@ -314,6 +352,74 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
     }
 
+    /**
+     * Add the DNS name of the client to a usage event document, along with its location if the GeoIP database is
+     * available. When the usage events are buffered, the lookups are left to the background thread of the buffer, so
+     * that the request thread only records the IP address, see {@link #addLocation(SolrInputDocument)}.
+     *
+     * @param doc the usage event document, with its "ip" field
+     */
+    protected void addLookups(SolrInputDocument doc) {
+        if (configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
+            doc.addField("dns", configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized")
+                                                    .toLowerCase(Locale.ROOT));
+        } else if (buffer == null) {
+            addLocation(doc);
+        }
+    }
+
+    /**
+     * Look up the DNS name and the location of the (not anonymized) IP address of a usage event document. Documents
+     * which already have a DNS name, including the anonymized ones, are left untouched.
+     *
+     * @param doc the usage event document
+     */
+    protected void addLocation(SolrInputDocument doc) {
+        Object ip = doc.getFieldValue("ip");
+        if (ip == null || doc.containsKey("dns")) {
+            return;
+        }
+        InetAddress ipAddress;
+        try {
+            ipAddress = InetAddress.getByName(ip.toString());
+            doc.addField("dns", ipAddress.getHostName().toLowerCase(Locale.ROOT));
+        } catch (UnknownHostException e) {
+            log.info("Failed DNS Lookup for IP:  {}", ip);
+            log.debug(e.getMessage(), e);
+            return;
+        }
+        // Save the location information if valid, save the event without
+        // location information if not valid
+        if (locationService != null) {
+            try {
+                CityResponse location = locationService.city(ipAddress);
+                String countryCode = location.getCountry().getIsoCode();
+                double latitude = location.getLocation().getLatitude();
+                double longitude = location.getLocation().getLongitude();
+                if (!(
+                        "--".equals(countryCode)
+                        && latitude == -180
+                        && longitude == -180)
+                ) {
+                    try {
+                        doc.addField("continent", LocationUtils
+                            .getContinentCode(countryCode));
+                    } catch (Exception e) {
+                        log.warn("Failed to load country/continent table: {}", countryCode);
+                    }
+                    doc.addField("countryCode", countryCode);
+                    doc.addField("city", location.getCity().getName());
+                    doc.addField("latitude", latitude);
+                    doc.addField("longitude", longitude);
+                }
+            } catch (IOException e) {
+                log.warn("GeoIP lookup failed.", e);
+            } catch (GeoIp2Exception e) {
+                log.info("Unable to get location of request: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * Returns a solr input document containing common information about the statistics
      * regardless if we are logging a search or a view of a DSpace object
@@ -370,54 +476,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 doc1.addField("referrer", request.getHeader("referer"));
             }
 
-            InetAddress ipAddress = null;
-            try {
-                String dns;
-                if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                    ipAddress = InetAddress.getByName(ip);
-                    dns = ipAddress.getHostName();
-                } else {
-                    dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-                }
-                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-            } catch (UnknownHostException e) {
-                log.info("Failed DNS Lookup for IP:  {}", ip);
-                log.debug(e.getMessage(), e);
-            }
+            addLookups(doc1);
             if (request.getHeader("User-Agent") != null) {
                 doc1.addField("userAgent", request.getHeader("User-Agent"));
             }
             doc1.addField("isBot", isSpiderBot);
-            // Save the location information if valid, save the event without
-            // location information if not valid
-            if (locationService != null && ipAddress != null) {
-                try {
-                    CityResponse location = locationService.city(ipAddress);
-                    String countryCode = location.getCountry().getIsoCode();
-                    double latitude = location.getLocation().getLatitude();
-                    double longitude = location.getLocation().getLongitude();
-                    if (!(
-                            "--".equals(countryCode)
-                            && latitude == -180
-                            && longitude == -180)
-                    ) {
-                        try {
-                            doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                        } catch (Exception e) {
-                            log.warn("Failed to load country/continent table: {}", countryCode);
-                        }
-                        doc1.addField("countryCode", countryCode);
-                        doc1.addField("city", location.getCity().getName());
-                        doc1.addField("latitude", latitude);
-                        doc1.addField("longitude", longitude);
-                    }
-                } catch (IOException e) {
-                    log.warn("GeoIP lookup failed.", e);
-                } catch (GeoIp2Exception e) {
-                    log.info("Unable to get location of request: {}", e.getMessage());
-                }
-            }
         }
 
         if (dspaceObject != null) {
@@ -462,55 +525,11 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("referrer", referrer);
         }
 
-        InetAddress ipAddress = null;
-        try {
-            String dns;
-            if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                ipAddress = InetAddress.getByName(ip);
-                dns = ipAddress.getHostName();
-            } else {
-                dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-            }
-            doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-        } catch (UnknownHostException e) {
-            log.info("Failed DNS Lookup for IP:  {}", ip);
-            log.debug(e.getMessage(), e);
-        }
+        addLookups(doc1);
         if (userAgent != null) {
             doc1.addField("userAgent", userAgent);
         }
         doc1.addField("isBot", isSpiderBot);
-        // Save the location information if valid, save the event without
-        // location information if not valid
-        if (locationService != null) {
-            try {
-                CityResponse location = locationService.city(ipAddress);
-                String countryCode = location.getCountry().getIsoCode();
-                double latitude = location.getLocation().getLatitude();
-                double longitude = location.getLocation().getLongitude();
-                if (!(
-                        "--".equals(countryCode)
-                                && latitude == -180
-                                && longitude == -180)
-                ) {
-                    try {
-                        doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                    } catch (Exception e) {
-                        System.out
-                                .println("COUNTRY ERROR: " + countryCode);
-                    }
-                    doc1.addField("countryCode", countryCode);
-                    doc1.addField("city", location.getCity().getName());
-                    doc1.addField("latitude", latitude);
-                    doc1.addField("longitude", longitude);
-                }
-            } catch (IOException e) {
-                log.warn("GeoIP lookup failed.", e);
-            } catch (GeoIp2Exception e) {
-                log.info("Unable to get location of request: {}", e.getMessage());
-            }
-        }
 
         if (dspaceObject != null) {
             doc1.addField("id", dspaceObject.getID().toString());
@@ -568,7 +587,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -617,7 +636,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
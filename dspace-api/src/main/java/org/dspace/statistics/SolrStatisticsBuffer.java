@@ -0,0 +1,417 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Bounded, in memory buffer of usage event documents, which are sent to the statistics core in batches by a
+ * background thread instead of one by one on the request thread.
+ * <p>
+ * When the buffer is full, or when a batch can not be sent (e.g. because Solr is down), the documents are appended
+ * to a local spill file, one JSON document per line. The spill file is sent again by the background thread once the
+ * buffer is empty. Documents are given their unique key before being sent or spilled, so that sending them more than
+ * once does not create duplicates. Documents which can not be buffered nor spilled are dropped and counted, and
+ * spilled documents which Solr rejects are moved to a separate ".rejected" file.
+ * <p>
+ * The slow parts of building a document (e.g. the DNS and GeoIP lookups) can be left to the background thread: the
+ * given preparer is called on each document right before it is sent (or sent again from the spill file), and must
+ * leave the documents it already prepared untouched.
+ */
+public class SolrStatisticsBuffer {
+
+    private static final Logger log = LogManager.getLogger(SolrStatisticsBuffer.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SolrClient solr;
+    private final BlockingQueue<SolrInputDocument> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final boolean commit;
+    private final Consumer<SolrInputDocument> preparer;
+
+    // null if documents which do not fit in the buffer are dropped
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path rejectedFile;
+    private final Object spillLock = new Object();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * Create the buffer and start its background thread
+     *
+     * @param solr                the statistics core
+     * @param capacity            the maximum number of documents kept in memory
+     * @param batchSize           the maximum number of documents sent in a single request
+     * @param flushIntervalMillis the maximum time a document is kept in memory before being sent
+     * @param spillFile           the file to append overflowing documents to, or null to drop them
+     * @param commit              whether to explicitly commit after each batch, instead of relying on autocommit
+     */
+    public SolrStatisticsBuffer(SolrClient solr, int capacity, int batchSize, long flushIntervalMillis,
+                                Path spillFile, boolean commit) {
+        this(solr, capacity, batchSize, flushIntervalMillis, spillFile, commit, doc -> { });
+    }
+
+    /**
+     * Create the buffer and start its background thread
+     *
+     * @param solr                the statistics core
+     * @param capacity            the maximum number of documents kept in memory
+     * @param batchSize           the maximum number of documents sent in a single request
+     * @param flushIntervalMillis the maximum time a document is kept in memory before being sent
+     * @param spillFile           the file to append overflowing documents to, or null to drop them
+     * @param commit              whether to explicitly commit after each batch, instead of relying on autocommit
+     * @param preparer            completes each document on the background thread before it is sent
+     */
+    public SolrStatisticsBuffer(SolrClient solr, int capacity, int batchSize, long flushIntervalMillis,
+                                Path spillFile, boolean commit, Consumer<SolrInputDocument> preparer) {
+        this.solr = solr;
+        this.preparer = preparer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.spillFile = spillFile;
+        this.replayFile = spillFile != null ? spillFile.resolveSibling(spillFile.getFileName() + ".replay") : null;
+        this.rejectedFile = spillFile != null ? spillFile.resolveSibling(spillFile.getFileName() + ".rejected")
+                                              : null;
+        this.commit = commit;
+
+        flusher = new Thread(this::run, "solr-statistics-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queue a document to be sent to the statistics core. This never blocks on Solr: if the buffer is full, the
+     * document is spilled to disk, or dropped if that fails as well.
+     *
+     * @param doc the usage event document
+     */
+    public void add(SolrInputDocument doc) {
+        if (!running || !queue.offer(doc)) {
+            spill(List.of(doc));
+        }
+    }
+
+    /**
+     * Stop the background thread and send all buffered documents
+     */
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(flushIntervalMillis + 10000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Closed the statistics buffer: {} documents sent, {} spilled, {} dropped",
+                 getSent(), getSpilled(), getDropped());
+    }
+
+    /**
+     * @return the number of documents waiting in memory
+     */
+    public int getSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of documents sent to the statistics core
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * @return the number of documents written to the spill file
+     */
+    public long getSpilled() {
+        return spilled.get();
+    }
+
+    /**
+     * @return the number of documents which have been lost
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void run() {
+        while (running) {
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            try {
+                SolrInputDocument first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+            } catch (InterruptedException e) {
+                // closing, the remaining documents are flushed by close()
+                queue.drainTo(batch);
+                send(batch);
+                return;
+            }
+            boolean ok = send(batch);
+            if (ok && queue.isEmpty()) {
+                replay();
+            }
+        }
+    }
+
+    /**
+     * Send all buffered documents, spilling them if they can not be sent
+     */
+    void flush() {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            send(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * @return false if the documents could not be sent, in which case they have been spilled
+     */
+    private boolean send(List<SolrInputDocument> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        prepare(batch);
+        // the unique key is set before the first attempt, so that a batch which is spilled after it has been added
+        // (e.g. because the commit failed) is not duplicated when it is replayed
+        setUniqueKeys(batch);
+        try {
+            solr.add(batch);
+            if (commit) {
+                solr.commit(false, false);
+            }
+            sent.addAndGet(batch.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("Unable to send {} usage events to Solr, spilling them to disk", batch.size(), e);
+            spill(batch);
+            return false;
+        }
+    }
+
+    private void prepare(List<SolrInputDocument> docs) {
+        for (SolrInputDocument doc : docs) {
+            try {
+                preparer.accept(doc);
+            } catch (RuntimeException e) {
+                log.warn("Unable to prepare a usage event, sending it as is", e);
+            }
+        }
+    }
+
+    private void setUniqueKeys(List<SolrInputDocument> docs) {
+        for (SolrInputDocument doc : docs) {
+            if (doc.getFieldValue("uid") == null) {
+                doc.setField("uid", UUID.randomUUID().toString());
+            }
+        }
+    }
+
+    private void spill(List<SolrInputDocument> docs) {
+        if (spillFile == null) {
+            dropped.addAndGet(docs.size());
+            return;
+        }
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                                                                  StandardOpenOption.CREATE,
+                                                                  StandardOpenOption.APPEND)) {
+                setUniqueKeys(docs);
+                for (SolrInputDocument doc : docs) {
+                    writer.write(toJson(doc));
+                    writer.newLine();
+                }
+                spilled.addAndGet(docs.size());
+            } catch (IOException e) {
+                log.error("Unable to spill {} usage events to {}, dropping them", docs.size(), spillFile, e);
+                dropped.addAndGet(docs.size());
+            }
+        }
+    }
+
+    /**
+     * Send the documents of the spill file again. The file is first moved aside so that new documents can still be
+     * spilled meanwhile; if Solr can not be reached, it is kept and sent again (from the start) on the next attempt.
+     * Lines which can not be parsed, and documents which Solr rejects, are moved to the rejected file instead, so that
+     * they do not block the replay of the other documents.
+     */
+    void replay() {
+        if (spillFile == null) {
+            return;
+        }
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.error("Unable to move the statistics spill file {}", spillFile, e);
+                return;
+            }
+        }
+        long count = 0;
+        List<String> rejected = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            List<String> lines = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(fromJson(line));
+                    lines.add(line);
+                } catch (IOException e) {
+                    log.warn("Unable to parse a spilled usage event, moving it to {}", rejectedFile, e);
+                    rejected.add(line);
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    count += replayBatch(batch, lines, rejected);
+                    batch = new ArrayList<>(batchSize);
+                    lines = new ArrayList<>(batchSize);
+                }
+            }
+            count += replayBatch(batch, lines, rejected);
+            if (commit) {
+                solr.commit(false, false);
+            }
+        } catch (Exception e) {
+            log.warn("Unable to send the spilled usage events of {} to Solr, will retry later", replayFile, e);
+            return;
+        }
+        try {
+            if (!rejected.isEmpty()) {
+                Files.write(rejectedFile, rejected, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND);
+                log.error("{} spilled usage events could not be sent to Solr, they have been moved to {}",
+                          rejected.size(), rejectedFile);
+            }
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.error("Unable to remove the replayed statistics spill file {}", replayFile, e);
+        }
+        sent.addAndGet(count);
+        log.info("Sent {} spilled usage events to Solr", count);
+    }
+
+    /**
+     * Send a batch of spilled documents. If Solr rejects the batch, its documents are sent one by one, and the lines
+     * of the rejected ones are added to the given list.
+     *
+     * @return the number of documents sent
+     * @throws SolrServerException if Solr can not be reached, so that the replay has to be retried later
+     * @throws IOException         if Solr can not be reached, so that the replay has to be retried later
+     */
+    private int replayBatch(List<SolrInputDocument> batch, List<String> lines, List<String> rejected)
+        throws SolrServerException, IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // documents spilled on the request thread, because the buffer was full, have not been prepared yet
+        prepare(batch);
+        try {
+            solr.add(batch);
+            return batch.size();
+        } catch (SolrException e) {
+            if (!isRejection(e)) {
+                throw e;
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                solr.add(batch.get(i));
+                count++;
+            } catch (SolrException e) {
+                if (!isRejection(e)) {
+                    throw e;
+                }
+                log.warn("Solr rejected a spilled usage event, moving it to {}", rejectedFile, e);
+                rejected.add(lines.get(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return true if Solr responded that the request is invalid, as opposed to a transport or server error, after
+     * which the same request may succeed
+     */
+    private boolean isRejection(SolrException e) {
+        return e.code() >= 400 && e.code() < 500;
+    }
+
+    static String toJson(SolrInputDocument doc) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (String name : doc.getFieldNames()) {
+            Collection<Object> values = doc.getFieldValues(name);
+            fields.put(name, values.size() == 1 ? values.iterator().next() : values);
+        }
+        return objectMapper.writeValueAsString(fields);
+    }
+
+    static SolrInputDocument fromJson(String json) throws IOException {
+        Map<String, Object> fields = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() { });
+        SolrInputDocument doc = new SolrInputDocument();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            if (field.getValue() instanceof Collection) {
+                for (Object value : (Collection<?>) field.getValue()) {
+                    doc.addField(field.getKey(), value);
+                }
+            } else {
+                doc.addField(field.getKey(), field.getValue());
+            }
+        }
+        return doc;
+    }
+}
@@ -7,6 +7,9 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -62,6 +65,12 @@ public class BitStoreMigrate {
                               "Delete file from losing assetstore. (Default: Keep bitstream in old assetstore)");
             options.addOption("p", "print", false, "Print out current assetstore information");
             options.addOption("s", "size", true, "Batch commit size. (Default: 1, commit after each file transfer)");
+            options.addOption("t", "threads", true,
+                              "Number of bitstreams copied concurrently. The batches are at least as large. " +
+                                  "(Default: 1)");
+            options.addOption("c", "checkpoint", true,
+                              "Checkpoint file, recording the progress of the migration so that running it again " +
+                                  "resumes where it stopped");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -103,8 +112,15 @@ public class BitStoreMigrate {
                     batchCommitSize = Integer.parseInt(line.getOptionValue('s'));
                 }
 
-                bitstreamStorageService
-                    .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                if (line.hasOption('t') || line.hasOption('c')) {
+                    int threads = line.hasOption('t') ? Integer.parseInt(line.getOptionValue('t')) : 1;
+                    Path checkpoint = line.hasOption('c') ? Paths.get(line.getOptionValue('c')) : null;
+                    bitstreamStorageService.migrate(context, sourceAssetstore, destinationAssetstore, deleteOld,
+                                                    batchCommitSize, threads, checkpoint);
+                } else {
+                    bitstreamStorageService
+                        .migrate(context, sourceAssetstore, destinationAssetstore, deleteOld, batchCommitSize);
+                }
             } else {
                 printHelp(options);
                 System.exit(0);
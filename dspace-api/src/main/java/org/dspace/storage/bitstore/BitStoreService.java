@@ -9,9 +9,12 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +48,55 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits for bitstream. By default the whole stream is retrieved and the bytes before
+     * the range are skipped: stores which can read a range natively should override this method.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of bits, ending at the end of the range or of the bitstream
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream in = get(bitstream);
+        try {
+            IOUtils.skip(in, offset);
+            return BoundedInputStream.builder().setInputStream(in).setMaxCount(length).get();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the local file holding the bits for bitstream, so that they can be sent by the operating system (e.g.
+     * with sendfile) instead of being read through the JVM. Stores which do not keep their assets in local files
+     * return null.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return the path of the file, or null if there is no such file
+     * @throws java.io.IOException If a problem occurs while locating the file
+     */
+    public default Path getLocalPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
+    /**
+     * Get the checksum of the bits for bitstream as recorded by the store itself, without reading them. Only
+     * checksums which the store computed from the bits it received, and which are kept up to date with them, can be
+     * used to verify the bits: stores which can not provide such a checksum return null.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return a map with the "checksum" and "checksum_algorithm" keys, an empty map if no asset with ID exists in
+     * the store, or null if the store has no trustworthy checksum for the asset
+     * @throws java.io.IOException If a problem occurs while obtaining the checksum
+     */
+    public default Map<String, Object> getStoredChecksum(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -71,6 +123,18 @@ public interface BitStoreService {
      */
     public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException;
 
+    /**
+     * Set the modification time of an asset to the current time, without rewriting its bits, so that the cleanup
+     * considers it recent again. Stores which can not do so return false.
+     *
+     * @param bitstream The bitstream of the asset to refresh
+     * @return true if the asset has been refreshed, false if the store can not refresh it or it does not exist
+     * @throws java.io.IOException If a problem occurs while refreshing the asset
+     */
+    public default boolean touch(Bitstream bitstream) throws IOException {
+        return false;
+    }
+
     /**
      * Remove an asset from the asset store.
      *
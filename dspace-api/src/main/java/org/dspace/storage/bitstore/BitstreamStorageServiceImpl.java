@@ -9,22 +9,42 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.checker.service.ChecksumHistoryService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.BitstreamFormat;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.service.BitstreamService;
@@ -208,6 +228,11 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(bitstream.getStoreNumber()).about(bitstream, List.of("checksum", "checksum_algorithm"));
     }
 
+    @Override
+    public Map<String, Object> getStoredChecksum(Context context, Bitstream bitstream) throws IOException {
+        return this.getStore(bitstream.getStoreNumber()).getStoredChecksum(bitstream);
+    }
+
     @Override
     public boolean isRegisteredBitstream(String internalId) {
         return internalId.startsWith(REGISTERED_FLAG);
@@ -220,6 +245,19 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).get(bitstream, offset, length);
+    }
+
+    @Override
+    public Path getLocalPath(Context context, Bitstream bitstream) throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).getLocalPath(bitstream);
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -342,6 +380,161 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         }
     }
 
+    @Override
+    public void cleanup(boolean deleteDbRecords, boolean verbose, int batchSize, int threads)
+        throws SQLException, IOException, AuthorizeException {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+
+        int deletedBitstreamCount = bitstreamService.countDeletedBitstreams(context);
+        System.out.println("Found " + deletedBitstreamCount + " deleted bitstream to cleanup");
+        long processed = 0;
+        long removed = 0;
+        long expunged = 0;
+        long failed = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+            .setNameFormat("bitstore-cleanup-%d").setDaemon(true).build());
+        try {
+            context.turnOffAuthorisationSystem();
+
+            List<Bitstream> batch = bitstreamService.findDeletedBitstreams(context, null, batchSize);
+            while (!batch.isEmpty()) {
+                // look up the assets of the whole page concurrently
+                List<Future<Map<String, Object>>> lookups = new ArrayList<>(batch.size());
+                for (Bitstream bitstream : batch) {
+                    BitStoreService store = this.getStore(bitstream.getStoreNumber());
+                    lookups.add(executor.submit(() -> store.about(bitstream, List.of("size_bytes", "modified"))));
+                }
+                // the bitstreams whose asset is missing or can be removed, and those whose asset is present
+                List<Bitstream> expungeable = new ArrayList<>();
+                List<Bitstream> present = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    Bitstream bitstream = batch.get(i);
+                    Map<String, Object> receivedMetadata;
+                    try {
+                        receivedMetadata = Uninterruptibles.getUninterruptibly(lookups.get(i));
+                    } catch (ExecutionException e) {
+                        failed++;
+                        log.error("Unable to look up the asset of bitstream " + bitstream.getID(), e.getCause());
+                        continue;
+                    }
+                    if (MapUtils.isEmpty(receivedMetadata)) {
+                        log.debug("bitstore.about is empty, so file is not present");
+                        expungeable.add(bitstream);
+                    } else if (isRecent(Long.valueOf(receivedMetadata.get("modified").toString()))) {
+                        // This is a small chance that this is a file which is
+                        // being stored -- get it next time.
+                        log.debug("file is recent");
+                    } else {
+                        expungeable.add(bitstream);
+                        present.add(bitstream);
+                    }
+                }
+
+                // remove each asset once, unless it is still used by a bitstream which is kept (e.g. a version)
+                Set<UUID> expungedIds = deleteDbRecords
+                    ? expungeable.stream().map(Bitstream::getID).collect(Collectors.toSet()) : Set.of();
+                Map<String, Bitstream> removals = new LinkedHashMap<>();
+                for (Bitstream bitstream : present) {
+                    if (isRegisteredBitstream(bitstream.getInternalId())) {
+                        continue; // do not delete registered bitstreams
+                    }
+                    boolean used = bitstreamService.findDuplicateInternalIdentifier(context, bitstream).stream()
+                                                   .anyMatch(duplicate -> !expungedIds.contains(duplicate.getID()));
+                    if (!used) {
+                        removals.putIfAbsent(getAssetKey(bitstream), bitstream);
+                    }
+                }
+                Map<String, Future<?>> removing = new LinkedHashMap<>();
+                for (Map.Entry<String, Bitstream> removal : removals.entrySet()) {
+                    BitStoreService store = this.getStore(removal.getValue().getStoreNumber());
+                    removing.put(removal.getKey(), executor.submit(() -> {
+                        store.remove(removal.getValue());
+                        return null;
+                    }));
+                }
+                Set<String> failedRemovals = new HashSet<>();
+                for (Map.Entry<String, Future<?>> removal : removing.entrySet()) {
+                    Bitstream bitstream = removals.get(removal.getKey());
+                    try {
+                        Uninterruptibles.getUninterruptibly(removal.getValue());
+                        removed++;
+                        String message = ("Deleted bitstreamID " + bitstream.getID() + ", internalID "
+                            + bitstream.getInternalId());
+                        log.debug(message);
+                        if (verbose) {
+                            System.out.println(message);
+                        }
+                    } catch (ExecutionException e) {
+                        failed++;
+                        failedRemovals.add(removal.getKey());
+                        log.error("Unable to remove the asset of bitstream " + bitstream.getID(), e.getCause());
+                    }
+                }
+
+                // the records of the assets which could not be removed are kept, to retry them on the next run
+                if (deleteDbRecords) {
+                    for (Bitstream bitstream : expungeable) {
+                        if (failedRemovals.contains(getAssetKey(bitstream))) {
+                            continue;
+                        }
+                        UUID bid = bitstream.getID();
+                        if (verbose) {
+                            System.out.println(" - Deleting bitstream information (ID: " + bid + ")");
+                        }
+                        checksumHistoryService.deleteByBitstream(context, bitstream);
+                        if (verbose) {
+                            System.out.println(" - Deleting bitstream record from database (ID: " + bid + ")");
+                        }
+                        bitstreamService.expunge(context, bitstream);
+                        expunged++;
+                    }
+                }
+                UUID after = batch.get(batch.size() - 1).getID();
+                for (Bitstream bitstream : batch) {
+                    context.uncacheEntity(bitstream);
+                }
+                context.commit();
+
+                processed += batch.size();
+                String progress = String.format("Processed %d of %d deleted bitstreams: %d assets removed, "
+                                                    + "%d records deleted, %d failed",
+                                                processed, deletedBitstreamCount, removed, expunged, failed);
+                log.info(progress);
+                System.out.println(progress);
+
+                batch = bitstreamService.findDeletedBitstreams(context, after, batchSize);
+            }
+
+            System.out.print("Committing changes to the database...");
+            context.complete();
+            System.out.println(" Done!");
+        } catch (SQLException | IOException e) {
+            // The records of the current page are kept, the next run processes them again
+            if (verbose) {
+                System.err.println("Error: " + e.getMessage());
+            }
+            context.abort();
+            throw e;
+        } finally {
+            context.restoreAuthSystemState();
+            executor.shutdownNow();
+        }
+
+        if (failed > 0) {
+            throw new IOException(failed + " deleted bitstreams could not be cleaned up, run the cleanup again to "
+                                      + "retry them");
+        }
+    }
+
+    /**
+     * @return the key of the asset of a bitstream, shared by the bitstreams of the same store with the same
+     * internal ID
+     */
+    private String getAssetKey(Bitstream bitstream) {
+        return bitstream.getStoreNumber() + ":" + bitstream.getInternalId();
+    }
+
     @Nullable
     @Override
     public Long getLastModified(Bitstream bitstream) throws IOException {
@@ -413,14 +606,16 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                          "Name:" + bitstream
                 .getName() + ", SizeBytes:" + bitstream.getSizeBytes());
 
+            boolean shared = deleteOld && !findSharing(context, bitstream, assetstoreSource).isEmpty();
+            String sourceInternalId = bitstream.getInternalId();
             InputStream inputStream = retrieve(context, bitstream);
             this.getStore(assetstoreDestination).put(bitstream, inputStream);
             bitstream.setStoreNumber(assetstoreDestination);
             bitstreamService.update(context, bitstream);
 
-            if (deleteOld) {
+            if (deleteOld && !shared) {
                 log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
-                this.getStore(assetstoreSource).remove(bitstream);
+                remove(this.getStore(assetstoreSource), bitstream, sourceInternalId);
             }
 
             processedCounter++;
@@ -438,6 +633,241 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                 "] completed. " + processedCounter + " objects were transferred.");
     }
 
+    @Override
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, Path checkpoint)
+        throws IOException, SQLException, AuthorizeException {
+        BitStoreService source = this.getStore(assetstoreSource);
+        BitStoreService destination = this.getStore(assetstoreDestination);
+        UUID after = readCheckpoint(checkpoint, assetstoreSource, assetstoreDestination);
+        if (after != null) {
+            log.info("Resuming the migration after bitstream " + after + " (from " + checkpoint + ")");
+        }
+        // with less bitstreams than threads in a batch, some threads would be idle
+        int batchSize = Math.max(batchCommitSize, threads);
+        long total = bitstreamService.countByStoreNumber(context, assetstoreSource);
+        long migrated = 0;
+        long migratedBytes = 0;
+        long failed = 0;
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+            .setNameFormat("bitstore-migrate-%d").setDaemon(true).build());
+        try {
+            List<Bitstream> batch = bitstreamService.findByStoreNumber(context, assetstoreSource, after, batchSize);
+            while (!batch.isEmpty()) {
+                // the other bitstreams of the source assetstore sharing the asset of each bitstream
+                Map<UUID, List<UUID>> sharing = new HashMap<>();
+                if (deleteOld) {
+                    for (Bitstream bitstream : batch) {
+                        sharing.put(bitstream.getID(), findSharing(context, bitstream, assetstoreSource));
+                    }
+                }
+                // the workers get detached copies of the bitstreams, as the session of the context is not thread safe
+                List<Future<DetachedBitstream>> copies = new ArrayList<>(batch.size());
+                Map<UUID, String> sourceInternalIds = new HashMap<>();
+                for (Bitstream bitstream : batch) {
+                    DetachedBitstream detached = new DetachedBitstream(context, bitstream);
+                    sourceInternalIds.put(bitstream.getID(), bitstream.getInternalId());
+                    copies.add(executor.submit(() -> copy(detached, source, destination)));
+                }
+                // the destination store may have changed the internal ID, size and checksum of the copies
+                List<Bitstream> copied = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        DetachedBitstream detached = Uninterruptibles.getUninterruptibly(copies.get(i));
+                        Bitstream bitstream = batch.get(i);
+                        bitstream.setInternalId(detached.getInternalId());
+                        bitstream.setSizeBytes(detached.getSizeBytes());
+                        bitstream.setChecksum(detached.getChecksum());
+                        bitstream.setChecksumAlgorithm(detached.getChecksumAlgorithm());
+                        copied.add(bitstream);
+                    } catch (ExecutionException e) {
+                        failed++;
+                        log.error("Unable to copy bitstream:" + batch.get(i).getID() + " from assetstore["
+                                      + assetstoreSource + "] to assetstore[" + assetstoreDestination + "]",
+                                  e.getCause());
+                    }
+                }
+                for (Bitstream bitstream : copied) {
+                    bitstream.setStoreNumber(assetstoreDestination);
+                    bitstreamService.update(context, bitstream);
+                    migratedBytes += bitstream.getSizeBytes();
+                }
+                migrated += copied.size();
+                context.commit();
+
+                // only remove the old copies once the new store numbers are committed, and once all the bitstreams
+                // sharing them have been migrated
+                if (deleteOld) {
+                    Set<UUID> copiedIds = copied.stream().map(Bitstream::getID).collect(Collectors.toSet());
+                    for (Bitstream bitstream : copied) {
+                        if (!copiedIds.containsAll(sharing.get(bitstream.getID()))) {
+                            continue;
+                        }
+                        log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource
+                                     + "]");
+                        remove(source, bitstream, sourceInternalIds.get(bitstream.getID()));
+                    }
+                }
+                after = batch.get(batch.size() - 1).getID();
+                // after a failure, the checkpoint is not moved anymore so that the next run retries the failed
+                // bitstreams (the migrated ones are skipped as they are not in the source assetstore anymore)
+                if (failed == 0) {
+                    writeCheckpoint(checkpoint, assetstoreSource, assetstoreDestination, after);
+                }
+                for (Bitstream bitstream : batch) {
+                    context.uncacheEntity(bitstream);
+                }
+                reportProgress(migrated, migratedBytes, failed, total, System.nanoTime() - start);
+
+                batch = bitstreamService.findByStoreNumber(context, assetstoreSource, after, batchSize);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info(
+            "Assetstore Migration from assetstore[" + assetstoreSource + "] to assetstore[" + assetstoreDestination +
+                "] completed. " + migrated + " objects were transferred, " + failed + " failed.");
+        if (failed > 0) {
+            throw new IOException(failed + " bitstreams could not be migrated, run the migration again to retry them");
+        }
+    }
+
+    /**
+     * Copy the bits of a bitstream to another store, checking that the copy has the same checksum. This runs in the
+     * threads of the migration, on a detached copy of the bitstream.
+     *
+     * @return the detached bitstream, with the internal ID, size and checksum set by the destination store
+     */
+    private DetachedBitstream copy(DetachedBitstream bitstream, BitStoreService source, BitStoreService destination)
+        throws IOException {
+        log.info("Copying bitstream:" + bitstream.getID() + " Name:" + bitstream.getName() + ", SizeBytes:"
+                     + bitstream.getSizeBytes());
+        String checksum = bitstream.getChecksum();
+        try (InputStream inputStream = source.get(bitstream)) {
+            destination.put(bitstream, inputStream);
+        }
+        if (checksum != null && !checksum.equals(bitstream.getChecksum())) {
+            throw new IOException("The copy of bitstream " + bitstream.getID() + " has checksum "
+                                      + bitstream.getChecksum() + " instead of " + checksum);
+        }
+        return bitstream;
+    }
+
+    /**
+     * A copy of a bitstream which is not attached to any session, so that the stores can read and update it from
+     * other threads. Its name and format are resolved when it is created, in the thread of the context.
+     */
+    private static class DetachedBitstream extends Bitstream {
+
+        private final String name;
+        private final BitstreamFormat format;
+
+        DetachedBitstream(Context context, Bitstream bitstream) throws SQLException {
+            this.id = bitstream.getID();
+            this.name = bitstream.getName();
+            this.format = bitstream.getFormat(context);
+            if (format != null) {
+                // initialize the format, which may be a lazy proxy
+                format.getMIMEType();
+            }
+            setInternalId(bitstream.getInternalId());
+            setStoreNumber(bitstream.getStoreNumber());
+            setSizeBytes(bitstream.getSizeBytes());
+            setChecksum(bitstream.getChecksum());
+            setChecksumAlgorithm(bitstream.getChecksumAlgorithm());
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public BitstreamFormat getFormat(Context context) {
+            return format;
+        }
+    }
+
+    /**
+     * Find the other bitstreams of a store which share the asset of a bitstream, e.g. the bitstreams cloned when
+     * versioning an item, or the bitstreams with the same content in a {@link DeduplicatingBitStoreService}
+     */
+    private List<UUID> findSharing(Context context, Bitstream bitstream, Integer storeNumber) throws SQLException {
+        List<UUID> sharing = new ArrayList<>();
+        for (Bitstream duplicate : bitstreamService.findDuplicateInternalIdentifier(context, bitstream)) {
+            if (storeNumber.equals(duplicate.getStoreNumber())) {
+                sharing.add(duplicate.getID());
+            }
+        }
+        return sharing;
+    }
+
+    /**
+     * Remove the asset of a bitstream from a store, given its internal ID in that store
+     */
+    private void remove(BitStoreService store, Bitstream bitstream, String internalId) throws IOException {
+        String currentInternalId = bitstream.getInternalId();
+        bitstream.setInternalId(internalId);
+        try {
+            store.remove(bitstream);
+        } finally {
+            bitstream.setInternalId(currentInternalId);
+        }
+    }
+
+    private void reportProgress(long migrated, long migratedBytes, long failed, long total, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        double megabytes = migratedBytes / (1024.0 * 1024.0);
+        long remaining = Math.max(total - migrated - failed, 0);
+        long etaMillis = migrated > 0 ? (long) (remaining * seconds / migrated * 1000) : 0;
+        String progress = String.format("Migrated %d of %d bitstreams (%.1f MB, %.2f MB/s), %d failed, ETA %s",
+                                        migrated, total, megabytes, megabytes / seconds, failed,
+                                        DurationFormatUtils.formatDuration(etaMillis, "HH:mm:ss"));
+        log.info(progress);
+        System.out.println(progress);
+    }
+
+    /**
+     * @return the last migrated bitstream recorded in the checkpoint, or null to start from the first bitstream
+     */
+    private UUID readCheckpoint(Path checkpoint, Integer assetstoreSource, Integer assetstoreDestination)
+        throws IOException {
+        if (checkpoint == null || !Files.exists(checkpoint)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!String.valueOf(assetstoreSource).equals(properties.getProperty("source"))
+            || !String.valueOf(assetstoreDestination).equals(properties.getProperty("destination"))) {
+            throw new IllegalArgumentException("The checkpoint " + checkpoint + " is for the migration from assetstore["
+                                                   + properties.getProperty("source") + "] to assetstore["
+                                                   + properties.getProperty("destination") + "]");
+        }
+        String last = properties.getProperty("last");
+        return last != null ? UUID.fromString(last) : null;
+    }
+
+    private void writeCheckpoint(Path checkpoint, Integer assetstoreSource, Integer assetstoreDestination, UUID last)
+        throws IOException {
+        if (checkpoint == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("source", String.valueOf(assetstoreSource));
+        properties.setProperty("destination", String.valueOf(assetstoreDestination));
+        properties.setProperty("last", last.toString());
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Assetstore migration checkpoint");
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
     @Override
     public void printStores(Context context) {
         try {
@@ -469,6 +899,7 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         this.stores = stores;
     }
 
+    @Override
     public Map<Integer, BitStoreService> getStores() {
         return stores;
     }
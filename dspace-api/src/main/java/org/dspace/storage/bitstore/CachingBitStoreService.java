@@ -0,0 +1,569 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+
+/**
+ * Asset store decorator which keeps a local copy of the bitstreams read from another (typically remote) store, so
+ * that popular bitstreams are not fetched again on every request.
+ * <p>
+ * Cached copies are files of a local directory, named after the internal ID and the checksum of the bitstreams. The
+ * total size of the cache is bounded: the least recently used copies are removed to make room for new ones. When
+ * several requests read the same bitstream which is not cached yet, it is fetched only once from the wrapped store and
+ * all requests wait for that copy. Bitstreams without checksum, or larger than the maximum object size, are always
+ * read from the wrapped store.
+ * <p>
+ * The cache directory may be shared by several processes, e.g. the web application and command line scripts. The
+ * modification time of a copy is updated whenever it is used, and copies used more recently than the minimum
+ * eviction age are never evicted, so that a process does not remove the copies another one is sending. Before
+ * evicting, the size of the cache is counted again from the directory, which includes the copies of the other
+ * processes.
+ * <p>
+ * Writes and removals go to the wrapped store. Usage counters (hits, misses and bytes not read from the wrapped store)
+ * are available to monitor the efficiency of the cache.
+ */
+public class CachingBitStoreService implements BitStoreService {
+
+    private static final Logger log = LogManager.getLogger(CachingBitStoreService.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // temporary files older than this are left over by an interrupted fetch, younger ones may still be written
+    private static final long STALE_TEMP_MILLIS = 60L * 60 * 1000;
+
+    // the size of the cache is counted again from the directory at least this often, when copies are added, to
+    // include the copies added by other processes
+    private static final long COUNT_INTERVAL_MILLIS = 60L * 1000;
+
+    // when the cache is full, it is reduced to this fraction of its maximum size, so that it is not counted again
+    // on every new copy
+    private static final double EVICTION_TARGET = 0.9;
+
+    /**
+     * The wrapped store
+     */
+    private BitStoreService store;
+
+    /**
+     * The directory holding the cached copies
+     */
+    private String cacheDir;
+
+    /**
+     * The maximum total size of the cached copies, in bytes
+     */
+    private long maxSize = 1024L * 1024 * 1024;
+
+    /**
+     * The maximum size of a single cached copy, in bytes
+     */
+    private long maxObjectSize = 64L * 1024 * 1024;
+
+    /**
+     * The minimum time since a copy was last used before it can be evicted, in milliseconds, so that copies which are
+     * being sent (possibly by another process sharing the cache directory) are kept
+     */
+    private long minEvictionAge = 60L * 1000;
+
+    private boolean initialized = false;
+
+    private Path baseDir;
+
+    // The size of the cached copies, by key, from the least to the most recently used. Guarded by itself.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+    // the time the copies of the cache directory were last counted
+    private volatile long counted = 0;
+
+    // The copies being fetched from the wrapped store, by key
+    private final ConcurrentMap<String, CompletableFuture<Path>> fills = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public CachingBitStoreService() {
+    }
+
+    /**
+     * Initialize the wrapped store, and register the copies left in the cache directory, from the oldest to the
+     * newest.
+     *
+     * @throws IOException if the cache directory can not be created or read
+     */
+    @Override
+    public void init() throws IOException {
+        if (!store.isInitialized()) {
+            store.init();
+        }
+        baseDir = Paths.get(cacheDir);
+        Files.createDirectories(baseDir);
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+        count(true);
+        evict();
+        log.info("Initialized the bitstream cache in {}: {} copies, {} bytes", baseDir, getEntries(), getSize());
+        this.initialized = true;
+    }
+
+    /**
+     * Count the copies of the cache directory again, as other processes may have added or removed some. Copies which
+     * were not registered yet are considered less recently used than the registered ones, from the oldest to the
+     * newest.
+     *
+     * @param deleteTemp whether to delete the temporary files left over by interrupted fetches
+     * @throws IOException if the cache directory can not be read
+     */
+    private void count(boolean deleteTemp) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(baseDir)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        long staleTemp = System.currentTimeMillis() - STALE_TEMP_MILLIS;
+        Map<String, FileTime> modified = new HashMap<>();
+        Map<String, Long> sizes = new HashMap<>();
+        for (Path file : files) {
+            try {
+                FileTime fileTime = Files.getLastModifiedTime(file);
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    if (deleteTemp && fileTime.toMillis() < staleTemp) {
+                        Files.deleteIfExists(file);
+                    }
+                    continue;
+                }
+                sizes.put(file.getFileName().toString(), Files.size(file));
+                modified.put(file.getFileName().toString(), fileTime);
+            } catch (NoSuchFileException e) {
+                // removed by another process in the meantime
+            }
+        }
+        synchronized (entries) {
+            LinkedHashMap<String, Long> known = new LinkedHashMap<>(entries);
+            entries.clear();
+            size = 0;
+            modified.keySet().stream()
+                    .filter(key -> !known.containsKey(key))
+                    .sorted(Comparator.comparing(modified::get))
+                    .forEach(key -> entries.put(key, sizes.get(key)));
+            known.keySet().stream()
+                 .filter(sizes::containsKey)
+                 .forEach(key -> entries.put(key, sizes.get(key)));
+            for (long fileSize : entries.values()) {
+                size += fileSize;
+            }
+        }
+        counted = System.currentTimeMillis();
+    }
+
+    @Override
+    public String generateId() {
+        return store.generateId();
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        Path file = getCachedFile(bitstream);
+        if (file == null) {
+            return store.get(bitstream);
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            // evicted in the meantime
+            return store.get(bitstream);
+        }
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        Path file = getCachedFile(bitstream);
+        if (file == null) {
+            return store.get(bitstream, offset, length);
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // evicted in the meantime
+            return store.get(bitstream, offset, length);
+        }
+        try {
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                                     .setInputStream(Channels.newInputStream(channel))
+                                     .setMaxCount(length)
+                                     .get();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the cached copy of a bitstream, if it is already cached: the bitstream is never fetched by this method, so
+     * that callers can stream it from the wrapped store instead of waiting for the copy. The copy is marked as used,
+     * so that it is not evicted for at least the minimum eviction age.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return the cached copy, or the local file of the wrapped store if the bitstream is not cached
+     * @throws IOException If a problem occurs while locating the file
+     */
+    @Override
+    public Path getLocalPath(Bitstream bitstream) throws IOException {
+        String key = getKey(bitstream);
+        Path file = key != null ? findCachedFile(key) : null;
+        if (file != null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(bitstream.getSizeBytes());
+            return file;
+        }
+        return store.getLocalPath(bitstream);
+    }
+
+    @Override
+    public Map<String, Object> getStoredChecksum(Bitstream bitstream) throws IOException {
+        return store.getStoredChecksum(bitstream);
+    }
+
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        store.put(bitstream, inputStream);
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return store.about(bitstream, attrs);
+    }
+
+    @Override
+    public boolean touch(Bitstream bitstream) throws IOException {
+        return store.touch(bitstream);
+    }
+
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        store.remove(bitstream);
+        String key = getKey(bitstream);
+        if (key != null) {
+            evict(key);
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return store.isEnabled();
+    }
+
+    /**
+     * @param bitstream DSpace Bitstream object
+     * @return the cached copy of the bitstream, fetched from the wrapped store if needed, or null if the bitstream
+     * can not be cached
+     * @throws IOException If a problem occurs while fetching the bitstream
+     */
+    protected Path getCachedFile(Bitstream bitstream) throws IOException {
+        String key = getKey(bitstream);
+        if (key == null || bitstream.getSizeBytes() > Math.min(maxObjectSize, maxSize)) {
+            return null;
+        }
+        Path file = findCachedFile(key);
+        if (file != null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(bitstream.getSizeBytes());
+            return file;
+        }
+        file = getFile(key);
+
+        CompletableFuture<Path> fill = new CompletableFuture<>();
+        CompletableFuture<Path> pending = fills.putIfAbsent(key, fill);
+        if (pending != null) {
+            // fetched by another request, wait for it instead of fetching the same bits again
+            Path fetched = await(pending);
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(bitstream.getSizeBytes());
+            return fetched;
+        }
+        misses.incrementAndGet();
+        try {
+            fetch(bitstream, key, file);
+            fill.complete(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            fill.completeExceptionally(e);
+            throw e;
+        } finally {
+            fills.remove(key, fill);
+        }
+    }
+
+    /**
+     * Copy a bitstream from the wrapped store to the cache, then make room for it
+     */
+    private void fetch(Bitstream bitstream, String key, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), key, TEMP_SUFFIX);
+        long fileSize;
+        try {
+            try (InputStream in = store.get(bitstream)) {
+                fileSize = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        synchronized (entries) {
+            Long previous = entries.put(key, fileSize);
+            size += fileSize - (previous != null ? previous : 0);
+        }
+        evict();
+    }
+
+    /**
+     * Find a cached copy, which may have been fetched by another process sharing the cache directory, and mark it as
+     * the most recently used one
+     *
+     * @return the cached copy, or null if there is none
+     */
+    private Path findCachedFile(String key) throws IOException {
+        Path file = getFile(key);
+        long fileSize;
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            fileSize = Files.size(file);
+        } catch (NoSuchFileException e) {
+            // not cached, or evicted by another process
+            synchronized (entries) {
+                Long removed = entries.remove(key);
+                if (removed != null) {
+                    size -= removed;
+                }
+            }
+            return null;
+        }
+        synchronized (entries) {
+            Long previous = entries.put(key, fileSize);
+            size += fileSize - (previous != null ? previous : 0);
+        }
+        return file;
+    }
+
+    private Path await(CompletableFuture<Path> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the bitstream to be cached");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Remove the least recently used copies, which have not been used for the minimum eviction age, until the cache
+     * fits in its maximum size
+     */
+    private void evict() {
+        synchronized (entries) {
+            if (size <= maxSize && System.currentTimeMillis() - counted < COUNT_INTERVAL_MILLIS) {
+                return;
+            }
+        }
+        try {
+            count(false);
+        } catch (IOException e) {
+            log.warn("Unable to count the copies of the bitstream cache in {}", baseDir, e);
+        }
+        synchronized (entries) {
+            if (size <= maxSize) {
+                return;
+            }
+        }
+        long target = (long) (maxSize * EVICTION_TARGET);
+        long lastUsed = System.currentTimeMillis() - minEvictionAge;
+        while (true) {
+            String key;
+            synchronized (entries) {
+                if (size <= target || entries.isEmpty()) {
+                    return;
+                }
+                key = entries.keySet().iterator().next();
+            }
+            try {
+                if (Files.getLastModifiedTime(getFile(key)).toMillis() > lastUsed) {
+                    // the other copies have been used even more recently
+                    log.debug("The bitstream cache in {} exceeds its maximum size, all its copies are in use", baseDir);
+                    return;
+                }
+            } catch (NoSuchFileException e) {
+                // removed by another process, only forget it
+            } catch (IOException e) {
+                log.warn("Unable to check the cached copy {}", key, e);
+            }
+            evict(key);
+        }
+    }
+
+    private void evict(String key) {
+        synchronized (entries) {
+            Long removed = entries.remove(key);
+            if (removed == null) {
+                return;
+            }
+            size -= removed;
+        }
+        deleteFile(key);
+    }
+
+    private void deleteFile(String key) {
+        try {
+            // readers which already opened the file keep reading it
+            Files.deleteIfExists(getFile(key));
+        } catch (IOException e) {
+            log.warn("Unable to delete the cached copy {}", key, e);
+        }
+    }
+
+    /**
+     * @return the name of the cached copy of a bitstream, or null if the bitstream has no checksum
+     */
+    protected String getKey(Bitstream bitstream) {
+        String checksum = bitstream.getChecksum();
+        if (StringUtils.isBlank(checksum) || StringUtils.isBlank(bitstream.getInternalId())) {
+            return null;
+        }
+        return (bitstream.getInternalId() + "-" + checksum).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * @return the path of a cached copy, in a sub directory named after the last characters of its key so that
+     * the directories do not get too large
+     */
+    private Path getFile(String key) {
+        return baseDir.resolve(key.substring(Math.max(0, key.length() - 2))).resolve(key);
+    }
+
+    /**
+     * @return the number of reads served from the cache, including those which waited for another request to fetch
+     * the bitstream
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of reads which fetched the bitstream from the wrapped store into the cache
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of bytes served from the cache instead of being fetched from the wrapped store
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * @return the total size of the cached copies, in bytes
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * @return the number of cached copies
+     */
+    public int getEntries() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public BitStoreService getStore() {
+        return store;
+    }
+
+    public void setStore(BitStoreService store) {
+        this.store = store;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMinEvictionAge() {
+        return minEvictionAge;
+    }
+
+    public void setMinEvictionAge(long minEvictionAge) {
+        this.minEvictionAge = minEvictionAge;
+    }
+
+    public long getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    public void setMaxObjectSize(long maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+}
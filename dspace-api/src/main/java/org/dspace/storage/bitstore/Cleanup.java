@@ -55,6 +55,11 @@ public class Cleanup {
 
             options.addOption("l", "leave", false, "Leave database records but delete file from assetstore");
             options.addOption("v", "verbose", false, "Provide verbose output");
+            options.addOption("b", "batch-size", true,
+                              "Process the deleted bitstreams in pages of this size, each committed separately, so " +
+                                  "that the cleanup can be interrupted and run again. (Default: 100)");
+            options.addOption("t", "threads", true,
+                              "Number of threads looking up and removing the files of a page. (Default: 1)");
             options.addOption("h", "help", false, "Help");
 
             try {
@@ -77,8 +82,15 @@ public class Cleanup {
                 deleteDbRecords = false;
             }
             log.debug("leave db records = " + deleteDbRecords);
-            StorageServiceFactory.getInstance().getBitstreamStorageService()
-                                 .cleanup(deleteDbRecords, line.hasOption('v'));
+            if (line.hasOption('b') || line.hasOption('t')) {
+                int batchSize = line.hasOption('b') ? Integer.parseInt(line.getOptionValue('b')) : 100;
+                int threads = line.hasOption('t') ? Integer.parseInt(line.getOptionValue('t')) : 1;
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'), batchSize, threads);
+            } else {
+                StorageServiceFactory.getInstance().getBitstreamStorageService()
+                                     .cleanup(deleteDbRecords, line.hasOption('v'));
+            }
 
             System.exit(0);
         } catch (IOException | SQLException | AuthorizeException e) {
@@ -12,12 +12,17 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Utils;
@@ -80,6 +85,41 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset, reading the file from the given position without reading the
+     * bytes before it.
+     *
+     * @param bitstream The bitstream to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(getFile(bitstream).toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                                     .setInputStream(Channels.newInputStream(channel))
+                                     .setMaxCount(length)
+                                     .get();
+        } catch (Exception e) {
+            if (channel != null) {
+                channel.close();
+            }
+            log.error("get(" + bitstream.getInternalId() + ", " + offset + ", " + length + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Path getLocalPath(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file.toPath() : null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -147,6 +187,12 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    @Override
+    public boolean touch(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() && file.setLastModified(System.currentTimeMillis());
+    }
+
     /**
      * Remove an asset from the asset store. An irreversible operation.
      *
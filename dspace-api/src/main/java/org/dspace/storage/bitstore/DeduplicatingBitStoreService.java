@@ -0,0 +1,216 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.util.concurrent.Striped;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Utils;
+
+/**
+ * Asset store decorator which stores identical contents only once. The internal ID of a stored bitstream is replaced
+ * by the SHA-256 digest of its content: if the wrapped store already holds an asset with that ID, the bitstream
+ * simply refers to it and nothing is written.
+ * <p>
+ * The bitstreams referring to the same content share their internal ID, like the bitstreams cloned when versioning
+ * an item, so the number of bitstreams with a given internal ID is the reference count of the content. The cleanup
+ * only removes an asset from the store once the last bitstream referring to it is deleted.
+ * <p>
+ * The incoming stream is first written to a temporary local file, as its digest is only known once it has been read
+ * entirely. Reads and removals go to the wrapped store.
+ * <p>
+ * An existing asset is refreshed when a new bitstream reuses it, since the cleanup does not yet see the uncommitted
+ * bitstream and only spares recent assets. The wrapped store should support {@link BitStoreService#touch}: other
+ * stores get the content written again, which must then replace the asset atomically.
+ */
+public class DeduplicatingBitStoreService implements BitStoreService {
+
+    private static final Logger log = LogManager.getLogger(DeduplicatingBitStoreService.class);
+
+    private static final String CSA = "MD5";
+    private static final String CONTENT_DIGEST = "SHA-256";
+    private static final String SIZE_BYTES = "size_bytes";
+
+    /**
+     * The wrapped store
+     */
+    private BitStoreService store;
+
+    /**
+     * The directory of the temporary files, by default the temporary directory of the JVM
+     */
+    private String tempDir;
+
+    private boolean initialized = false;
+
+    // Serializes the concurrent writes of the same content
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    public DeduplicatingBitStoreService() {
+    }
+
+    @Override
+    public void init() throws IOException {
+        if (!store.isInitialized()) {
+            store.init();
+        }
+        if (StringUtils.isNotBlank(tempDir)) {
+            Files.createDirectories(Paths.get(tempDir));
+        }
+        this.initialized = true;
+    }
+
+    @Override
+    public String generateId() {
+        return store.generateId();
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        return store.get(bitstream);
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        return store.get(bitstream, offset, length);
+    }
+
+    @Override
+    public Path getLocalPath(Bitstream bitstream) throws IOException {
+        return store.getLocalPath(bitstream);
+    }
+
+    @Override
+    public Map<String, Object> getStoredChecksum(Bitstream bitstream) throws IOException {
+        return store.getStoredChecksum(bitstream);
+    }
+
+    /**
+     * Store a stream of bits, unless the wrapped store already holds the same content. In both cases, the internal
+     * ID of the bitstream is set to the digest of the content, and its size and checksum are set.
+     *
+     * @param bitstream   The bitstream object
+     * @param inputStream The stream of bits
+     * @throws java.io.IOException If a problem occurs while storing the bits
+     */
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        Path temp = StringUtils.isNotBlank(tempDir) ? Files.createTempFile(Paths.get(tempDir), "dedup", ".tmp")
+            : Files.createTempFile("dedup", ".tmp");
+        try {
+            long size;
+            String checksum;
+            String contentId;
+            try (
+                DigestInputStream checksumStream = new DigestInputStream(inputStream, MessageDigest.getInstance(CSA));
+                DigestInputStream contentStream = new DigestInputStream(checksumStream,
+                                                                        MessageDigest.getInstance(CONTENT_DIGEST))
+            ) {
+                size = Files.copy(contentStream, temp, StandardCopyOption.REPLACE_EXISTING);
+                checksum = Utils.toHex(checksumStream.getMessageDigest().digest());
+                contentId = Utils.toHex(contentStream.getMessageDigest().digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+
+            bitstream.setInternalId(contentId);
+            Lock lock = locks.get(contentId);
+            lock.lock();
+            try {
+                Map<String, Object> existing = store.about(bitstream, List.of(SIZE_BYTES));
+                if (MapUtils.isNotEmpty(existing) && existing.get(SIZE_BYTES) != null
+                    && Long.parseLong(existing.get(SIZE_BYTES).toString()) == size) {
+                    log.debug("Content of bitstream {} is already stored as {}", bitstream.getID(), contentId);
+                    // The asset may only be referred to by deleted bitstreams: make it recent again, so that the
+                    // cleanup does not remove it before the new bitstream is committed
+                    if (!store.touch(bitstream)) {
+                        try (InputStream in = Files.newInputStream(temp)) {
+                            store.put(bitstream, in);
+                        }
+                    }
+                } else {
+                    // also replaces an incomplete copy of the content
+                    try (InputStream in = Files.newInputStream(temp)) {
+                        store.put(bitstream, in);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            bitstream.setSizeBytes(size);
+            bitstream.setChecksum(checksum);
+            bitstream.setChecksumAlgorithm(CSA);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return store.about(bitstream, attrs);
+    }
+
+    @Override
+    public boolean touch(Bitstream bitstream) throws IOException {
+        return store.touch(bitstream);
+    }
+
+    /**
+     * Remove the content of a bitstream from the wrapped store. As it may be shared with other bitstreams, callers
+     * must check that no other bitstream refers to it anymore.
+     *
+     * @param bitstream The bitstream of the asset to delete
+     * @throws java.io.IOException If a problem occurs while removing the asset
+     */
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        store.remove(bitstream);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return store.isEnabled();
+    }
+
+    public BitStoreService getStore() {
+        return store;
+    }
+
+    public void setStore(BitStoreService store) {
+        this.store = store;
+    }
+
+    public String getTempDir() {
+        return tempDir;
+    }
+
+    public void setTempDir(String tempDir) {
+        this.tempDir = tempDir;
+    }
+}
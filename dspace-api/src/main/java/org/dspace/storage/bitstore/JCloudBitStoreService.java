@@ -35,6 +35,7 @@ import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions.Builder;
 import org.jclouds.io.ContentMetadata;
@@ -331,6 +332,33 @@ public class JCloudBitStoreService extends BaseBitStoreService {
         throw new IOException("File not found: " + file);
     }
 
+    /**
+     * Retrieves a range of a bitstream, only requesting that range from the cloud storage.
+     *
+     * @param bitstream the bitstream to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return the InputStream of the range
+     * @throws IOException if an error occurs during retrieval
+     */
+    @Override
+    public InputStream get(final Bitstream bitstream, long offset, long length) throws IOException {
+        final File file = getFile(bitstream);
+        BlobStore blobStore = blobStoreContext.getBlobStore();
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        GetOptions options = length < Long.MAX_VALUE - offset
+            ? GetOptions.Builder.range(offset, offset + length - 1)
+            : GetOptions.Builder.startAt(offset);
+        Blob blob = blobStore.getBlob(getContainer(), file.toString(), options);
+        if (blob == null) {
+            throw new IOException("File not found: " + file);
+        }
+        refreshContextIfNeeded();
+        return blob.getPayload().openStream();
+    }
+
     /**
      * Removes a bitstream from the cloud storage.
      *
@@ -555,6 +583,32 @@ public class JCloudBitStoreService extends BaseBitStoreService {
         return null;
     }
 
+    /**
+     * Gets the Content-MD5 recorded by the blob store for a bitstream, if any.
+     *
+     * @param bitstream the bitstream to get the checksum of
+     * @return the checksum and its algorithm, an empty map if the blob does not exist, or null if the blob store
+     * did not record its Content-MD5
+     * @throws IOException if an error occurs during retrieval
+     */
+    @Override
+    public Map<String, Object> getStoredChecksum(Bitstream bitstream) throws IOException {
+        BlobMetadata blobMetadata = blobStoreContext.getBlobStore()
+                                                    .blobMetadata(getContainer(), getFile(bitstream).toString());
+        if (blobMetadata == null) {
+            return new HashMap<>();
+        }
+        ContentMetadata contentMetadata = blobMetadata.getContentMetadata();
+        HashCode hashCode = contentMetadata != null ? contentMetadata.getContentMD5AsHashCode() : null;
+        if (hashCode == null) {
+            return null;
+        }
+        Map<String, Object> checksum = new HashMap<>();
+        checksum.put("checksum", Utils.toHex(hashCode.asBytes()));
+        checksum.put("checksum_algorithm", CSA);
+        return checksum;
+    }
+
     /**
      * Gets the file corresponding to a bitstream.
      *
@@ -9,18 +9,31 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
@@ -31,13 +44,17 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.transfer.Download;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +62,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -108,6 +126,51 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * The maximum number of chunks of a single download fetched ahead of the reader, concurrently. Default 4
+     */
+    private int downloadConcurrency = 4;
+
+    /**
+     * The maximum number of chunks fetched ahead of their readers at the same time, by all the streams of this
+     * store. Each chunk holds up to {@code bufferSize} bytes, so this bounds the memory used for read-ahead. A stream
+     * only downloads the chunk it is reading when no buffer is available. Default 32
+     */
+    private int maxDownloadBuffers = 32;
+
+    /**
+     * Permits for the shared download buffers, and the shared buffers which are not in use, to be reused by any
+     * stream
+     */
+    private Semaphore downloadBufferPermits = null;
+    private final Deque<byte[]> freeDownloadBuffers = new ConcurrentLinkedDeque<>();
+
+    /**
+     * The maximum number of threads uploading parts and downloading chunks at the same time. Default 16
+     */
+    private int transferThreads = 16;
+
+    /**
+     * The maximum number of parts of a multipart upload, as defined by S3
+     */
+    private static final int MAX_UPLOAD_PARTS = 10000;
+
+    /**
+     * The size of the parts a bitstream is uploaded in. Streams smaller than this are uploaded in a single request.
+     * S3 requires parts (except the last one) of at least 5Mb, and at most 10000 parts per object. Default 16Mb.
+     */
+    private int uploadPartSize = 16 * 1024 * 1024;
+
+    /**
+     * The maximum number of parts of a single upload kept in memory, and uploaded concurrently. Default 4
+     */
+    private int uploadConcurrency = 4;
+
+    /**
+     * Threads uploading the parts of multipart uploads, and downloading the chunks of objects
+     */
+    private ExecutorService transferExecutor = null;
+
     /**
      * container for all the assets
      */
@@ -123,12 +186,6 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private AmazonS3 s3Service = null;
 
-    /**
-     * S3 transfer manager
-     * this is reused between put calls to use less resources for multiple uploads
-     */
-    private TransferManager tm = null;
-
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
 
@@ -233,10 +290,15 @@ public class S3BitStoreService extends BaseBitStoreService {
 
         log.info("AWS S3 Assetstore ready to go! bucket:" + bucketName);
 
-        tm = FunctionalUtils.getDefaultOrBuild(tm, () -> TransferManagerBuilder.standard()
-                                                               .withAlwaysCalculateMultipartMd5(true)
-                                                               .withS3Client(s3Service)
-                                                               .build());
+        transferExecutor = FunctionalUtils.getDefaultOrBuild(transferExecutor, () -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                transferThreads, transferThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("s3-transfer-%d").setDaemon(true).build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+        downloadBufferPermits = FunctionalUtils.getDefaultOrBuild(downloadBufferPermits,
+                                                                  () -> new Semaphore(maxDownloadBuffers));
     }
 
     /**
@@ -267,6 +329,27 @@ public class S3BitStoreService extends BaseBitStoreService {
         return new S3LazyInputStream(key, bufferSize, bitstream.getSizeBytes());
     }
 
+    /**
+     * Retrieve a range of the bits for the asset, only downloading the chunks of that range.
+     *
+     * @param bitstream The asset to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+        long size = bitstream.getSizeBytes();
+        long end = length < size - offset ? offset + length : size;
+        return new S3LazyInputStream(key, bufferSize, offset, end);
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -274,6 +357,10 @@ public class S3BitStoreService extends BaseBitStoreService {
      * If this method returns successfully, the bits have been stored.
      * If an exception is thrown, the bits have not been stored.
      * </p>
+     * <p>
+     * The stream is uploaded while it is read, without being copied to a local file first, see
+     * {@link #upload(String, InputStream)}. Its length does not need to be known in advance.
+     * </p>
      *
      * @param in The stream of bits to store
      * @throws java.io.IOException If a problem occurs while storing the bits
@@ -281,39 +368,120 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
         try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
                 // Read through a digest input stream that will work out the MD5
                 DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
         ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
-
-            Upload upload = tm.upload(bucketName, key, scratchFile);
+            long size = upload(key, dis);
 
-            upload.waitForUploadResult();
-
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
             bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
             bitstream.setChecksumAlgorithm(CSA);
 
-        } catch (AmazonClientException | IOException | InterruptedException e) {
+        } catch (AmazonClientException | IOException e) {
             log.error("put(" + bitstream.getInternalId() + ", is)", e);
             throw new IOException(e);
         } catch (NoSuchAlgorithmException nsae) {
             // Should never happen
             log.warn("Caught NoSuchAlgorithmException", nsae);
-        } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * Upload a stream to S3 while reading it. A stream smaller than the part size is uploaded in a single request.
+     * Larger streams are uploaded as a multipart upload: parts are read into in memory buffers, and uploaded in
+     * the background while the next parts are read. At most {@code uploadConcurrency} buffers are used, so that
+     * reading waits for a part to be uploaded once they are all in use. If any part fails, the upload is aborted.
+     *
+     * @param key the key of the object to create
+     * @param in  the stream to upload, read until its end
+     * @return the number of bytes uploaded
+     * @throws IOException if the stream can not be read or uploaded
+     */
+    protected long upload(String key, InputStream in) throws IOException {
+        byte[] buffer = new byte[uploadPartSize];
+        int length = IOUtils.read(in, buffer);
+        if (length < uploadPartSize) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(length);
+            s3Service.putObject(bucketName, key, new ByteArrayInputStream(buffer, 0, length), metadata);
+            return length;
+        }
+
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(uploadConcurrency);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        int allocatedBuffers = 1;
+        long size = 0;
+        try {
+            while (length > 0) {
+                if (parts.size() == MAX_UPLOAD_PARTS) {
+                    throw new IOException("Stream too large to be uploaded in parts of " + uploadPartSize + " bytes");
+                }
+                size += length;
+                parts.add(uploadPart(key, uploadId, parts.size() + 1, buffer, length, freeBuffers, failure));
+
+                buffer = freeBuffers.poll();
+                if (buffer == null && allocatedBuffers < uploadConcurrency) {
+                    buffer = new byte[uploadPartSize];
+                    allocatedBuffers++;
+                } else if (buffer == null) {
+                    buffer = freeBuffers.take();
+                }
+                if (failure.get() != null) {
+                    break;
+                }
+                length = IOUtils.read(in, buffer);
             }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
+            }
+            s3Service.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            return size;
+        } catch (IOException | AmazonClientException | InterruptedException | ExecutionException e) {
+            for (Future<PartETag> part : parts) {
+                part.cancel(true);
+            }
+            try {
+                s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (AmazonClientException ace) {
+                log.warn("Unable to abort the multipart upload of " + key, ace);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException(e instanceof ExecutionException ? e.getCause() : e);
         }
     }
 
+    private Future<PartETag> uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length,
+                                        BlockingQueue<byte[]> freeBuffers, AtomicReference<Exception> failure) {
+        return transferExecutor.submit(() -> {
+            try {
+                UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucketName)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withPartSize(length)
+                    .withInputStream(new ByteArrayInputStream(buffer, 0, length));
+                return s3Service.uploadPart(request).getPartETag();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                freeBuffers.offer(buffer);
+            }
+        });
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -373,6 +541,75 @@ public class S3BitStoreService extends BaseBitStoreService {
         return metadata;
     }
 
+    /**
+     * Get the MD5 checksum of a bitstream from the ETag of its object, without downloading it. S3 only returns the
+     * MD5 digest of the content as ETag for objects uploaded in a single part and not encrypted with KMS or customer
+     * provided keys: no checksum is returned for other objects (e.g. large bitstreams uploaded in several parts),
+     * which have to be downloaded to be verified.
+     *
+     * @param bitstream the bitstream to get the checksum of
+     * @return the checksum and its algorithm, an empty map if the object does not exist, or null if its ETag is not
+     * the MD5 digest of its content
+     * @throws java.io.IOException If a problem occurs while obtaining the object metadata
+     */
+    @Override
+    public Map<String, Object> getStoredChecksum(Bitstream bitstream) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        // If this is a registered bitstream, strip the -R prefix before retrieving
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+
+        Map<String, Object> checksum = new HashMap<>();
+        try {
+            ObjectMetadata objectMetadata = s3Service.getObjectMetadata(bucketName, key);
+            String etag = objectMetadata.getETag();
+            if (etag == null || !etag.matches("[0-9a-fA-F]{32}") || objectMetadata.getSSEAwsKmsKeyId() != null
+                || objectMetadata.getSSECustomerAlgorithm() != null) {
+                return null;
+            }
+            checksum.put("checksum", etag.toLowerCase());
+            checksum.put("checksum_algorithm", CSA);
+            return checksum;
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return checksum;
+            }
+            log.error("getStoredChecksum(" + key + ")", e);
+            throw new IOException(e);
+        } catch (AmazonClientException e) {
+            log.error("getStoredChecksum(" + key + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Refresh the last modified time of an object by copying it onto itself, which S3 does without transferring its
+     * content. Objects which can not be copied in a single request (larger than 5 GB) are not refreshed.
+     *
+     * @param bitstream The bitstream of the asset to refresh
+     * @return true if the object has been refreshed, false if it does not exist or can not be copied
+     * @throws java.io.IOException If a problem occurs while refreshing the object
+     */
+    @Override
+    public boolean touch(Bitstream bitstream) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        try {
+            ObjectMetadata metadata = s3Service.getObjectMetadata(bucketName, key);
+            // S3 only copies an object onto itself when its metadata is replaced
+            metadata.addUserMetadata("touched", valueOf(System.currentTimeMillis()));
+            s3Service.copyObject(new CopyObjectRequest(bucketName, key, bucketName, key)
+                                     .withNewObjectMetadata(metadata));
+            return true;
+        } catch (AmazonS3Exception e) {
+            log.debug("Unable to refresh object " + key, e);
+            return false;
+        } catch (AmazonClientException e) {
+            log.error("touch(" + key + ")", e);
+            throw new IOException(e);
+        }
+    }
+
     /**
      * Remove an asset from the asset store. An irreversible operation.
      *
@@ -619,80 +856,305 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public int getDownloadConcurrency() {
+        return downloadConcurrency;
+    }
+
+    public void setDownloadConcurrency(int downloadConcurrency) {
+        this.downloadConcurrency = downloadConcurrency;
+    }
+
+    public int getMaxDownloadBuffers() {
+        return maxDownloadBuffers;
+    }
+
+    public void setMaxDownloadBuffers(int maxDownloadBuffers) {
+        this.maxDownloadBuffers = maxDownloadBuffers;
+    }
+
+    public int getTransferThreads() {
+        return transferThreads;
+    }
+
+    public void setTransferThreads(int transferThreads) {
+        this.transferThreads = transferThreads;
+    }
+
+    public int getUploadPartSize() {
+        return uploadPartSize;
+    }
+
+    public void setUploadPartSize(int uploadPartSize) {
+        this.uploadPartSize = uploadPartSize;
+    }
+
+    public int getUploadConcurrency() {
+        return uploadConcurrency;
+    }
+
+    public void setUploadConcurrency(int uploadConcurrency) {
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
+    /**
+     * Return a download buffer to the store, once no stream uses it anymore
+     *
+     * @param buffer the buffer
+     */
+    private void releaseDownloadBuffer(byte[] buffer) {
+        freeDownloadBuffers.push(buffer);
+        downloadBufferPermits.release();
+    }
+
     /**
-     * This inner class represent an InputStream that uses temporary files to
-     * represent chunk of the object downloaded from S3. When the input stream is
-     * read the class look first to the current chunk and download a new one once if
-     * the current one as been fully read. The class is responsible to close a chunk
-     * as soon as a new one is retrieved, the last chunk is closed when the input
-     * stream itself is closed or the last byte is read (the first of the two)
+     * This inner class represent an InputStream over an object downloaded from S3
+     * in chunks, using ranged GET requests. Up to {@code downloadConcurrency} chunks
+     * following the one being read are downloaded concurrently into memory, so that
+     * the reader does not wait for a single connection, as long as the store has
+     * shared download buffers available (see {@code maxDownloadBuffers}). Otherwise,
+     * only the chunk being read is downloaded, into a buffer of its own. The shared
+     * buffers of the chunks which have been read are returned to the store, to be
+     * reused by any stream, and nothing is written to local disk. Skipping beyond the
+     * downloaded chunks only downloads the chunks from the new position onwards.
      */
     public class S3LazyInputStream extends InputStream {
-        private InputStream currentChunkStream;
-        private String objectKey;
-        private long endOfChunk = -1;
-        private long chunkMaxSize;
+        private final String objectKey;
+        private final long chunkMaxSize;
+        // position after the last byte to read
+        private final long end;
+        // chunks being downloaded, in the order of the object
+        private final Deque<Chunk> pending = new ArrayDeque<>();
+        private Chunk currentChunk;
+        private int posInChunk = 0;
         private long currPos = 0;
-        private long fileSize;
+        // start of the next chunk to download
+        private long nextChunkStart = 0;
+        private boolean closed = false;
 
         public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize) throws IOException {
+            this(objectKey, chunkMaxSize, 0, fileSize);
+        }
+
+        /**
+         * Create a stream over a range of the object
+         *
+         * @param objectKey    the key of the object
+         * @param chunkMaxSize the maximum size of the chunks to download
+         * @param start        the position of the first byte to read
+         * @param end          the position after the last byte to read, at most the size of the object
+         * @throws IOException if the first chunk can not be downloaded
+         */
+        public S3LazyInputStream(String objectKey, long chunkMaxSize, long start, long end) throws IOException {
             this.objectKey = objectKey;
             this.chunkMaxSize = chunkMaxSize;
-            this.endOfChunk = 0;
-            this.fileSize = fileSize;
-            downloadChunk();
+            this.end = end;
+            this.currPos = start;
+            this.nextChunkStart = start;
+            // wait for the first chunk, so that a missing object is reported right away
+            nextChunk();
         }
 
         @Override
         public int read() throws IOException {
-            // is the current chunk completely read and other are available?
-            if (currPos == endOfChunk && currPos < fileSize) {
-                currentChunkStream.close();
-                downloadChunk();
+            if (!ensureAvailable()) {
+                return -1;
             }
+            currPos++;
+            return currentChunk.data[posInChunk++] & 0xff;
+        }
 
-            int byteRead = currPos < endOfChunk ? currentChunkStream.read() : -1;
-            // do we get any data or are we at the end of the file?
-            if (byteRead != -1) {
-                currPos++;
-            } else {
-                currentChunkStream.close();
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
             }
-            return byteRead;
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            int count = Math.min(len, currentChunk.length - posInChunk);
+            System.arraycopy(currentChunk.data, posInChunk, b, off, count);
+            posInChunk += count;
+            currPos += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0 || closed) {
+                return 0;
+            }
+            long target = Math.min(currPos + n, end);
+            long skipped = target - currPos;
+            if (currentChunk != null && target < currentChunk.start + currentChunk.length) {
+                posInChunk = (int) (target - currentChunk.start);
+                currPos = target;
+                return skipped;
+            }
+            // drop the chunks before the target, and download from the target if it is not being downloaded
+            releaseCurrentChunk();
+            while (!pending.isEmpty() && pending.peek().start + pending.peek().size <= target) {
+                pending.poll().cancel();
+            }
+            if (pending.isEmpty()) {
+                nextChunkStart = target;
+            }
+            currPos = target;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return currentChunk != null ? currentChunk.length - posInChunk : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            for (Chunk chunk : pending) {
+                chunk.cancel();
+            }
+            pending.clear();
+            releaseCurrentChunk();
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            while (currentChunk == null || posInChunk >= currentChunk.length) {
+                // a chunk shorter than requested means the object is shorter than expected
+                boolean truncated = currentChunk != null && currentChunk.length < currentChunk.size;
+                if (truncated || currPos >= end || !nextChunk()) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         /**
-         * This method download the next chunk from S3
+         * Wait for the chunk containing the current position, and start downloading the following ones
          *
-         * @throws IOException
-         * @throws FileNotFoundException
+         * @return false if there are no more chunks
          */
-        private void downloadChunk() throws IOException, FileNotFoundException {
-            // Create a DownloadFileRequest with the desired byte range
-            long startByte = currPos; // Start byte (inclusive)
-            long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
-            GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
-                    .withRange(startByte, endByte);
-
-            File currentChunkFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
-            currentChunkFile.deleteOnExit();
+        private boolean nextChunk() throws IOException {
+            releaseCurrentChunk();
+            fillReadAhead(true);
+            Chunk chunk = pending.poll();
+            if (chunk == null) {
+                return false;
+            }
             try {
-                Download download = tm.download(getRequest, currentChunkFile);
-                download.waitForCompletion();
-                currentChunkStream = new DeleteOnCloseFileInputStream(currentChunkFile);
-                endOfChunk = endOfChunk + download.getProgress().getBytesTransferred();
-            } catch (AmazonClientException | InterruptedException e) {
-                currentChunkFile.delete();
-                throw new IOException(e);
+                chunk.length = chunk.download.get();
+            } catch (ExecutionException e) {
+                chunk.release();
+                close();
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                chunk.cancel();
+                close();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
             }
+            currentChunk = chunk;
+            posInChunk = (int) (currPos - chunk.start);
+            fillReadAhead(false);
+            return true;
         }
 
-        @Override
-        public void close() throws IOException {
-            if (currentChunkStream != null) {
-                currentChunkStream.close();
+        private void releaseCurrentChunk() {
+            if (currentChunk != null) {
+                currentChunk.release();
+                currentChunk = null;
+            }
+        }
+
+        /**
+         * Start downloading the next chunks, as long as shared download buffers are available
+         *
+         * @param required whether the chunk which has to be read next must be downloaded, even without a shared
+         *                 buffer, if none is pending
+         */
+        private void fillReadAhead(boolean required) {
+            while (pending.size() < Math.max(1, downloadConcurrency) && nextChunkStart < end) {
+                long start = nextChunkStart;
+                int size = (int) Long.min(chunkMaxSize, end - start);
+                Chunk chunk;
+                if (downloadBufferPermits.tryAcquire()) {
+                    byte[] buffer = freeDownloadBuffers.poll();
+                    if (buffer == null || buffer.length < size) {
+                        buffer = new byte[(int) Long.max(size, chunkMaxSize)];
+                    }
+                    chunk = new Chunk(start, size, buffer, true);
+                } else if (required && pending.isEmpty()) {
+                    chunk = new Chunk(start, size, new byte[size], false);
+                } else {
+                    return;
+                }
+                pending.add(chunk);
+                nextChunkStart = start + size;
             }
         }
 
+        private class Chunk {
+            private static final int NEW = 0;
+            private static final int RUNNING = 1;
+            private static final int DONE = 2;
+            private static final int CANCELLED = 3;
+
+            private final long start;
+            private final int size;
+            private final byte[] data;
+            // whether the buffer is one of the shared download buffers of the store
+            private final boolean shared;
+            private final Future<Integer> download;
+            private int length;
+            // the buffer of a cancelled chunk is released once nothing is written to it anymore
+            private final AtomicInteger state = new AtomicInteger(NEW);
+
+            Chunk(long start, int size, byte[] data, boolean shared) {
+                this.start = start;
+                this.size = size;
+                this.data = data;
+                this.shared = shared;
+                this.download = transferExecutor.submit(() -> {
+                    if (!state.compareAndSet(NEW, RUNNING)) {
+                        return 0;
+                    }
+                    GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
+                            .withRange(start, start + size - 1);
+                    try (S3Object object = s3Service.getObject(getRequest);
+                         InputStream in = object.getObjectContent()) {
+                        return IOUtils.read(in, data, 0, size);
+                    } finally {
+                        if (!state.compareAndSet(RUNNING, DONE)) {
+                            release();
+                        }
+                    }
+                });
+            }
+
+            /**
+             * Stop the download, if it is not complete yet, and release the buffer once the download has stopped
+             */
+            void cancel() {
+                int previous = state.getAndSet(CANCELLED);
+                if (previous == RUNNING) {
+                    // the download releases the buffer when it stops
+                    download.cancel(true);
+                } else if (previous != CANCELLED) {
+                    download.cancel(false);
+                    release();
+                }
+            }
+
+            /**
+             * Release the buffer of a chunk whose download is complete
+             */
+            void release() {
+                if (shared) {
+                    releaseDownloadBuffer(data);
+                }
+            }
+        }
     }
 }
@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -17,6 +18,7 @@ import jakarta.annotation.Nullable;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Context;
+import org.dspace.storage.bitstore.BitStoreService;
 
 /**
  * <P>
@@ -104,6 +106,18 @@ public interface BitstreamStorageService {
 
     public Map<String, Object> computeChecksum(Context context, Bitstream bitstream) throws IOException;
 
+    /**
+     * Get the checksum of a bitstream as recorded by its asset store, without reading its content.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream
+     * @return the checksum and checksum algorithm, an empty map if the bitstream is missing from its asset store,
+     * or null if the asset store has no trustworthy checksum for it
+     * @throws IOException if IO error
+     * @see BitStoreService#getStoredChecksum(Bitstream)
+     */
+    public Map<String, Object> getStoredChecksum(Context context, Bitstream bitstream) throws IOException;
+
     /**
      * Does the internal_id column in the bitstream row indicate the bitstream
      * is a registered file
@@ -126,6 +140,32 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve a range of the bits for the bitstream, reading only that range from the asset store when it supports
+     * it.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @param offset    The position of the first byte to read
+     * @param length    The maximum number of bytes to read
+     * @return The stream of bits
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException;
+
+    /**
+     * Get the local file holding the bits for the bitstream, if its asset store keeps them in local files.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream
+     * @return The path of the file, or null if the asset store does not keep the bits in a local file
+     * @throws IOException  If a problem occurs while locating the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public Path getLocalPath(Context context, Bitstream bitstream) throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
@@ -141,6 +181,25 @@ public interface BitstreamStorageService {
      */
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException;
 
+    /**
+     * Clean up the bitstream storage area, like {@link #cleanup(boolean, boolean)}, in pages of deleted bitstreams
+     * which are committed one by one. The assets of a page are looked up and removed by several threads. An asset
+     * is removed before the database record of its bitstream is expunged, and a record is kept when its asset
+     * could not be removed, so the cleanup can be interrupted and run again at any time.
+     *
+     * @param deleteDbRecords if true deletes the database records otherwise it
+     *                        only deletes the files and directories in the assetstore
+     * @param verbose         verbosity flag
+     * @param batchSize       the number of deleted bitstreams processed and committed together
+     * @param threads         the number of threads looking up and removing the assets
+     * @throws IOException        If a problem occurs while cleaning up, or if some assets could not be removed
+     * @throws SQLException       If a problem occurs accessing the RDBMS
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void cleanup(boolean deleteDbRecords, boolean verbose, int batchSize, int threads)
+        throws SQLException, IOException, AuthorizeException;
+
     /**
      * Clone the given bitstream to a new bitstream with a new ID.
      * Metadata of the given bitstream are also copied to the new bitstream.
@@ -180,6 +239,27 @@ public interface BitstreamStorageService {
     public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
                         Integer batchCommitSize) throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Migrates all assets off of one assetstore to another, copying several bitstreams concurrently. The migration
+     * is committed after each batch of bitstreams, and the last bitstream of each batch migrated without error is
+     * recorded in a checkpoint file, so that running the migration again resumes after it.
+     *
+     * @param context               The relevant DSpace Context.
+     * @param assetstoreSource      source assetstore
+     * @param assetstoreDestination destination assetstore
+     * @param deleteOld             whether to delete files from the source assetstore after migration
+     * @param batchCommitSize       batch size
+     * @param threads               number of bitstreams copied concurrently
+     * @param checkpoint            checkpoint file, or null to start from the first bitstream
+     * @throws IOException        if some bitstreams could not be migrated, or the checkpoint could not be written
+     * @throws SQLException       An exception that provides information on a database access error or other errors.
+     * @throws AuthorizeException Exception indicating the current user of the context does not have permission
+     *                            to perform a particular action.
+     */
+    public void migrate(Context context, Integer assetstoreSource, Integer assetstoreDestination, boolean deleteOld,
+                        Integer batchCommitSize, int threads, Path checkpoint)
+        throws IOException, SQLException, AuthorizeException;
+
 
     /**
      * Gets the last modified timestamp of the the given bitstream's content, if known.
@@ -198,4 +278,11 @@ public interface BitstreamStorageService {
      */
     public void setIncomingExternal(int incoming);
 
+    /**
+     * Gets the configured asset stores
+     *
+     * @return the asset stores, by store number
+     */
+    public Map<Integer, BitStoreService> getStores();
+
 }
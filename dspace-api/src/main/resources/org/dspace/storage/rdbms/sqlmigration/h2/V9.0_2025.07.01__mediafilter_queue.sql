@@ -0,0 +1,23 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the queue of items whose derivatives must be (re)generated
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE mediafilter_queue_id_seq;
+
+CREATE TABLE mediafilter_queue
+(
+    id INTEGER NOT NULL,
+    item_id UUID NOT NULL,
+    queue_date TIMESTAMP NOT NULL,
+    CONSTRAINT mediafilter_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX mediafilter_queue_item_id_idx ON mediafilter_queue(item_id);
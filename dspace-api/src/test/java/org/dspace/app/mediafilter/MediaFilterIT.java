@@ -7,6 +7,7 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -18,6 +19,8 @@ import java.util.List;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.mediafilter.factory.MediaFilterServiceFactory;
+import org.dspace.app.mediafilter.service.MediaFilterQueueService;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.CollectionBuilder;
@@ -44,6 +47,8 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+    private MediaFilterQueueService mediaFilterQueueService =
+        MediaFilterServiceFactory.getInstance().getMediaFilterQueueService();
     protected Community topComm1;
     protected Community topComm2;
     protected Community childComm1_1;
@@ -142,6 +147,55 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptConcurrentTest() throws Exception {
+        runDSpaceScript("filter-media", "-t", "4");
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptConcurrentMaximumTest() throws Exception {
+        runDSpaceScript("filter-media", "-t", "4", "-m", "3");
+        int processed = 0;
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            if (!items.next().getBundles("TEXT").isEmpty()) {
+                processed++;
+            }
+        }
+        assertTrue("No more than 3 items should have been processed, not " + processed, processed <= 3);
+    }
+
+    @Test
+    public void mediaFilterScriptQueueTest() throws Exception {
+        // the items have been queued when their bitstreams were added
+        assertTrue(mediaFilterQueueService.countPending(context) > 0);
+        runDSpaceScript("filter-media", "-Q");
+        // the derivatives don't queue the items again
+        assertEquals(0, mediaFilterQueueService.countPending(context));
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptQueueOnlyProcessesQueuedItemsTest() throws Exception {
+        mediaFilterQueueService.delete(context, mediaFilterQueueService.findOldest(context, Integer.MAX_VALUE));
+        mediaFilterQueueService.enqueue(context, item1_1_a.getID());
+        mediaFilterQueueService.enqueue(context, item1_1_a.getID());
+        runDSpaceScript("filter-media", "-Q", "-t", "2");
+        assertEquals(0, mediaFilterQueueService.countPending(context));
+        checkItemHasBeenProcessed(context.reloadEntity(item1_1_a));
+        checkItemHasBeenNotProcessed(context.reloadEntity(item1_1_b));
+        checkItemHasBeenNotProcessed(context.reloadEntity(item2_1_a));
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
@@ -9,13 +9,18 @@ package org.dspace.app.mediafilter;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.tika.fork.ForkParser;
 import org.dspace.AbstractUnitTest;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -85,6 +90,128 @@ public class TikaTextExtractionFilterTest extends AbstractUnitTest {
         assertFalse("Known ending content was not found", extractedText.contains("Emergency Broadcast System"));
     }
 
+    /**
+     * Test of getDestinationStream method streaming the extracted text
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseStreaming()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        // Extract text from file with "use-temp-file=true", which extracts all text
+        configurationService.setProperty("textextractor.use-temp-file", "true");
+        InputStream source = getClass().getResourceAsStream("test.pdf");
+        String tempFileExtractedText = readAll(instance.getDestinationStream(null, source, false));
+        configurationService.setProperty("textextractor.use-temp-file", "false");
+
+        // Now, stream the text from the same file, through a buffer smaller than the text
+        configurationService.setProperty("textextractor.use-streaming", "true");
+        configurationService.setProperty("textextractor.streaming.buffer-size", "1");
+        try {
+            source = getClass().getResourceAsStream("test.pdf");
+            String streamedText = readAll(instance.getDestinationStream(null, source, false));
+
+            // Verify the two results are equal
+            assertTrue("Known ending content was found", streamedText.contains("Emergency Broadcast System"));
+            assertEquals("Streamed text is the same as extracted via temp file.",
+                         tempFileExtractedText, streamedText);
+        } finally {
+            configurationService.setProperty("textextractor.use-streaming", "false");
+            configurationService.setProperty("textextractor.streaming.buffer-size", null);
+        }
+    }
+
+    /**
+     * Test of getDestinationStream method streaming the extracted text, when the extraction times out
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseStreamingTimeout()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        configurationService.setProperty("textextractor.use-streaming", "true");
+        configurationService.setProperty("textextractor.timeout", "1");
+        try {
+            // a source which is never read completely
+            InputStream source = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return -1;
+                }
+            };
+            assertThrows(IOException.class, () -> instance.getDestinationStream(null, source, false));
+        } finally {
+            configurationService.setProperty("textextractor.use-streaming", "false");
+            configurationService.setProperty("textextractor.timeout", null);
+        }
+    }
+
+    /**
+     * Test of getDestinationStream method extracting the text in a forked JVM
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithUseForkedParser()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+
+        // Extract text from file with "use-temp-file=true"
+        configurationService.setProperty("textextractor.use-temp-file", "true");
+        InputStream source = getClass().getResourceAsStream("test.pdf");
+        String inProcessExtractedText = readAll(instance.getDestinationStream(null, source, false));
+
+        // Now, extract text from same file in a JVM started like the one running the tests
+        configurationService.setProperty("textextractor.use-forked-parser", "true");
+        configurationService.setProperty("textextractor.fork.pool-size", "1");
+        configurationService.setProperty("textextractor.fork.java-command",
+                                         Paths.get(System.getProperty("java.home"), "bin", "java") + " -Xmx256m");
+        try {
+            source = getClass().getResourceAsStream("test.pdf");
+            String forkedExtractedText = readAll(instance.getDestinationStream(null, source, false));
+
+            // Verify the two results are equal
+            assertTrue("Known content was not found in .pdf", forkedExtractedText.contains("quick brown fox"));
+            assertEquals("Extracted text in a forked JVM is the same as in-process.",
+                         inProcessExtractedText, forkedExtractedText);
+        } finally {
+            configurationService.setProperty("textextractor.use-temp-file", "false");
+            configurationService.setProperty("textextractor.use-forked-parser", "false");
+            configurationService.setProperty("textextractor.fork.pool-size", null);
+            configurationService.setProperty("textextractor.fork.java-command", null);
+            TikaTextExtractionFilter.closeForkParser();
+        }
+    }
+
+    /**
+     * Test that the pool of forked JVMs is started again when its configuration changes
+     */
+    @Test
+    public void testForkParserIsRebuiltWhenItsConfigurationChanges() {
+        try {
+            configurationService.setProperty("textextractor.fork.pool-size", "1");
+            ForkParser parser = TikaTextExtractionFilter.getForkParser(configurationService);
+            assertSame(parser, TikaTextExtractionFilter.getForkParser(configurationService));
+
+            configurationService.setProperty("textextractor.fork.pool-size", "2");
+            ForkParser rebuilt = TikaTextExtractionFilter.getForkParser(configurationService);
+            assertNotSame(parser, rebuilt);
+            assertEquals(2, rebuilt.getPoolSize());
+        } finally {
+            configurationService.setProperty("textextractor.fork.pool-size", null);
+            TikaTextExtractionFilter.closeForkParser();
+        }
+    }
+
     /**
      * Test of getDestinationStream method using older Microsoft Word document.
      * Read a constant .doc document and examine the extracted text.
@@ -0,0 +1,234 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link AuthorizationDecisionCache} and its invalidation by the
+ * {@link AuthorizationCacheConsumer}
+ */
+public class AuthorizationDecisionCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                    .getConfigurationService();
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private final AuthorizationDecisionCache authorizationDecisionCache = DSpaceServicesFactory.getInstance()
+        .getServiceManager()
+        .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+
+    private Community community;
+
+    private Collection collection;
+
+    private Item item;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("authorize.cache.enabled", true);
+        authorizationDecisionCache.clear();
+
+        context.turnOffAuthorisationSystem();
+        community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Cached item")
+                          .build();
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @After
+    public void disableCache() {
+        configurationService.setProperty("authorize.cache.enabled", false);
+        authorizationDecisionCache.clear();
+    }
+
+    @Test
+    public void decisionsAreSharedTest() throws Exception {
+        long hits = authorizationDecisionCache.getHits();
+        long misses = authorizationDecisionCache.getMisses();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertEquals(misses + 1, authorizationDecisionCache.getMisses());
+        assertEquals(hits, authorizationDecisionCache.getHits());
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertEquals(misses + 1, authorizationDecisionCache.getMisses());
+        assertEquals(hits + 1, authorizationDecisionCache.getHits());
+    }
+
+    @Test
+    public void policyChangesEvictDecisionsTest() throws Exception {
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeAllPolicies(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+    }
+
+    @Test
+    public void decisionsCachedBeforeTheCommitAreEvictedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeAllPolicies(context, item);
+        context.restoreAuthSystemState();
+        // The consumers run before the changes are committed...
+        context.dispatchEvents();
+        // ...so that another context may still cache a decision based on the committed policies
+        String key = authorizationDecisionCache.getKey(context, Constants.READ, eperson, true);
+        authorizationDecisionCache.put(item.getID(), Set.of(), key, true, authorizationDecisionCache.getGeneration());
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+    }
+
+    @Test
+    public void membershipChangesTakeEffectTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group group = GroupBuilder.createGroup(context)
+                                  .withName("Readers")
+                                  .build();
+        authorizeService.removeAllPolicies(context, item);
+        authorizeService.addPolicy(context, item, Constants.READ, group);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+
+        context.turnOffAuthorisationSystem();
+        groupService.addMember(context, group, eperson);
+        groupService.update(context, group);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+    }
+
+    @Test
+    public void decisionsAreSharedByUsersWithTheSameGroupsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson other = EPersonBuilder.createEPerson(context)
+                                      .withEmail("other@example.com")
+                                      .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        long hits = authorizationDecisionCache.getHits();
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertTrue(authorizeService.authorizeActionBoolean(context, other, item, Constants.READ, true));
+        assertEquals(hits + 1, authorizationDecisionCache.getHits());
+    }
+
+    @Test
+    public void decisionsOfEPersonPoliciesAreNotSharedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson other = EPersonBuilder.createEPerson(context)
+                                      .withEmail("other@example.com")
+                                      .build();
+        authorizeService.removeAllPolicies(context, item);
+        authorizeService.addPolicy(context, item, Constants.READ, eperson);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertFalse(authorizeService.authorizeActionBoolean(context, other, item, Constants.READ, true));
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+    }
+
+    @Test
+    public void collectionChangesOnlyEvictTheirSubtreeTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Collection otherCollection = CollectionBuilder.createCollection(context, community)
+                                                      .withName("Other collection")
+                                                      .build();
+        Item otherItem = ItemBuilder.createItem(context, otherCollection)
+                                    .withTitle("Other item")
+                                    .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, otherItem, Constants.READ, true));
+
+        // Depositing an item in the collection does not evict the decisions for its other items
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection)
+                   .withTitle("Deposited item")
+                   .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        long hits = authorizationDecisionCache.getHits();
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertEquals(hits + 1, authorizationDecisionCache.getHits());
+
+        // Changing the policies of the collection only evicts the decisions for its subtree
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeAllPolicies(context, collection);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        long misses = authorizationDecisionCache.getMisses();
+        hits = authorizationDecisionCache.getHits();
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertEquals(misses + 1, authorizationDecisionCache.getMisses());
+        assertTrue(authorizeService.authorizeActionBoolean(context, eperson, otherItem, Constants.READ, true));
+        assertEquals(hits + 1, authorizationDecisionCache.getHits());
+    }
+
+    @Test
+    public void uncommittedChangesAreNotCachedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeAllPolicies(context, item);
+        context.restoreAuthSystemState();
+
+        long misses = authorizationDecisionCache.getMisses();
+        assertFalse(authorizeService.authorizeActionBoolean(context, eperson, item, Constants.READ, true));
+        assertEquals(misses, authorizationDecisionCache.getMisses());
+        assertEquals(0, authorizationDecisionCache.getSize());
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link CheckerCommand}
+ */
+public class CheckerCommandIT extends AbstractIntegrationTestWithDatabase {
+
+    private final MostRecentChecksumService checksumService =
+        CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+
+    @Test
+    public void testProcessConcurrently() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        List<Bitstream> bitstreams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            try (InputStream is = IOUtils.toInputStream("Bitstream " + i, StandardCharsets.UTF_8)) {
+                bitstreams.add(BitstreamBuilder.createBitstream(context, item, is).build());
+            }
+        }
+        context.restoreAuthSystemState();
+
+        // register the new bitstreams before the run starts, so that they are all checked once
+        checksumService.updateMissingBitstreams(context);
+        Thread.sleep(10);
+        Instant start = Instant.now();
+
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setThreads(4);
+        checker.setBatchSize(3);
+        checker.setProcessStartDate(start);
+        checker.setDispatcher(new SimpleDispatcher(context, start, false));
+        checker.process();
+
+        assertTrue(checker.getCheckedCount() >= bitstreams.size());
+        for (Bitstream bitstream : bitstreams) {
+            MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+            assertEquals(ChecksumResultCode.CHECKSUM_MATCH, info.getChecksumResult().getResultCode());
+            assertEquals(bitstream.getChecksum(), info.getCurrentChecksum());
+            assertFalse(info.getProcessStartDate().isBefore(start));
+            assertTrue(info.isBitstreamFound());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link ThroughputLimiter}
+ */
+public class ThroughputLimiterTest {
+
+    @Test
+    public void testRateIsLimited() throws Exception {
+        ThroughputLimiter limiter = new ThroughputLimiter(1000);
+        long start = System.nanoTime();
+        // the fifth reservation starts once 400 bytes have been read at 1000 bytes per second
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(100);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 390);
+    }
+
+    @Test
+    public void testNoLimit() throws Exception {
+        ThroughputLimiter limiter = new ThroughputLimiter(0);
+        long start = System.nanoTime();
+        limiter.acquire(Long.MAX_VALUE);
+        limiter.acquire(Long.MAX_VALUE);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+}
@@ -12,6 +12,7 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -25,9 +26,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
@@ -501,6 +504,24 @@ public class BitstreamTest extends AbstractDSpaceObjectTest {
         assertThat("testRetrieveNoRead 0", bitstreamService.retrieve(context, bs), notNullValue());
     }
 
+    /**
+     * Test of retrieve method with a range, of class Bitstream.
+     */
+    @Test
+    public void testRetrieveRange() throws IOException, SQLException, AuthorizeException {
+        // Allow Bitstream READ permissions
+        doNothing().when(authorizeServiceSpy).authorizeAction(context, bs, Constants.READ);
+
+        byte[] content = IOUtils.toByteArray(bitstreamService.retrieve(context, bs));
+        int offset = content.length / 2;
+
+        byte[] range = IOUtils.toByteArray(bitstreamService.retrieve(context, bs, offset, 10));
+        assertArrayEquals("testRetrieveRange 0", Arrays.copyOfRange(content, offset, offset + 10), range);
+
+        byte[] end = IOUtils.toByteArray(bitstreamService.retrieve(context, bs, offset, Long.MAX_VALUE));
+        assertArrayEquals("testRetrieveRange 1", Arrays.copyOfRange(content, offset, content.length), end);
+    }
+
     /**
      * Test of getBundles method, of class Bitstream.
      */
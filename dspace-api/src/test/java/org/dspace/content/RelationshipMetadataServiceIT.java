@@ -11,6 +11,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -36,6 +37,10 @@ import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
 import org.dspace.content.service.RelationshipTypeService;
 import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.content.virtual.VirtualMetadataCache;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,6 +58,9 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
     protected ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     protected InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
     protected WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance().getWorkspaceItemService();
+    protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+    protected VirtualMetadataCache virtualMetadataCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(VirtualMetadataCache.class.getName(), VirtualMetadataCache.class);
 
     Item leftItem;
     Item rightItem;
@@ -89,6 +97,12 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         context.restoreAuthSystemState();
     }
 
+    @After
+    public void disableVirtualMetadataCache() {
+        configurationService.setProperty("relationship.virtual-metadata.cache.enabled", false);
+        virtualMetadataCache.clear();
+    }
+
     /**
      * Common function to convert leftItem to a publication item, convert rightItem to an author item,
      * and relating them to each other stored in the relationship field
@@ -235,6 +249,71 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         assertThat(rightList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
     }
 
+    @Test
+    public void testCachedRelationshipMetadataIsEvictedWhenRelatedItemChanges() throws Exception {
+        configurationService.setProperty("relationship.virtual-metadata.cache.enabled", true);
+        initPublicationAuthor();
+        context.commit();
+
+        List<RelationshipMetadataValue> firstList = relationshipMetadataService
+            .getRelationshipMetadata(reload(leftItem), true);
+        List<RelationshipMetadataValue> secondList = relationshipMetadataService
+            .getRelationshipMetadata(reload(leftItem), true);
+        assertThat(secondList.size(), equalTo(3));
+        for (int i = 0; i < firstList.size(); i++) {
+            // cached values are copies with the same content
+            assertNotSame(firstList.get(i), secondList.get(i));
+            assertThat(secondList.get(i).getValue(), equalTo(firstList.get(i).getValue()));
+            assertThat(secondList.get(i).getMetadataField(), equalTo(firstList.get(i).getMetadataField()));
+            assertThat(secondList.get(i).getAuthority(), equalTo(firstList.get(i).getAuthority()));
+        }
+        assertThat(secondList.get(1).getValue(), equalTo("familyName, firstName"));
+
+        // changing the author must evict the virtual metadata of the publication
+        context.turnOffAuthorisationSystem();
+        Item author = reload(rightItem);
+        itemService.clearMetadata(context, author, "person", "familyName", null, Item.ANY);
+        itemService.addMetadata(context, author, "person", "familyName", null, null, "otherName");
+        itemService.update(context, author);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        List<MetadataValue> authorList = itemService.getMetadata(reload(leftItem), "dc", "contributor", "author",
+                                                                 Item.ANY);
+        assertThat(authorList.size(), equalTo(1));
+        assertThat(authorList.get(0).getValue(), equalTo("otherName, firstName"));
+    }
+
+    @Test
+    public void testRelationshipMetadataOfUncommittedChangesIsNotCached() throws Exception {
+        configurationService.setProperty("relationship.virtual-metadata.cache.enabled", true);
+        initPublicationAuthor();
+        context.commit();
+        relationshipMetadataService.getRelationshipMetadata(reload(leftItem), true);
+
+        // the uncommitted change is visible to this transaction, but must not be cached
+        context.turnOffAuthorisationSystem();
+        Item author = reload(rightItem);
+        itemService.clearMetadata(context, author, "person", "familyName", null, Item.ANY);
+        itemService.addMetadata(context, author, "person", "familyName", null, null, "otherName");
+        itemService.update(context, author);
+        context.restoreAuthSystemState();
+        assertThat(relationshipMetadataService.getRelationshipMetadata(reload(leftItem), true).get(1).getValue(),
+                   equalTo("otherName, firstName"));
+
+        context.rollback();
+        assertThat(relationshipMetadataService.getRelationshipMetadata(reload(leftItem), true).get(1).getValue(),
+                   equalTo("familyName, firstName"));
+    }
+
+    /**
+     * Load a fresh copy of the given item, which is not marked as modified
+     */
+    private Item reload(Item item) throws SQLException {
+        context.uncacheEntity(item);
+        return itemService.find(context, item.getID());
+    }
+
     @Test
     public void testDeleteAuthorRelationshipCopyToLeftItem() throws Exception {
         initPublicationAuthor();
@@ -1025,4 +1025,51 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
         context.turnOffAuthorisationSystem();
     }
 
+    @Test
+    public void testFindByIds() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item first = ItemBuilder.createItem(context, collection1)
+                                .withTitle("First")
+                                .build();
+        Item second = ItemBuilder.createItem(context, collection1)
+                                 .withTitle("Second")
+                                 .build();
+        context.restoreAuthSystemState();
+
+        List<Item> found = itemService.findByIds(context, List.of(first.getID(), second.getID(), UUID.randomUUID()));
+        assertThat(found, hasSize(2));
+        assertTrue(found.contains(first));
+        assertTrue(found.contains(second));
+        assertThat(itemService.findByIds(context, List.of()), hasSize(0));
+    }
+
+    @Test
+    public void testGetMetadataIsUpdatedAfterModification() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, dcSchema, contributorElement, authorQualifier, null, "test, one");
+        itemService.addMetadata(context, item, dcSchema, contributorElement, null, null, "unqualified");
+
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, authorQualifier, Item.ANY, false),
+                   hasSize(1));
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, null, Item.ANY, false), hasSize(1));
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, Item.ANY, Item.ANY, false),
+                   hasSize(2));
+
+        // further lookups must not be answered from a stale index
+        itemService.addMetadata(context, item, dcSchema, contributorElement, authorQualifier, "en", "test, two");
+        itemService.clearMetadata(context, item, dcSchema, contributorElement, null, Item.ANY);
+        context.restoreAuthSystemState();
+
+        List<MetadataValue> authors = itemService.getMetadata(item, dcSchema, contributorElement, authorQualifier,
+                                                              Item.ANY, false);
+        assertThat(authors, hasSize(2));
+        assertEquals("test, one", authors.get(0).getValue());
+        assertEquals("test, two", authors.get(1).getValue());
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, authorQualifier, "en", false),
+                   hasSize(1));
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, null, Item.ANY, false), hasSize(0));
+        assertThat(itemService.getMetadata(item, dcSchema, contributorElement, Item.ANY, Item.ANY, true),
+                   hasSize(2));
+    }
+
 }
@@ -24,6 +24,8 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
@@ -384,6 +386,57 @@ public class ContextTest extends AbstractUnitTest {
         newInstance.close();
     }
 
+    /**
+     * Test of runAfterCommit method, of class Context.
+     */
+    @Test
+    public void testRunAfterCommit() throws SQLException {
+        Context instance = new Context();
+        AtomicBoolean run = new AtomicBoolean(false);
+
+        instance.runAfterCommit(() -> run.set(true));
+        assertFalse("Action should not run before the commit", run.get());
+        instance.commit();
+        assertTrue("Action should run after the commit", run.get());
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test of runAfterCommit method, of class Context, when the transaction is rolled back.
+     */
+    @Test
+    public void testRunAfterCommitDiscardedOnRollback() throws SQLException {
+        Context instance = new Context();
+        AtomicBoolean run = new AtomicBoolean(false);
+
+        instance.runAfterCommit(() -> run.set(true));
+        instance.rollback();
+        instance.commit();
+        assertFalse("Action should be discarded by the rollback", run.get());
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test of runAfterTransaction method, of class Context.
+     */
+    @Test
+    public void testRunAfterTransaction() throws SQLException {
+        Context instance = new Context();
+        AtomicInteger runs = new AtomicInteger(0);
+
+        instance.runAfterTransaction(runs::incrementAndGet);
+        instance.commit();
+        assertEquals("Action should run after the commit", 1, runs.get());
+
+        instance.runAfterTransaction(runs::incrementAndGet);
+        instance.abort();
+        assertEquals("Action should run after the abort", 2, runs.get());
+    }
+
     /**
      * Test of abort method, of class Context.
      */
@@ -0,0 +1,38 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+
+/**
+ * Makes no model changes, but records the thread which curated each item.
+ */
+@Concurrent
+public class ConcurrentTask
+    extends AbstractCurationTask {
+    /**
+     * Name of the thread which curated each item.
+     */
+    static final Map<UUID, String> curatedItems = new ConcurrentHashMap<>();
+
+    @Override
+    public int perform(DSpaceObject dso)
+            throws IOException {
+        if (dso instanceof Item) {
+            curatedItems.put(dso.getID(), Thread.currentThread().getName());
+            setResult("Curated " + dso.getID());
+        }
+        return Curator.CURATE_SUCCESS;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.curate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the curation of the items of a collection by several threads.
+ */
+public class CuratorIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String TASK_NAME = "concurrentTask";
+
+    private Collection collection;
+
+    private final Set<UUID> itemIds = new HashSet<>();
+
+    private final ConfigurationService cfg = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private String[] taskPlugins;
+
+    @Before
+    public void setup() throws Exception {
+        taskPlugins = cfg.getArrayProperty("plugin.named.org.dspace.curate.CurationTask");
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+        cfg.setProperty("plugin.named.org.dspace.curate.CurationTask",
+            ConcurrentTask.class.getName() + " = " + TASK_NAME);
+        ConcurrentTask.curatedItems.clear();
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .build();
+        collection = CollectionBuilder.createCollection(context, community)
+                                      .build();
+        for (int i = 0; i < 20; i++) {
+            Item item = ItemBuilder.createItem(context, collection)
+                                   .withTitle("Item " + i)
+                                   .build();
+            itemIds.add(item.getID());
+        }
+        context.restoreAuthSystemState();
+        // the items are curated in other contexts
+        context.commit();
+        collection = context.reloadEntity(collection);
+    }
+
+    @After
+    public void restoreTasks() {
+        cfg.setProperty("plugin.named.org.dspace.curate.CurationTask", taskPlugins);
+        CoreServiceFactory.getInstance().getPluginService().clearNamedPluginClasses();
+    }
+
+    @Test
+    public void curateCollectionWithThreadsTest() throws Exception {
+        Curator curator = new Curator();
+        curator.setReporter(new StringBuilder());
+        curator.setThreads(4);
+        curator.addTask(TASK_NAME);
+
+        curator.curate(context, collection);
+
+        assertEquals(Curator.CURATE_SUCCESS, curator.getStatus(TASK_NAME));
+        assertEquals(itemIds, ConcurrentTask.curatedItems.keySet());
+        assertFalse("The items must not be curated by the calling thread",
+            ConcurrentTask.curatedItems.containsValue(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void curateCollectionWithThreadsInCurationScopeTest() throws Exception {
+        Curator curator = new Curator();
+        curator.setReporter(new StringBuilder());
+        curator.setThreads(4);
+        curator.setTransactionScope(Curator.TxScope.CURATION);
+        curator.addTask(TASK_NAME);
+
+        curator.curate(context, collection);
+
+        assertEquals(Curator.CURATE_SUCCESS, curator.getStatus(TASK_NAME));
+        assertEquals(itemIds, ConcurrentTask.curatedItems.keySet());
+        assertTrue("The items must be curated by the calling thread",
+            ConcurrentTask.curatedItems.values().stream()
+                                       .allMatch(name -> name.equals(Thread.currentThread().getName())));
+    }
+}
@@ -57,6 +57,7 @@ import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.indexobject.IndexableClaimedTask;
 import org.dspace.discovery.indexobject.IndexableCollection;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.discovery.indexobject.IndexableWorkflowItem;
 import org.dspace.discovery.indexobject.IndexableWorkspaceItem;
@@ -807,6 +808,38 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void searchWithIndexProjectionTest() throws SearchServiceException {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Projected item")
+                               .withAuthor("Smith, Donald")
+                               .withSubject("not projected")
+                               .build();
+        context.restoreAuthSystemState();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("search.resourceid:" + item.getID());
+        discoverQuery.setIndexProjection(true);
+        DiscoverResult result = searchService.search(context, discoverQuery);
+
+        assertEquals(1, result.getIndexableObjects().size());
+        assertTrue(result.getIndexableObjects().get(0) instanceof IndexableItemProjection);
+        IndexableItemProjection projection = (IndexableItemProjection) result.getIndexableObjects().get(0);
+        assertEquals(item.getID(), projection.getID());
+        assertEquals(item.getHandle(), projection.getHandle());
+        assertTrue(projection.isArchived());
+        assertFalse(projection.isWithdrawn());
+        List<String> projectedFields = projection.getMetadata().stream()
+                .map(mv -> mv.getSchema() + "." + mv.getElement() + "." + mv.getQualifier())
+                .collect(Collectors.toList());
+        assertThat(projectedFields, hasItems("dc.title.null", "dc.contributor.author"));
+        assertThat(projectedFields, not(hasItem("dc.subject.null")));
+        assertEquals(item, projection.getIndexedObject());
+    }
+
     /**
      * Test designed to check if the submitter is not indexed in all in solr documents for items
      * and the submitter authority is still indexed
@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the asynchronous Discovery indexing queue
+ */
+public class IndexQueueIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                    .getConfigurationService();
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final MockSolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(null, MockSolrSearchCore.class);
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("discovery.index.async", true);
+    }
+
+    @After
+    public void disableAsynchronousIndexing() throws Exception {
+        indexQueueService.flush(context);
+        configurationService.setProperty("discovery.index.async", false);
+    }
+
+    @Test
+    public void changesAreOnlyIndexedWhenTheQueueIsFlushedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+
+        assertTrue(indexQueueService.countPending(context) > 0);
+        assertEquals(0, countIndexed(new IndexableItem(item)));
+
+        indexQueueService.flush(context);
+
+        assertEquals(0, indexQueueService.countPending(context));
+        assertEquals(1, countIndexed(new IndexableItem(item)));
+    }
+
+    @Test
+    public void repeatedChangesAreCoalescedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+        indexQueueService.flush(context);
+
+        String uniqueIndexId = new IndexableItem(item).getUniqueIndexID();
+        indexQueueService.enqueue(context, uniqueIndexId, IndexQueueEntry.Action.INDEX);
+        indexQueueService.enqueue(context, uniqueIndexId, IndexQueueEntry.Action.INDEX);
+        indexQueueService.enqueue(context, uniqueIndexId, IndexQueueEntry.Action.INDEX);
+
+        assertEquals(3, indexQueueService.processQueue(context, 10));
+        assertEquals(0, indexQueueService.countPending(context));
+        assertEquals(1, countIndexed(new IndexableItem(item)));
+    }
+
+    @Test
+    public void changesBeyondTheBatchAreCoalescedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+        indexQueueService.flush(context);
+
+        String itemId = new IndexableItem(item).getUniqueIndexID();
+        String collectionId = new IndexableCollection(collection).getUniqueIndexID();
+        indexQueueService.enqueue(context, itemId, IndexQueueEntry.Action.INDEX);
+        indexQueueService.enqueue(context, collectionId, IndexQueueEntry.Action.INDEX);
+        indexQueueService.enqueue(context, itemId, IndexQueueEntry.Action.INDEX);
+
+        // the later record of the item is processed with the first one, the record of the collection is left
+        assertEquals(2, indexQueueService.processQueue(context, 1));
+        assertEquals(1, indexQueueService.countPending(context));
+    }
+
+    private long countIndexed(IndexableObject indexableObject) throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":"
+                                            + ClientUtils.escapeQueryChars(indexableObject.getUniqueIndexID()));
+        return solrSearchCore.getSolr().query(query).getResults().getNumFound();
+    }
+}
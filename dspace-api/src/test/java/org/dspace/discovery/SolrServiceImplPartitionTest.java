@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the UUID range partitioning used by the parallel reindex of {@link SolrServiceImpl}
+ */
+public class SolrServiceImplPartitionTest {
+
+    private final SolrServiceImpl solrService = new SolrServiceImpl();
+
+    @Test
+    public void testSinglePartitionHasNoBounds() {
+        List<UUID> bounds = solrService.getPartitionBounds(1);
+        assertEquals(1, bounds.size());
+        assertNull(bounds.get(0));
+    }
+
+    @Test
+    public void testPartitionBoundsFollowUuidByteOrder() {
+        List<UUID> bounds = solrService.getPartitionBounds(4);
+        assertEquals(4, bounds.size());
+        assertNull(bounds.get(0));
+        assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"), bounds.get(1));
+        assertEquals(UUID.fromString("80000000-0000-0000-0000-000000000000"), bounds.get(2));
+        assertEquals(UUID.fromString("c0000000-0000-0000-0000-000000000000"), bounds.get(3));
+    }
+
+    @Test
+    public void testPartitionBoundsAreAscending() {
+        List<UUID> bounds = solrService.getPartitionBounds(12);
+        assertEquals(12, bounds.size());
+        for (int i = 2; i < bounds.size(); i++) {
+            // Compare as the database does: unsigned, most significant bits first
+            assertTrue(bounds.get(i - 1).toString().compareTo(bounds.get(i).toString()) < 0);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.eperson.dao.GroupDAO;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the incremental maintenance of the {@link GroupClosureIndex}
+ */
+public class GroupClosureIndexTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID d = UUID.randomUUID();
+
+    private GroupClosureIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new GroupClosureIndex();
+        index.configurationService = mock(ConfigurationService.class);
+        when(index.configurationService.getLongProperty(anyString(), anyLong())).thenReturn(600L);
+        index.groupDAO = mock(GroupDAO.class);
+        // a > b > c, and d > c
+        when(index.groupDAO.getGroup2GroupResults(any(), anyBoolean()))
+            .thenReturn(List.of(Pair.of(a, b), Pair.of(b, c), Pair.of(d, c)));
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        assertTrue(index.isAncestor(null, a, b));
+        assertTrue(index.isAncestor(null, a, c));
+        assertTrue(index.isAncestor(null, d, c));
+        assertFalse(index.isAncestor(null, c, a));
+        assertFalse(index.isAncestor(null, d, b));
+        assertEquals(Set.of(a, b, d), index.getAncestors(null, List.of(c)));
+    }
+
+    @Test
+    public void testAddMember() throws Exception {
+        index.getAncestors(null, List.of());
+        UUID e = UUID.randomUUID();
+        index.addMember(e, a);
+
+        assertTrue(index.isAncestor(null, e, a));
+        assertTrue(index.isAncestor(null, e, c));
+        assertFalse(index.isAncestor(null, e, d));
+    }
+
+    @Test
+    public void testRemoveMember() throws Exception {
+        index.getAncestors(null, List.of());
+        index.removeMember(a, b);
+
+        assertFalse(index.isAncestor(null, a, b));
+        assertFalse(index.isAncestor(null, a, c));
+        assertTrue(index.isAncestor(null, b, c));
+        assertTrue(index.isAncestor(null, d, c));
+    }
+
+    @Test
+    public void testRemoveMemberKeepsOtherPaths() throws Exception {
+        index.getAncestors(null, List.of());
+        index.addMember(a, d);
+        index.removeMember(b, c);
+
+        // c is still a member of a through d
+        assertTrue(index.isAncestor(null, a, c));
+        assertFalse(index.isAncestor(null, b, c));
+    }
+
+    @Test
+    public void testRemoveGroup() throws Exception {
+        index.getAncestors(null, List.of());
+        index.removeGroup(b);
+
+        assertFalse(index.isAncestor(null, a, b));
+        assertFalse(index.isAncestor(null, a, c));
+        assertEquals(Set.of(d), index.getAncestors(null, List.of(c)));
+    }
+
+    @Test
+    public void testDirectGroupsCachedUntilEvicted() throws Exception {
+        EPerson ePerson = mock(EPerson.class);
+        when(ePerson.getID()).thenReturn(UUID.randomUUID());
+        Group group = mock(Group.class);
+        when(group.getID()).thenReturn(c);
+        when(index.groupDAO.findByEPerson(any(), any())).thenReturn(List.of(group));
+
+        assertEquals(Set.of(c), index.getDirectGroups(null, ePerson));
+        assertEquals(Set.of(c), index.getDirectGroups(null, ePerson));
+        verify(index.groupDAO, times(1)).findByEPerson(null, ePerson);
+
+        index.evictDirectGroups(ePerson.getID());
+        assertEquals(Set.of(c), index.getDirectGroups(null, ePerson));
+        verify(index.groupDAO, times(2)).findByEPerson(null, ePerson);
+
+        index.evictAllDirectGroups();
+        index.getDirectGroups(null, ePerson);
+        verify(index.groupDAO, times(3)).findByEPerson(null, ePerson);
+    }
+}
@@ -21,14 +21,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.core.Constants;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -784,6 +789,46 @@ public class GroupTest extends AbstractUnitTest {
     }
 
 
+    @Test
+    public void closureIndexUnchangedByAbortedMembership() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        GroupClosureIndex index = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(GroupClosureIndex.class.getName(), GroupClosureIndex.class);
+        configurationService.setProperty("eperson.group.closure-index.enabled", true);
+        try {
+            index.invalidate();
+            Group member = createGroup("uncommittedMember");
+            // load the index before the membership is added
+            assertFalse(index.isAncestor(context, level2Group.getID(), member.getID()));
+
+            context.turnOffAuthorisationSystem();
+            groupService.addMember(context, level2Group, member);
+            groupService.update(context, level2Group);
+            context.restoreAuthSystemState();
+            // the events are dispatched to the consumer before the database commit
+            GroupClosureIndexConsumer consumer = new GroupClosureIndexConsumer();
+            consumer.initialize();
+            consumer.consume(context, new Event(Event.ADD, Constants.GROUP, level2Group.getID(), Constants.GROUP,
+                                                member.getID(), null));
+            consumer.end(context);
+            assertFalse(index.isAncestor(context, level2Group.getID(), member.getID()));
+            assertFalse(index.isAncestor(context, topGroup.getID(), member.getID()));
+
+            UUID parentId = level2Group.getID();
+            UUID memberId = member.getID();
+            context.abort();
+            // the groups of this test were never committed, nothing is left to delete
+            topGroup = null;
+            level1Group = null;
+            level2Group = null;
+            // the index is loaded, so it needs no context
+            assertFalse(index.isAncestor(null, parentId, memberId));
+        } finally {
+            configurationService.setProperty("eperson.group.closure-index.enabled", false);
+            index.invalidate();
+        }
+    }
+
     protected Group createGroup(String name) throws SQLException, AuthorizeException {
         context.turnOffAuthorisationSystem();
         Group group = groupService.create(context);
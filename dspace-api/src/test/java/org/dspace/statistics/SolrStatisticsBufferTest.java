@@ -0,0 +1,236 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for the batching, spilling and replaying of usage events by the {@link SolrStatisticsBuffer}
+ */
+public class SolrStatisticsBufferTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDocumentsAreSent() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, null, false);
+        for (int i = 0; i < 25; i++) {
+            buffer.add(createDocument(i));
+        }
+        buffer.close();
+
+        assertEquals(25, buffer.getSent());
+        assertEquals(0, buffer.getDropped());
+        assertEquals(0, buffer.getSize());
+    }
+
+    @Test
+    public void testDocumentsAreDroppedWithoutSpillFile() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("down"));
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, null, false);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(createDocument(i));
+        }
+        buffer.close();
+
+        assertEquals(0, buffer.getSent());
+        assertEquals(5, buffer.getDropped());
+    }
+
+    @Test
+    public void testSpilledDocumentsAreReplayed() throws Exception {
+        Path spillFile = folder.getRoot().toPath().resolve("spill.jsonl");
+
+        SolrClient failing = mock(SolrClient.class);
+        when(failing.add(anyCollection())).thenThrow(new SolrServerException("down"));
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(failing, 100, 10, 50, spillFile, false);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(createDocument(i));
+        }
+        buffer.close();
+
+        assertEquals(5, buffer.getSpilled());
+        assertEquals(0, buffer.getDropped());
+        List<String> lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        for (String line : lines) {
+            // spilled documents get their unique key, so that they can be sent again safely
+            assertNotNull(SolrStatisticsBuffer.fromJson(line).getFieldValue("uid"));
+        }
+
+        SolrClient working = mock(SolrClient.class);
+        buffer = new SolrStatisticsBuffer(working, 100, 10, 50, spillFile, false);
+        buffer.close();
+        buffer.replay();
+
+        assertEquals(5, buffer.getSent());
+        assertFalse(Files.exists(spillFile));
+        assertFalse(Files.exists(spillFile.resolveSibling("spill.jsonl.replay")));
+    }
+
+    @Test
+    public void testDocumentsArePreparedInTheBackground() throws Exception {
+        Thread caller = Thread.currentThread();
+        SolrClient solr = mock(SolrClient.class);
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, null, false, doc -> {
+            if (!doc.containsKey("dns")) {
+                doc.addField("dns", Thread.currentThread() == caller ? "caller" : "background");
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            buffer.add(createDocument(i));
+        }
+        for (int i = 0; i < 100 && buffer.getSent() < 5; i++) {
+            Thread.sleep(50);
+        }
+        buffer.close();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<SolrInputDocument>> added = ArgumentCaptor.forClass(Collection.class);
+        verify(solr, atLeastOnce()).add(added.capture());
+        int count = 0;
+        for (Collection<SolrInputDocument> batch : added.getAllValues()) {
+            for (SolrInputDocument doc : batch) {
+                assertEquals("background", doc.getFieldValue("dns"));
+                count++;
+            }
+        }
+        assertEquals(5, count);
+    }
+
+    @Test
+    public void testSpilledDocumentsArePreparedOnReplay() throws Exception {
+        Path spillFile = folder.getRoot().toPath().resolve("spill.jsonl");
+        // spilled by the request thread because the buffer was full, before being prepared
+        Files.write(spillFile, List.of(SolrStatisticsBuffer.toJson(createDocument(1))), StandardCharsets.UTF_8);
+
+        SolrClient solr = mock(SolrClient.class);
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, spillFile, false,
+                                                               doc -> doc.setField("dns", "prepared"));
+        buffer.close();
+        buffer.replay();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<SolrInputDocument>> added = ArgumentCaptor.forClass(Collection.class);
+        verify(solr).add(added.capture());
+        assertEquals("prepared", added.getValue().iterator().next().getFieldValue("dns"));
+    }
+
+    @Test
+    public void testUniqueKeyIsSetBeforeSending() throws Exception {
+        Path spillFile = folder.getRoot().toPath().resolve("spill.jsonl");
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.commit(anyBoolean(), anyBoolean())).thenThrow(new SolrServerException("down"));
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, spillFile, true);
+        buffer.add(createDocument(1));
+        buffer.close();
+
+        // the batch was added before the commit failed, replaying it must overwrite the same document
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<SolrInputDocument>> added = ArgumentCaptor.forClass(Collection.class);
+        verify(solr).add(added.capture());
+        Object uid = added.getValue().iterator().next().getFieldValue("uid");
+        assertNotNull(uid);
+        List<String> lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertEquals(uid, SolrStatisticsBuffer.fromJson(lines.get(0)).getFieldValue("uid"));
+    }
+
+    @Test
+    public void testRejectedDocumentsAreNotReplayedAgain() throws Exception {
+        Path spillFile = folder.getRoot().toPath().resolve("spill.jsonl");
+        Files.write(spillFile, List.of(SolrStatisticsBuffer.toJson(createDocument(1)), "{not json",
+                                       SolrStatisticsBuffer.toJson(createDocument(2))), StandardCharsets.UTF_8);
+
+        SolrClient solr = mock(SolrClient.class);
+        SolrException badRequest = new SolrException(SolrException.ErrorCode.BAD_REQUEST, "invalid document");
+        when(solr.add(anyCollection())).thenThrow(badRequest);
+        when(solr.add(argThat((SolrInputDocument doc) -> "2".equals(doc.getFieldValue("id"))))).thenThrow(badRequest);
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, spillFile, false);
+        buffer.close();
+        buffer.replay();
+
+        assertEquals(1, buffer.getSent());
+        assertFalse(Files.exists(spillFile.resolveSibling("spill.jsonl.replay")));
+        List<String> rejected = Files.readAllLines(spillFile.resolveSibling("spill.jsonl.rejected"),
+                                                   StandardCharsets.UTF_8);
+        assertEquals(2, rejected.size());
+        assertEquals("{not json", rejected.get(0));
+        assertEquals("2", SolrStatisticsBuffer.fromJson(rejected.get(1)).getFieldValue("id"));
+    }
+
+    @Test
+    public void testReplayIsRetriedWhenSolrIsDown() throws Exception {
+        Path spillFile = folder.getRoot().toPath().resolve("spill.jsonl");
+        Files.write(spillFile, List.of(SolrStatisticsBuffer.toJson(createDocument(1))), StandardCharsets.UTF_8);
+
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.add(anyCollection())).thenThrow(new SolrServerException("down"));
+        when(solr.add(any(SolrInputDocument.class))).thenThrow(new SolrServerException("down"));
+        SolrStatisticsBuffer buffer = new SolrStatisticsBuffer(solr, 100, 10, 50, spillFile, false);
+        buffer.close();
+        buffer.replay();
+
+        assertEquals(0, buffer.getSent());
+        assertTrue(Files.exists(spillFile.resolveSibling("spill.jsonl.replay")));
+        assertFalse(Files.exists(spillFile.resolveSibling("spill.jsonl.rejected")));
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        SolrInputDocument doc = createDocument(42);
+        doc.addField("bundleName", "ORIGINAL");
+        doc.addField("bundleName", "TEXT");
+
+        SolrInputDocument copy = SolrStatisticsBuffer.fromJson(SolrStatisticsBuffer.toJson(doc));
+
+        assertEquals("42", copy.getFieldValue("id"));
+        assertEquals(0, copy.getFieldValue("type"));
+        assertEquals(true, copy.getFieldValue("isBot"));
+        assertEquals(2, copy.getFieldValues("bundleName").size());
+        assertTrue(copy.getFieldValues("bundleName").contains("TEXT"));
+    }
+
+    private SolrInputDocument createDocument(int id) {
+        SolrInputDocument doc = new SolrInputDocument();
+        doc.addField("id", String.valueOf(id));
+        doc.addField("type", 0);
+        doc.addField("isBot", true);
+        doc.addField("statistics_type", SolrLoggerServiceImpl.StatisticsType.VIEW.text());
+        return doc;
+    }
+}
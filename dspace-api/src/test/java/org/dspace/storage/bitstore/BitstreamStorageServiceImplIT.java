@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link BitstreamStorageServiceImpl}
+ */
+public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDatabase {
+
+    private final BitstreamStorageService bitstreamStorageService =
+        StorageServiceFactory.getInstance().getBitstreamStorageService();
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    @Test
+    public void testCleanupInPages() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).build();
+        Bitstream removed = createBitstream(item, "removed");
+        Bitstream original = createBitstream(item, "original");
+        // a version of the original bitstream, sharing its file
+        Bitstream clone = bitstreamStorageService.clone(context, original);
+        Path removedPath = bitstreamStorageService.getLocalPath(context, removed);
+        Path sharedPath = bitstreamStorageService.getLocalPath(context, original);
+        bitstreamService.delete(context, removed);
+        bitstreamService.delete(context, original);
+        context.commit();
+        context.restoreAuthSystemState();
+        // the cleanup skips the files which have just been stored
+        FileTime old = FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        Files.setLastModifiedTime(removedPath, old);
+        Files.setLastModifiedTime(sharedPath, old);
+
+        bitstreamStorageService.cleanup(true, false, 1, 2);
+
+        assertNull(bitstreamService.find(context, removed.getID()));
+        assertFalse(Files.exists(removedPath));
+        assertNull(bitstreamService.find(context, original.getID()));
+        assertTrue(Files.exists(sharedPath));
+        assertNotNull(bitstreamService.find(context, clone.getID()));
+
+        context.turnOffAuthorisationSystem();
+        bitstreamService.delete(context, context.reloadEntity(clone));
+        context.restoreAuthSystemState();
+    }
+
+    private Bitstream createBitstream(Item item, String content) throws Exception {
+        try (InputStream is = IOUtils.toInputStream(content, StandardCharsets.UTF_8)) {
+            return BitstreamBuilder.createBitstream(context, item, is).build();
+        }
+    }
+}
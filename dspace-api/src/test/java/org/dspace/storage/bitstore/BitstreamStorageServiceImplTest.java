@@ -0,0 +1,223 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the concurrent and resumable migration of the {@link BitstreamStorageServiceImpl}
+ */
+public class BitstreamStorageServiceImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BitstreamStorageServiceImpl bitstreamStorageService;
+    private BitstreamService bitstreamService;
+    private BitStoreService source;
+    private BitStoreService destination;
+    private Context context;
+    private Path checkpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        bitstreamService = mock(BitstreamService.class);
+        source = mock(BitStoreService.class);
+        destination = mock(BitStoreService.class);
+        when(source.isInitialized()).thenReturn(true);
+        when(destination.isInitialized()).thenReturn(true);
+        context = mock(Context.class);
+
+        bitstreamStorageService = new BitstreamStorageServiceImpl();
+        bitstreamStorageService.bitstreamService = bitstreamService;
+        bitstreamStorageService.setStores(Map.of(0, source, 1, destination));
+        checkpoint = folder.getRoot().toPath().resolve("migration.checkpoint");
+    }
+
+    @Test
+    public void testMigrate() throws Exception {
+        Bitstream first = mockBitstream(new UUID(0, 1));
+        Bitstream second = mockBitstream(new UUID(0, 2));
+        Bitstream third = mockBitstream(new UUID(0, 3));
+        when(bitstreamService.countByStoreNumber(context, 0)).thenReturn(3L);
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), isNull(), anyInt()))
+            .thenReturn(List.of(first, second));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(second.getID()), anyInt()))
+            .thenReturn(List.of(third));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(third.getID()), anyInt()))
+            .thenReturn(List.of());
+
+        bitstreamStorageService.migrate(context, 0, 1, true, 2, 2, checkpoint);
+
+        for (Bitstream bitstream : List.of(first, second, third)) {
+            verify(destination).put(copyOf(bitstream), any());
+            verify(bitstream).setStoreNumber(1);
+            verify(bitstreamService).update(context, bitstream);
+            verify(source).remove(bitstream);
+        }
+        assertEquals(third.getID().toString(), readCheckpoint().getProperty("last"));
+    }
+
+    @Test
+    public void testMigrateAppliesTheStoredCopyToTheBitstream() throws Exception {
+        Bitstream bitstream = mockBitstream(new UUID(0, 1));
+        when(bitstream.getInternalId()).thenReturn("source-id");
+        doAnswer(invocation -> {
+            Bitstream copy = invocation.getArgument(0);
+            copy.setInternalId("destination-id");
+            return null;
+        }).when(destination).put(copyOf(bitstream), any());
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), isNull(), anyInt()))
+            .thenReturn(List.of(bitstream));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(bitstream.getID()), anyInt()))
+            .thenReturn(List.of());
+
+        bitstreamStorageService.migrate(context, 0, 1, false, 10, 2, checkpoint);
+
+        // the threads of the migration only work on a copy, which is applied to the bitstream afterwards
+        verify(destination, never()).put(eq(bitstream), any());
+        verify(bitstream).setInternalId("destination-id");
+        verify(bitstream).setStoreNumber(1);
+    }
+
+    @Test
+    public void testMigrateResumesAfterCheckpoint() throws Exception {
+        Bitstream second = mockBitstream(new UUID(0, 2));
+        writeCheckpoint(0, 1, new UUID(0, 1));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(new UUID(0, 1)), anyInt()))
+            .thenReturn(List.of(second));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(second.getID()), anyInt()))
+            .thenReturn(List.of());
+
+        bitstreamStorageService.migrate(context, 0, 1, false, 10, 2, checkpoint);
+
+        verify(bitstreamService, never()).findByStoreNumber(eq(context), eq(0), isNull(), anyInt());
+        verify(destination).put(copyOf(second), any());
+        verify(source, never()).remove(any());
+        assertEquals(second.getID().toString(), readCheckpoint().getProperty("last"));
+    }
+
+    @Test
+    public void testMigrateRejectsCheckpointOfAnotherMigration() throws Exception {
+        writeCheckpoint(1, 0, new UUID(0, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> bitstreamStorageService.migrate(context, 0, 1, false, 10, 2, checkpoint));
+    }
+
+    @Test
+    public void testFailedCopiesAreRetriedOnNextRun() throws Exception {
+        Bitstream first = mockBitstream(new UUID(0, 1));
+        Bitstream second = mockBitstream(new UUID(0, 2));
+        doThrow(new IOException("unavailable")).when(destination).put(copyOf(first), any());
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), isNull(), anyInt()))
+            .thenReturn(List.of(first, second));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(second.getID()), anyInt()))
+            .thenReturn(List.of());
+
+        assertThrows(IOException.class,
+                     () -> bitstreamStorageService.migrate(context, 0, 1, true, 10, 2, checkpoint));
+
+        verify(first, never()).setStoreNumber(anyInt());
+        verify(source, never()).remove(first);
+        verify(second).setStoreNumber(1);
+        verify(source).remove(second);
+        // the checkpoint does not move past the failed bitstream
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void testSharedAssetIsRemovedOnceAllBitstreamsAreMigrated() throws Exception {
+        Bitstream original = mockBitstream(new UUID(0, 1));
+        Bitstream clone = mockBitstream(new UUID(0, 2));
+        // the original is migrated first, while the clone is still in the source assetstore
+        when(original.getStoreNumber()).thenReturn(1);
+        when(clone.getStoreNumber()).thenReturn(0);
+        when(bitstreamService.findDuplicateInternalIdentifier(context, original)).thenReturn(List.of(clone));
+        when(bitstreamService.findDuplicateInternalIdentifier(context, clone)).thenReturn(List.of(original));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), isNull(), anyInt()))
+            .thenReturn(List.of(original));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(original.getID()), anyInt()))
+            .thenReturn(List.of(clone));
+        when(bitstreamService.findByStoreNumber(eq(context), eq(0), eq(clone.getID()), anyInt()))
+            .thenReturn(List.of());
+
+        bitstreamStorageService.migrate(context, 0, 1, true, 1, 1, null);
+
+        verify(source, never()).remove(original);
+        verify(source).remove(clone);
+    }
+
+    private Bitstream mockBitstream(UUID id) throws IOException {
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getID()).thenReturn(id);
+        when(bitstream.getChecksum()).thenReturn("checksum");
+        when(bitstream.getSizeBytes()).thenReturn(10L);
+        when(source.get(copyOf(bitstream))).thenReturn(new ByteArrayInputStream(new byte[10]));
+        return bitstream;
+    }
+
+    /**
+     * @return a matcher of the detached copies of a bitstream, which the threads of the migration work on
+     */
+    private Bitstream copyOf(Bitstream bitstream) {
+        UUID id = bitstream.getID();
+        return argThat(copy -> copy != null && id.equals(copy.getID()));
+    }
+
+    private void writeCheckpoint(int source, int destination, UUID last) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source", String.valueOf(source));
+        properties.setProperty("destination", String.valueOf(destination));
+        properties.setProperty("last", last.toString());
+        try (Writer writer = Files.newBufferedWriter(checkpoint, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+
+    private Properties readCheckpoint() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Bitstream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the {@link CachingBitStoreService}
+ */
+public class CachingBitStoreServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BitStoreService store;
+    private CachingBitStoreService cache;
+
+    @Before
+    public void setUp() throws Exception {
+        store = mock(BitStoreService.class);
+        when(store.isInitialized()).thenReturn(true);
+        cache = new CachingBitStoreService();
+        cache.setStore(store);
+        cache.setCacheDir(folder.getRoot().getAbsolutePath());
+        cache.setMaxSize(100);
+        cache.setMaxObjectSize(50);
+        cache.setMinEvictionAge(0);
+        cache.init();
+    }
+
+    @Test
+    public void testGetIsCached() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "abc", content(40, 1));
+
+        assertArrayEquals(content(40, 1), read(cache.get(bitstream)));
+        assertArrayEquals(content(40, 1), read(cache.get(bitstream)));
+
+        verify(store, times(1)).get(bitstream);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(40, cache.getBytesSaved());
+        assertEquals(40, cache.getSize());
+        assertNotNull(cache.getLocalPath(bitstream));
+    }
+
+    @Test
+    public void testGetRangeIsCached() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "abc", content(40, 1));
+
+        assertArrayEquals(Arrays.copyOfRange(content(40, 1), 10, 15), read(cache.get(bitstream, 10, 5)));
+        assertArrayEquals(Arrays.copyOfRange(content(40, 1), 30, 40), read(cache.get(bitstream, 30, 100)));
+
+        verify(store, times(1)).get(bitstream);
+        verify(store, times(0)).get(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        Bitstream first = mockBitstream("1", "abc", content(40, 1));
+        Bitstream second = mockBitstream("2", "def", content(40, 2));
+        Bitstream third = mockBitstream("3", "ghi", content(40, 3));
+
+        read(cache.get(first));
+        read(cache.get(second));
+        // first is now the most recently used
+        read(cache.get(first));
+        read(cache.get(third));
+
+        assertEquals(2, cache.getEntries());
+        assertEquals(80, cache.getSize());
+        read(cache.get(first));
+        read(cache.get(second));
+        verify(store, times(1)).get(first);
+        verify(store, times(2)).get(second);
+    }
+
+    @Test
+    public void testUncacheableBitstreamsAreNotCached() throws Exception {
+        Bitstream large = mockBitstream("1", "abc", content(60, 1));
+        Bitstream noChecksum = mockBitstream("2", null, content(10, 2));
+
+        read(cache.get(large));
+        read(cache.get(large));
+        read(cache.get(noChecksum));
+
+        verify(store, times(2)).get(large);
+        verify(store, times(1)).get(noChecksum);
+        assertEquals(0, cache.getEntries());
+        assertNull(cache.getLocalPath(noChecksum));
+    }
+
+    @Test
+    public void testConcurrentReadsAreFetchedOnce() throws Exception {
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getInternalId()).thenReturn("1");
+        when(bitstream.getChecksum()).thenReturn("abc");
+        when(bitstream.getSizeBytes()).thenReturn(40L);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(store.get(bitstream)).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new ByteArrayInputStream(content(40, 1));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> read(cache.get(bitstream))));
+            }
+            assertTrue(fetching.await(10, TimeUnit.SECONDS));
+            // let the other reads find the pending fetch
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<byte[]> read : reads) {
+                assertArrayEquals(content(40, 1), read.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(store, times(1)).get(bitstream);
+        assertEquals(1, cache.getMisses());
+        assertEquals(7, cache.getHits());
+    }
+
+    @Test
+    public void testCachedCopiesAreFoundAfterRestart() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "abc", content(40, 1));
+        read(cache.get(bitstream));
+        // an interrupted fetch
+        Path leftOver = Files.createFile(folder.getRoot().toPath().resolve("2-def12345.tmp"));
+        Files.setLastModifiedTime(leftOver, FileTime.fromMillis(System.currentTimeMillis() - 2 * 60 * 60 * 1000));
+        // a fetch in progress in another process
+        Path inProgress = Files.createFile(folder.getRoot().toPath().resolve("3-ghi12345.tmp"));
+
+        CachingBitStoreService restarted = new CachingBitStoreService();
+        restarted.setStore(store);
+        restarted.setCacheDir(folder.getRoot().getAbsolutePath());
+        restarted.init();
+
+        assertEquals(1, restarted.getEntries());
+        assertEquals(40, restarted.getSize());
+        assertFalse(Files.exists(leftOver));
+        assertTrue(Files.exists(inProgress));
+        assertArrayEquals(content(40, 1), read(restarted.get(bitstream)));
+        verify(store, times(1)).get(bitstream);
+    }
+
+    @Test
+    public void testGetLocalPathDoesNotFetch() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "abc", content(40, 1));
+
+        assertNull(cache.getLocalPath(bitstream));
+        verify(store, times(0)).get(bitstream);
+
+        read(cache.get(bitstream));
+        assertNotNull(cache.getLocalPath(bitstream));
+        verify(store, times(1)).get(bitstream);
+    }
+
+    @Test
+    public void testCacheDirectorySharedWithAnotherProcess() throws Exception {
+        Bitstream first = mockBitstream("1", "abc", content(40, 1));
+        Bitstream second = mockBitstream("2", "def", content(40, 2));
+        Bitstream third = mockBitstream("3", "ghi", content(40, 3));
+        read(cache.get(first));
+
+        CachingBitStoreService other = new CachingBitStoreService();
+        other.setStore(store);
+        other.setCacheDir(folder.getRoot().getAbsolutePath());
+        other.setMaxSize(100);
+        other.setMaxObjectSize(50);
+        other.init();
+
+        // the copy fetched by the first process is used
+        assertArrayEquals(content(40, 1), read(other.get(first)));
+        verify(store, times(1)).get(first);
+
+        // the copies used recently by any process are kept, even when the cache is full
+        read(other.get(second));
+        read(other.get(third));
+        assertEquals(120, other.getSize());
+        assertTrue(Files.exists(cache.getLocalPath(first)));
+
+        // once they are not used anymore, the least recently used ones are evicted
+        other.setMinEvictionAge(-60 * 1000);
+        Bitstream fourth = mockBitstream("4", "jkl", content(40, 4));
+        read(other.get(fourth));
+        assertEquals(80, other.getSize());
+        assertNull(cache.getLocalPath(first));
+    }
+
+    @Test
+    public void testRemoveEvictsCachedCopy() throws Exception {
+        Bitstream bitstream = mockBitstream("1", "abc", content(40, 1));
+        read(cache.get(bitstream));
+        Path file = cache.getLocalPath(bitstream);
+
+        cache.remove(bitstream);
+
+        verify(store).remove(bitstream);
+        assertEquals(0, cache.getEntries());
+        assertFalse(Files.exists(file));
+    }
+
+    private Bitstream mockBitstream(String internalId, String checksum, byte[] content) throws Exception {
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getInternalId()).thenReturn(internalId);
+        when(bitstream.getChecksum()).thenReturn(checksum);
+        when(bitstream.getSizeBytes()).thenReturn((long) content.length);
+        when(store.get(bitstream)).thenAnswer(invocation -> new ByteArrayInputStream(content));
+        return bitstream;
+    }
+
+    private byte[] content(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * seed);
+        }
+        return content;
+    }
+
+    private byte[] read(InputStream in) throws Exception {
+        try (InputStream stream = in) {
+            return stream.readAllBytes();
+        }
+    }
+}
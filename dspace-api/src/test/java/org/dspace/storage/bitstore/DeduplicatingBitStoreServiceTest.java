@@ -0,0 +1,127 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.dspace.content.Bitstream;
+import org.dspace.core.Utils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for the {@link DeduplicatingBitStoreService}
+ */
+public class DeduplicatingBitStoreServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DSBitStoreService store;
+    private DeduplicatingBitStoreService deduplicatingStore;
+
+    @Before
+    public void setUp() throws Exception {
+        store = spy(new DSBitStoreService());
+        store.setBaseDir(folder.newFolder("assetstore"));
+        deduplicatingStore = new DeduplicatingBitStoreService();
+        deduplicatingStore.setStore(store);
+        deduplicatingStore.setTempDir(folder.newFolder("temp").getAbsolutePath());
+        deduplicatingStore.init();
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws Exception {
+        byte[] content = "identical content".getBytes(StandardCharsets.UTF_8);
+        Bitstream first = newBitstream();
+        Bitstream second = newBitstream();
+
+        deduplicatingStore.put(first, new ByteArrayInputStream(content));
+        deduplicatingStore.put(second, new ByteArrayInputStream(content));
+
+        verify(store, times(1)).put(any(), any());
+        String expectedId = Utils.toHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertEquals(expectedId, first.getInternalId());
+        assertEquals(expectedId, second.getInternalId());
+        assertEquals(content.length, second.getSizeBytes());
+        assertEquals(Utils.toHex(MessageDigest.getInstance("MD5").digest(content)), second.getChecksum());
+        assertEquals("MD5", second.getChecksumAlgorithm());
+        try (InputStream in = deduplicatingStore.get(second)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testReusedContentIsRefreshed() throws Exception {
+        byte[] content = "reused content".getBytes(StandardCharsets.UTF_8);
+        Bitstream first = newBitstream();
+        deduplicatingStore.put(first, new ByteArrayInputStream(content));
+        File asset = store.getFile(first);
+        long old = System.currentTimeMillis() - 24 * 60 * 60 * 1000;
+        assertTrue(asset.setLastModified(old));
+
+        Bitstream second = newBitstream();
+        deduplicatingStore.put(second, new ByteArrayInputStream(content));
+
+        verify(store, times(1)).put(any(), any());
+        assertTrue(asset.lastModified() > old);
+    }
+
+    @Test
+    public void testDifferentContentsAreStoredSeparately() throws Exception {
+        Bitstream first = newBitstream();
+        Bitstream second = newBitstream();
+
+        deduplicatingStore.put(first, new ByteArrayInputStream("first".getBytes(StandardCharsets.UTF_8)));
+        deduplicatingStore.put(second, new ByteArrayInputStream("second".getBytes(StandardCharsets.UTF_8)));
+
+        verify(store, times(2)).put(any(), any());
+        assertNotEquals(first.getInternalId(), second.getInternalId());
+        try (InputStream in = deduplicatingStore.get(first)) {
+            assertArrayEquals("first".getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testEmptyContent() throws Exception {
+        Bitstream bitstream = newBitstream();
+
+        deduplicatingStore.put(bitstream, new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(0, bitstream.getSizeBytes());
+        try (InputStream in = deduplicatingStore.get(bitstream)) {
+            assertEquals(0, in.readAllBytes().length);
+        }
+    }
+
+    /**
+     * @return a bitstream whose internal ID, size and checksum can be set, without a database
+     */
+    private Bitstream newBitstream() {
+        Bitstream bitstream = mock(Bitstream.class, Mockito.CALLS_REAL_METHODS);
+        bitstream.setInternalId(Utils.generateKey());
+        return bitstream;
+    }
+}
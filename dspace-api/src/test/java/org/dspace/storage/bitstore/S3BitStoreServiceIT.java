@@ -218,6 +218,100 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutWithMultipartUpload() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.setUploadConcurrency(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content uploaded in five parts";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+
+    }
+
+    @Test
+    public void testBitstreamGetWithSkip() throws IOException {
+
+        s3BitStoreService.setDownloadConcurrency(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream contentThis content span three chunks and a bit more";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            // within the first chunk
+            assertThat(inputStream.skip(5), is(5L));
+            assertThat(inputStream.read(), is((int) content.charAt(5)));
+            // into a later chunk, already being downloaded ahead
+            assertThat(inputStream.skip(44), is(44L));
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(50)));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetWithoutSharedDownloadBuffers() throws IOException {
+
+        s3BitStoreService.setMaxDownloadBuffers(1);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream contentThis content span three chunks and a bit more";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        // the first stream holds the only shared buffer, the second one downloads its chunks one by one
+        try (InputStream first = s3BitStoreService.get(bitstream);
+             InputStream second = s3BitStoreService.get(bitstream)) {
+            assertThat(IOUtils.toString(second, UTF_8), is(content));
+            assertThat(IOUtils.toString(first, UTF_8), is(content));
+        }
+        // the buffers have been returned when the streams were closed
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetRange() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream contentThis content span three chunks and a bit more";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 25, 30)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(25, 55)));
+        }
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 60, Long.MAX_VALUE)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(60)));
+        }
+
+    }
+
     @Test
     public void testBitstreamDeletion() throws IOException {
 
@@ -281,6 +375,29 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testGetStoredChecksum() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        // uploaded in a single part, so the ETag is the MD5 digest of the content
+        Map<String, Object> checksum = s3BitStoreService.getStoredChecksum(bitstream);
+        assertThat(checksum, hasEntry("checksum", bitstream.getChecksum()));
+        assertThat(checksum, hasEntry("checksum_algorithm", CSA));
+
+        s3BitStoreService.remove(bitstream);
+
+        assertThat(s3BitStoreService.getStoredChecksum(bitstream).size(), is(0));
+
+    }
+
     @Test
     public void handleRegisteredIdentifierPrefixInS3() {
         String trueBitStreamId = "012345";
@@ -12,6 +12,7 @@ import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFI
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
@@ -31,6 +32,7 @@ import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.hateoas.BitstreamResource;
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.HttpHeadersInitializer;
+import org.dspace.app.rest.utils.SendfileUtils;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
@@ -42,10 +44,12 @@ import org.dspace.disseminate.service.CitationDocumentService;
 import org.dspace.eperson.EPerson;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.EventService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -98,6 +102,9 @@ public class BitstreamRestController {
     @Autowired
     private RequestItemService requestItemService;
 
+    @Autowired
+    private BitstreamStorageService bitstreamStorageService;
+
     @Autowired
     ConverterService converter;
 
@@ -194,6 +201,14 @@ public class BitstreamRestController {
                                 currentUser != null ? currentUser.getID() : null,
                                 context.getSpecialGroupUuids(), citationEnabledForBitstream);
             }
+            String rangeHeader = request.getHeader("Range");
+            if (StringUtils.isNotBlank(rangeHeader)) {
+                try {
+                    bitstreamResource.withRanges(HttpRange.parseRanges(rangeHeader));
+                } catch (IllegalArgumentException e) {
+                    log.debug("Invalid Range header {}, it is rejected when the response is written", rangeHeader);
+                }
+            }
 
             // We have all the data we need, close the connection to the database so that it doesn't stay open during
             // download/streaming
@@ -232,6 +247,20 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                // Bitstreams kept in local files can be sent by the servlet container itself, without going
+                // through the JVM heap. This is not possible when a cover page is added to the content.
+                if (!citationEnabledForBitstream && SendfileUtils.isSupported(request)
+                        && configurationService.getBooleanProperty("webui.content_sendfile.enabled", true)) {
+                    // the asset stores do not use the context, which has already been completed
+                    Path localFile = bitstreamStorageService.getLocalPath(context, bit);
+                    long contentLength = bitstreamResource.contentLength();
+                    if (localFile != null
+                            && SendfileUtils.send(request, response, httpHeaders, localFile, contentLength)) {
+                        log.debug("Sending bitstream {} with sendfile", uuid);
+                        return null;
+                    }
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
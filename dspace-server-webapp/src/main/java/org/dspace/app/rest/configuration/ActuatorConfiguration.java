@@ -15,6 +15,8 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
+import org.dspace.app.rest.info.AuthorizationCacheInfoContributor;
+import org.dspace.app.rest.info.BitstreamCacheInfoContributor;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
@@ -88,6 +90,16 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    public AuthorizationCacheInfoContributor authorizationCacheInfoContributor() {
+        return new AuthorizationCacheInfoContributor();
+    }
+
+    @Bean
+    public BitstreamCacheInfoContributor bitstreamCacheInfoContributor() {
+        return new BitstreamCacheInfoContributor();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
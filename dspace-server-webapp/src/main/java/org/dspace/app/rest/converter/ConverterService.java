@@ -11,11 +11,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
@@ -32,8 +35,13 @@ import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.services.RequestService;
+import org.dspace.util.UUIDUtils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -64,6 +72,9 @@ public class ConverterService {
 
     private static final Logger log = LogManager.getLogger();
 
+    // A READ check of the AuthorizeService on the object itself, see AuthorizeServicePermissionEvaluatorPlugin
+    private static final Pattern READ_PERMISSION = Pattern.compile("hasPermission\\(#id, '\\w+', 'READ'\\)");
+
     private final Map<String, Projection> projectionMap = new HashMap<>();
 
     private final Map<Class, DSpaceConverter> converterMap = new HashMap<>();
@@ -88,6 +99,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -116,7 +130,8 @@ public class ConverterService {
             // rest object. It'll only return the REST object if the permission is granted.
             // If permission isn't granted, it'll return null
             String preAuthorizeValue = getPreAuthorizeAnnotationForBaseObject(baseObjectRest);
-            if (!webSecurityExpressionEvaluator
+            if (!isReadAuthorizedByCachedDecision(preAuthorizeValue, baseObjectRest)
+                && !webSecurityExpressionEvaluator
                 .evaluate(preAuthorizeValue, requestService.getCurrentRequest().getHttpServletRequest(),
                           requestService.getCurrentRequest().getHttpServletResponse(),
                           String.valueOf(baseObjectRest.getId()))) {
@@ -131,6 +146,41 @@ public class ConverterService {
         return restObject;
     }
 
+    /**
+     * Check whether the READ permission required by the given expression was already granted to the current user,
+     * according to the {@link AuthorizationDecisionCache}, so that the objects of a page the user is known to be
+     * able to read are not loaded again to evaluate the expression. Only the plain READ checks of the expression are
+     * looked up, and only granted decisions are used, as the other permission evaluators may still grant the
+     * permission: in all other cases the expression must be evaluated.
+     *
+     * @param preAuthorizeValue the expression to check
+     * @param restObject        the object to check it for
+     * @return true if the cache holds a granted READ permission matching the expression
+     */
+    private boolean isReadAuthorizedByCachedDecision(String preAuthorizeValue, BaseObjectRest restObject) {
+        if (preAuthorizeValue == null || !authorizationDecisionCache.isEnabled()) {
+            return false;
+        }
+        UUID id = UUIDUtils.fromString(String.valueOf(restObject.getId()));
+        if (id == null) {
+            return false;
+        }
+        for (String term : StringUtils.split(preAuthorizeValue, "||")) {
+            if (READ_PERMISSION.matcher(term.trim()).matches()) {
+                Context context = ContextUtil.obtainContext(requestService.getCurrentRequest()
+                                                                          .getHttpServletRequest());
+                try {
+                    return Boolean.TRUE.equals(authorizationDecisionCache
+                        .getIfPresent(context, id, Constants.READ, context.getCurrentUser(), true));
+                } catch (SQLException e) {
+                    log.error(e::getMessage, e);
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
     private String getPreAuthorizeAnnotationForBaseObject(BaseObjectRest restObject) {
         Annotation preAuthorize = getAnnotationForRestObject(restObject);
         if (preAuthorize == null) {
@@ -24,6 +24,7 @@ import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -98,6 +99,10 @@ public class DiscoverResultConverter {
 
     private RestAddressableModel convertDSpaceObject(final IndexableObject indexableObject,
                                                      final Projection projection) {
+        if (indexableObject instanceof IndexableItemProjection) {
+            // Built from the search core, convert it as is to avoid loading the item from the database
+            return converter.toRest(indexableObject, projection);
+        }
         return converter.toRest(indexableObject.getIndexedObject(), projection);
     }
 
@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.rest.model.MetadataRest;
+import org.dspace.app.rest.model.MetadataValueRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.app.util.service.MetadataExposureService;
+import org.dspace.content.authority.Choices;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
+import org.dspace.discovery.indexobject.IndexableItemProjection.MetadataValueProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * This is the converter from an item projection, built from the fields stored in the search core, to the REST data
+ * model. The resulting ItemRest only contains the metadata fields configured in "discovery.index.projection", and
+ * none of it is read from the database.
+ */
+@Component
+public class IndexableItemProjectionConverter implements DSpaceConverter<IndexableItemProjection, ItemRest> {
+
+    private static final Logger log =
+        org.apache.logging.log4j.LogManager.getLogger(IndexableItemProjectionConverter.class);
+
+    @Autowired
+    private MetadataExposureService metadataExposureService;
+
+    @Override
+    public ItemRest convert(IndexableItemProjection obj, Projection projection) {
+        ItemRest item = new ItemRest();
+        item.setProjection(projection);
+        item.setUuid(obj.getID().toString());
+        item.setHandle(obj.getHandle());
+        item.setInArchive(obj.isArchived());
+        item.setDiscoverable(obj.isDiscoverable());
+        item.setWithdrawn(obj.isWithdrawn());
+        item.setLastModified(obj.getLastModified());
+        item.setEntityType(obj.getEntityType());
+
+        MetadataRest<MetadataValueRest> metadata = new MetadataRest<>();
+        // As in ItemConverter, the metadata of withdrawn items is not exposed
+        if (!obj.isWithdrawn()) {
+            Context context = ContextUtil.obtainCurrentRequestContext();
+            for (MetadataValueProjection metadataValue : obj.getMetadata()) {
+                if (isHidden(context, metadataValue)) {
+                    continue;
+                }
+                String key = metadataValue.getSchema() + "." + metadataValue.getElement()
+                    + (metadataValue.getQualifier() != null ? "." + metadataValue.getQualifier() : "");
+                List<MetadataValueRest> values = metadata.getMap().computeIfAbsent(key, k -> new ArrayList<>());
+
+                MetadataValueRest metadataValueRest = new MetadataValueRest(metadataValue.getValue());
+                metadataValueRest.setLanguage(metadataValue.getLanguage());
+                metadataValueRest.setAuthority(metadataValue.getAuthority());
+                // Authority keys are only indexed when their confidence is sufficient
+                metadataValueRest.setConfidence(
+                    metadataValue.getAuthority() != null ? Choices.CF_ACCEPTED : Choices.CF_UNSET);
+                metadataValueRest.setPlace(values.size());
+                values.add(metadataValueRest);
+            }
+        }
+        item.setMetadata(metadata);
+
+        List<MetadataValueRest> titles = metadata.getMap().get("dc.title");
+        if (titles != null && !titles.isEmpty()) {
+            item.setName(titles.get(0).getValue());
+        }
+        return item;
+    }
+
+    private boolean isHidden(Context context, MetadataValueProjection metadataValue) {
+        try {
+            return metadataExposureService.isHidden(context, metadataValue.getSchema(), metadataValue.getElement(),
+                                                    metadataValue.getQualifier());
+        } catch (SQLException e) {
+            log.error("Error filtering item metadata based on permissions", e);
+            return true;
+        }
+    }
+
+    @Override
+    public Class<IndexableItemProjection> getModelClass() {
+        return IndexableItemProjection.class;
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.info;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.info.Info.Builder;
+import org.springframework.boot.actuate.info.InfoContributor;
+
+/**
+ * Implementation of {@link InfoContributor} that exposes the usage statistics of the
+ * {@link AuthorizationDecisionCache}, to help sizing it.
+ */
+public class AuthorizationCacheInfoContributor implements InfoContributor {
+
+    @Autowired
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
+    @Override
+    public void contribute(Builder builder) {
+        if (!authorizationDecisionCache.isEnabled()) {
+            return;
+        }
+        long hits = authorizationDecisionCache.getHits();
+        long misses = authorizationDecisionCache.getMisses();
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("size", authorizationDecisionCache.getSize());
+        details.put("hits", hits);
+        details.put("misses", misses);
+        details.put("hit-ratio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        builder.withDetail("authorization-cache", details);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.info;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.dspace.storage.bitstore.BitStoreService;
+import org.dspace.storage.bitstore.CachingBitStoreService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.info.Info.Builder;
+import org.springframework.boot.actuate.info.InfoContributor;
+
+/**
+ * Implementation of {@link InfoContributor} that exposes the usage statistics of the asset stores wrapped in a
+ * {@link CachingBitStoreService}, to help sizing their cache.
+ */
+public class BitstreamCacheInfoContributor implements InfoContributor {
+
+    @Autowired
+    private BitstreamStorageService bitstreamStorageService;
+
+    @Override
+    public void contribute(Builder builder) {
+        Map<String, Object> stores = new LinkedHashMap<>();
+        for (Map.Entry<Integer, BitStoreService> store : bitstreamStorageService.getStores().entrySet()) {
+            if (!(store.getValue() instanceof CachingBitStoreService) || !store.getValue().isInitialized()) {
+                continue;
+            }
+            CachingBitStoreService cache = (CachingBitStoreService) store.getValue();
+            long hits = cache.getHits();
+            long misses = cache.getMisses();
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("entries", cache.getEntries());
+            details.put("size", cache.getSize());
+            details.put("hits", hits);
+            details.put("misses", misses);
+            details.put("hit-ratio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+            details.put("bytes-saved", cache.getBytesSaved());
+            stores.put(String.valueOf(store.getKey()), details);
+        }
+        if (!stores.isEmpty()) {
+            builder.withDetail("bitstream-cache", stores);
+        }
+    }
+}
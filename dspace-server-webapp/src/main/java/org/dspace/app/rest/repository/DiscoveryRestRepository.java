@@ -34,6 +34,7 @@ import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationService;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -79,6 +80,9 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
     @Autowired
     private DiscoverFacetsConverter discoverFacetsConverter;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     public SearchConfigurationRest getSearchConfiguration(final String dsoScope, final String configuration) {
         Context context = obtainContext();
 
@@ -104,6 +108,7 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
         try {
             discoverQuery = queryBuilder
                 .buildQuery(context, scopeObject, discoveryConfiguration, query, searchFilters, dsoTypes, page);
+            discoverQuery.setIndexProjection(isIndexProjectionEnabled(context));
             searchResult = searchService.search(context, scopeObject, discoverQuery);
 
         } catch (SearchServiceException e) {
@@ -116,6 +121,16 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
                      discoveryConfiguration, projection);
     }
 
+    /**
+     * Items in the search results can be built from the fields stored in the search core when this is enabled by
+     * "discovery.search.index-projection" and the request is anonymous. Authenticated users may be allowed to see
+     * more metadata than is stored in the search core, so their results are always loaded from the database.
+     */
+    private boolean isIndexProjectionEnabled(Context context) {
+        return context.getCurrentUser() == null
+            && configurationService.getBooleanProperty("discovery.search.index-projection", false);
+    }
+
     public FacetConfigurationRest getFacetsConfiguration(final String dsoScope, final String configuration) {
         Context context = obtainContext();
 
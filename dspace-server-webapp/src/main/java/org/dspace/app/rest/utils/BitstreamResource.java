@@ -11,23 +11,31 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.function.IOSupplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.disseminate.service.CitationDocumentService;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.utils.DSpace;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpRange;
 import org.springframework.util.DigestUtils;
 
 /**
@@ -48,12 +56,18 @@ public class BitstreamResource extends AbstractResource {
 
     protected final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     protected final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+    protected final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+    protected final BitstreamStorageService bitstreamStorageService =
+            StorageServiceFactory.getInstance().getBitstreamStorageService();
     protected final CitationDocumentService citationDocumentService =
             new DSpace().getServiceManager()
                     .getServicesByType(CitationDocumentService.class).get(0);
 
     protected BitstreamDocument document;
 
+    // the ranges requested by the client, empty if the whole content is requested
+    protected List<HttpRange> ranges = List.of();
+
     public BitstreamResource(String name, UUID uuid, UUID currentUserUUID, Set<UUID> currentSpecialGroups,
                              boolean shouldGenerateCoverPage) {
         this.name = name;
@@ -83,6 +97,17 @@ public class BitstreamResource extends AbstractResource {
         }
     }
 
+    /**
+     * Set the ranges requested by the client, so that only the requested bytes are retrieved from the asset store
+     *
+     * @param ranges the ranges of the Range header of the request
+     * @return this resource
+     */
+    public BitstreamResource withRanges(List<HttpRange> ranges) {
+        this.ranges = ranges;
+        return this;
+    }
+
     @Override
     public String getDescription() {
         return "bitstream [" + uuid + "]";
@@ -92,7 +117,7 @@ public class BitstreamResource extends AbstractResource {
     public InputStream getInputStream() throws IOException {
         fetchDocument();
 
-        return document.inputStream();
+        return document.content().get();
     }
 
     @Override
@@ -125,11 +150,9 @@ public class BitstreamResource extends AbstractResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        () -> new ByteArrayInputStream(coverPage));
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                this.document = bitstreamDocument(context, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -138,6 +161,22 @@ public class BitstreamResource extends AbstractResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Get the document of a bitstream served without cover page. The READ permission is checked right away, but the
+     * content is only retrieved once it is read, so that a Range request only reads the requested range from the
+     * asset store, see {@link RangeInputStream}.
+     *
+     * @param context   the DSpace context
+     * @param bitstream the bitstream
+     * @return the document
+     */
+    BitstreamDocument bitstreamDocument(Context context, Bitstream bitstream) throws SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+        return new BitstreamDocument(bitstream.getChecksum(),
+                bitstream.getSizeBytes(),
+                () -> new RangeInputStream(bitstream));
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
@@ -165,5 +204,85 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    record BitstreamDocument(String etag, long length, IOSupplier<InputStream> content) {}
+
+    /**
+     * Stream over the content of a bitstream, which is only retrieved from the asset store on first read. Spring
+     * serves a Range request by skipping to the start of the range before reading: the bytes skipped before the
+     * first read are not retrieved at all, the content is retrieved from the start of the range instead, up to the
+     * end of the requested range starting there (see {@link #withRanges(List)}).
+     */
+    class RangeInputStream extends InputStream {
+        private final Bitstream bitstream;
+        private final long size;
+        private long offset = 0;
+        // whether the stream has been positioned at the start of a range, i.e. a region is read, not the whole content
+        private boolean positioned = false;
+        private InputStream in;
+
+        RangeInputStream(Bitstream bitstream) {
+            this.bitstream = bitstream;
+            this.size = bitstream.getSizeBytes();
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (in != null) {
+                return in.skip(n);
+            }
+            positioned = true;
+            long skipped = Math.max(0, Math.min(n, size - offset));
+            offset += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return open().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return open().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in != null ? in.available() : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+
+        private InputStream open() throws IOException {
+            if (in == null) {
+                try {
+                    // the READ permission has already been checked, and the asset stores do not use the context
+                    in = bitstreamStorageService.retrieve(null, bitstream, offset, getLength());
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            }
+            return in;
+        }
+
+        /**
+         * @return the number of bytes to retrieve from the current offset
+         */
+        private long getLength() {
+            long length = 0;
+            if (positioned) {
+                for (HttpRange range : ranges) {
+                    if (range.getRangeStart(size) == offset) {
+                        length = Math.max(length, range.getRangeEnd(size) + 1 - offset);
+                    }
+                }
+            }
+            return length > 0 ? length : size - offset;
+        }
+    }
 }
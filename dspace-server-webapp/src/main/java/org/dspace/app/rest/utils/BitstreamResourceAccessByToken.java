@@ -89,11 +89,9 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        () -> new ByteArrayInputStream(coverPage));
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
+                this.document = bitstreamDocument(fileRetrievalContext, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
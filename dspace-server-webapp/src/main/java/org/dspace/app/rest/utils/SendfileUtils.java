@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+/**
+ * Utility methods to let the servlet container send a local file itself, with sendfile (i.e.
+ * {@link java.nio.channels.FileChannel#transferTo}), instead of copying it through the JVM heap. This relies on the
+ * Tomcat sendfile request attributes, which are only honoured when the connector supports sendfile: in any other
+ * case the caller has to send the content itself.
+ */
+public class SendfileUtils {
+
+    private static final Logger log = LogManager.getLogger(SendfileUtils.class);
+
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Default constructor
+     */
+    private SendfileUtils() { }
+
+    /**
+     * @param request the current request
+     * @return true if the container can send a file for this request
+     */
+    public static boolean isSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR));
+    }
+
+    /**
+     * Prepare the response so that the container sends the given file (or the single range requested from it)
+     * once the request has been handled. Nothing must be written to the response afterwards. Requests for several
+     * ranges, or conditional range requests, are not handled: the caller has to send the content itself.
+     *
+     * @param request  the current request
+     * @param response the response, which must not be committed
+     * @param headers  the headers to send, e.g. from {@link HttpHeadersInitializer#initialiseHeaders()}. Their
+     *                 Content-Length is replaced by the length of the range which is sent.
+     * @param file     the file to send
+     * @param size     the size of the file
+     * @return true if the container will send the file, false if it could not be prepared
+     */
+    public static boolean send(HttpServletRequest request, HttpServletResponse response, HttpHeaders headers,
+                               Path file, long size) {
+        if (!isSupported(request) || response.isCommitted() || size <= 0) {
+            return false;
+        }
+        long start = 0;
+        long end = size;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(rangeHeader)) {
+            if (request.getHeader(HttpHeaders.IF_RANGE) != null) {
+                return false;
+            }
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return false;
+                }
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size) + 1;
+            } catch (IllegalArgumentException e) {
+                // let the default handling answer with the appropriate error
+                return false;
+            }
+            if (start >= size || end <= start) {
+                // unsatisfiable, let the default handling answer with 416
+                return false;
+            }
+        }
+
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        if (StringUtils.isNotBlank(rangeHeader)) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(end - start);
+
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, end);
+        log.debug("Sending bytes {}-{} of {} with sendfile", start, end, file);
+        return true;
+    }
+}
@@ -22,6 +22,7 @@ import java.util.TreeSet;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
+import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.MockObject;
 import org.dspace.app.rest.model.MockObjectRest;
 import org.dspace.app.rest.model.RestAddressableModel;
@@ -32,7 +33,18 @@ import org.dspace.app.rest.model.hateoas.MockObjectResource;
 import org.dspace.app.rest.projection.MockProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.RequestService;
 import org.junit.Before;
 import org.junit.Test;
@@ -72,6 +84,15 @@ public class ConverterServiceIT extends AbstractControllerIntegrationTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Autowired
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
     @Before
     public void setup() {
         // We're mocking a request here because we've started using the Context in the ConverterService#toRest
@@ -254,6 +275,39 @@ public class ConverterServiceIT extends AbstractControllerIntegrationTest {
         });
     }
 
+    /**
+     * When calling {@code toRest} for an object whose READ permission was already granted to the current user, the
+     * decision cached by the {@link AuthorizationDecisionCache} should be used instead of evaluating the permission.
+     */
+    @Test
+    public void toRestUsesTheCachedReadDecision() throws Exception {
+        configurationService.setProperty("authorize.cache.enabled", true);
+        authorizationDecisionCache.clear();
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context).build();
+            Collection collection = CollectionBuilder.createCollection(context, community).build();
+            Item item = ItemBuilder.createItem(context, collection)
+                                   .withTitle("Cached item")
+                                   .build();
+            context.restoreAuthSystemState();
+            context.commit();
+
+            Context requestContext = ContextUtil.obtainContext(requestService.getCurrentRequest()
+                                                                             .getHttpServletRequest());
+            item = requestContext.reloadEntity(item);
+            assertTrue(authorizeService.authorizeActionBoolean(requestContext, null, item, Constants.READ, true));
+
+            long hits = authorizationDecisionCache.getHits();
+            ItemRest itemRest = converter.toRest(item, Projection.DEFAULT);
+            assertEquals(item.getID().toString(), itemRest.getId());
+            assertEquals(hits + 1, authorizationDecisionCache.getHits());
+        } finally {
+            configurationService.setProperty("authorize.cache.enabled", false);
+            authorizationDecisionCache.clear();
+        }
+    }
+
     private void assertHasLinks(EntityModel resource, String[] rels) {
         Map<String, Link> map = new HashMap<>();
         resource.getLinks().stream().forEach((link) -> map.put(link.getRel().value(), link));
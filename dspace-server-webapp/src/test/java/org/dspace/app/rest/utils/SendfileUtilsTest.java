@@ -0,0 +1,102 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for {@link SendfileUtils}
+ */
+public class SendfileUtilsTest {
+
+    private final Path file = Paths.get("/tmp/assetstore/12/34/56/123456");
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HttpHeaders headers;
+
+    @Before
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/content");
+        request.setAttribute(SendfileUtils.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        response = new MockHttpServletResponse();
+        headers = new HttpHeaders();
+        headers.add(HttpHeaders.ETAG, "checksum");
+        headers.add(HttpHeaders.CONTENT_LENGTH, "100");
+    }
+
+    @Test
+    public void testSendWholeFile() {
+        assertTrue(SendfileUtils.send(request, response, headers, file, 100));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(100, response.getContentLengthLong());
+        assertEquals("checksum", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(SendfileUtils.SENDFILE_FILENAME_ATTR));
+        assertEquals(0L, request.getAttribute(SendfileUtils.SENDFILE_START_ATTR));
+        assertEquals(100L, request.getAttribute(SendfileUtils.SENDFILE_END_ATTR));
+    }
+
+    @Test
+    public void testSendRange() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+
+        assertTrue(SendfileUtils.send(request, response, headers, file, 100));
+
+        assertEquals(206, response.getStatus());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("bytes 10-19/100", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10L, request.getAttribute(SendfileUtils.SENDFILE_START_ATTR));
+        assertEquals(20L, request.getAttribute(SendfileUtils.SENDFILE_END_ATTR));
+    }
+
+    @Test
+    public void testNotSentWhenUnsupported() {
+        request.removeAttribute(SendfileUtils.SENDFILE_SUPPORTED_ATTR);
+
+        assertFalse(SendfileUtils.send(request, response, headers, file, 100));
+        assertNull(request.getAttribute(SendfileUtils.SENDFILE_FILENAME_ATTR));
+    }
+
+    @Test
+    public void testNotSentForMultipleRanges() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9,20-29");
+
+        assertFalse(SendfileUtils.send(request, response, headers, file, 100));
+        assertNull(request.getAttribute(SendfileUtils.SENDFILE_FILENAME_ATTR));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testNotSentForUnsatisfiableRange() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=200-");
+
+        assertFalse(SendfileUtils.send(request, response, headers, file, 100));
+        assertNull(request.getAttribute(SendfileUtils.SENDFILE_FILENAME_ATTR));
+    }
+
+    @Test
+    public void testNotSentForRangeStartingAtTheEnd() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-150");
+
+        assertFalse(SendfileUtils.send(request, response, headers, file, 100));
+        assertNull(request.getAttribute(SendfileUtils.SENDFILE_FILENAME_ATTR));
+    }
+}